@@ -3,9 +3,11 @@ package com.weareadaptive.client.clientLogic;
 import static com.weareadaptive.util.SetupConfigUtils.localHost;
 
 import com.weareadaptive.oms.util.ExecutionResult;
+import com.weareadaptive.oms.util.Side;
 import com.weareadaptive.sbe.BufferUtils;
 import com.weareadaptive.sbe.CancelOrderEgressDecoder;
 import com.weareadaptive.sbe.ClearOrderbookEgressDecoder;
+import com.weareadaptive.sbe.ExecutionReportDecoder;
 import com.weareadaptive.sbe.MessageHeaderDecoder;
 import com.weareadaptive.sbe.OrderEgressDecoder;
 import com.weareadaptive.sbe.ResetOrderbookEgressDecoder;
@@ -28,6 +30,7 @@ public class ClientEgressListener implements EgressListener
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ClientEgressListener.class);
     private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+    private final ExecutionReportDecoder executionReportDecoder = new ExecutionReportDecoder();
     private final PendingMessageManager pendingMessageManager;
     private AeronCluster cluster;
     //    private final AeronCluster cluster;
@@ -58,6 +61,12 @@ public class ClientEgressListener implements EgressListener
     {
         headerDecoder.wrap(buffer, offset);
         final long correlationId = headerDecoder.correlationId();
+        if (headerDecoder.templateId() == ExecutionReportDecoder.TEMPLATE_ID)
+        {
+            // Broadcast to every client, not a reply to a message of this client
+            executionReportListener(correlationId, buffer, offset);
+            return;
+        }
         pendingMessageManager.markMessageAsReceived(correlationId);
         switch (headerDecoder.templateId())
         {
@@ -174,6 +183,31 @@ public class ClientEgressListener implements EgressListener
         LOGGER.info("Egress-" + correlationId + " | OrderID: " + result.getOrderId() + " Status: " + result.getStatus());
     }
 
+    /**
+     * * Execution Report Egress Listener logic
+     * - Decode buffer
+     * - Log the fill
+     *
+     * @param correlationId - Message correlation ID of the placed order
+     * @param buffer      - Message buffer
+     * @param offset      - Message buffer offset
+     */
+    private void executionReportListener(
+        final long correlationId,
+        final DirectBuffer buffer,
+        final int offset
+    )
+    {
+        headerDecoder.wrap(buffer, offset);
+        executionReportDecoder.wrapAndApplyHeader(buffer, offset, headerDecoder);
+        LOGGER.info("Egress-" + correlationId + " | Execution Instrument: " + executionReportDecoder.instrumentId() +
+            " Maker: " + executionReportDecoder.makerOrderId() + " Taker: " + executionReportDecoder.takerOrderId() +
+            " Side: " + Side.fromByte(executionReportDecoder.takerSide()) +
+            " Size: " + executionReportDecoder.size() + " Price: " + executionReportDecoder.price() +
+            " Maker Leaves: " + executionReportDecoder.makerLeavesSize() +
+            " Taker Leaves: " + executionReportDecoder.takerLeavesSize());
+    }
+
     /**
      * * Implement Clear Orderbook Response Egress Listener logic
      * - Decode buffer
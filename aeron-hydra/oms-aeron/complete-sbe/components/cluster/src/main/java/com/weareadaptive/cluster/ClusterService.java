@@ -41,6 +41,7 @@ public class ClusterService implements ClusteredService
     private final ClientSessionManager clientSessionManager = new ClientSessionManager();
     private final SessionMessageContext sessionMessageContext = new SessionMessageContext(clientSessionManager);
     private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+    private final UnsafeBuffer mdcBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(Long.BYTES));
     private Cluster cluster;
     private boolean isLeader = false;
     private SnapshotManager snapshotManager;
@@ -60,7 +61,7 @@ public class ClusterService implements ClusteredService
 
         sessionMessageContext.setIdleStrategy(idleStrategy);
         registerOMSService();
-        snapshotManager = new SnapshotManager(omsService.getOrderbook(), idleStrategy);
+        snapshotManager = new SnapshotManager(omsService.getOrderbooks(), idleStrategy);
         if (null != snapshotImage)
         {
             try
@@ -132,7 +133,6 @@ public class ClusterService implements ClusteredService
         if (isLeader)
         {
             //Broadcast 1 to all MDC subscriptions (clients that have subscribed)
-            final UnsafeBuffer mdcBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(8));
             mdcBuffer.putLong(0, 1);
             mdcPublication.offer(mdcBuffer, 0, Long.BYTES);
         }
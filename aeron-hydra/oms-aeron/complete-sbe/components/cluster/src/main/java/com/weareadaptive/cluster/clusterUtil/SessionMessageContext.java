@@ -1,5 +1,6 @@
 package com.weareadaptive.cluster.clusterUtil;
 
+import java.util.List;
 import java.util.Objects;
 
 import org.agrona.DirectBuffer;
@@ -88,7 +89,7 @@ public class SessionMessageContext
 
     /**
      * Broadcasts a message to all connected sessions. If the offer fails to any session after a number of retries,
-     * then that session is disconnected.
+     * then that session is disconnected. Sessions are walked by index, so a broadcast allocates nothing.
      *
      * @param buffer the buffer to read data from
      * @param offset the offset to read from
@@ -96,7 +97,11 @@ public class SessionMessageContext
      */
     public void broadcast(final DirectBuffer buffer, final int offset, final int length)
     {
-        clientSessionManager.getAllSessions().forEach(clientSession -> offerToSession(clientSession, buffer, offset, length));
+        final List<ClientSession> sessions = clientSessionManager.getAllSessions();
+        for (int i = 0, size = sessions.size(); i < size; i++)
+        {
+            offerToSession(sessions.get(i), buffer, offset, length);
+        }
     }
 
     /**
@@ -138,7 +143,7 @@ public class SessionMessageContext
         while (retries < RETRY_COUNT);
 
         LOGGER.error("failed to offer snapshot within {} retries. Closing client session.", RETRY_COUNT);
-        session.close();
+        targetSession.close();
     }
 }
 
@@ -1,8 +1,10 @@
 package com.weareadaptive.cluster.clusterUtil;
 
+import static com.weareadaptive.cluster.services.OMSService.instrumentId;
+
 import com.weareadaptive.cluster.services.OMSService;
-import com.weareadaptive.oms.Order;
-import com.weareadaptive.oms.OrderbookImpl;
+import com.weareadaptive.oms.Orderbook;
+import com.weareadaptive.oms.OrderbookRegistry;
 import com.weareadaptive.oms.util.Side;
 import com.weareadaptive.sbe.EndOfSnapshotDecoder;
 import com.weareadaptive.sbe.EndOfSnapshotEncoder;
@@ -29,7 +31,7 @@ public class SnapshotManager implements FragmentHandler
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(OMSService.class);
     private static final int RETRY_COUNT = 3;
-    private final OrderbookImpl orderbook;
+    private final OrderbookRegistry orderbooks;
     private final IdleStrategy idleStrategy;
     private final ExpandableDirectByteBuffer buffer = new ExpandableDirectByteBuffer(1024);
     private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
@@ -43,52 +45,68 @@ public class SnapshotManager implements FragmentHandler
     private boolean snapshotFullyLoaded = false;
 
     public SnapshotManager(
-        final OrderbookImpl orderbook,
+        final OrderbookRegistry orderbooks,
         final IdleStrategy idleStrategy
     )
     {
-        this.orderbook = orderbook;
+        this.orderbooks = orderbooks;
         this.idleStrategy = idleStrategy;
     }
 
     /**
-     * Called by the clustered service once a snapshot needs to be taken
+     * Called by the clustered service once a snapshot needs to be taken. Each instrument is written
+     * as its orderId followed by its orders.
      *
      * @param snapshotPublication the publication to write snapshot data to
      */
     public void takeSnapshot(final ExclusivePublication snapshotPublication)
     {
         LOGGER.info("Starting snapshot...");
-        offerOrderID(snapshotPublication);
-        offerOrders(snapshotPublication);
+        orderbooks.forEach((instrumentId, orderbook) ->
+        {
+            offerOrderID(snapshotPublication, instrumentId, orderbook);
+            offerOrders(snapshotPublication, instrumentId, orderbook);
+        });
         offerEndOfSnapshotMarker(snapshotPublication);
-        LOGGER.info("Snapshot complete");
+        LOGGER.info("Snapshot complete, {} instruments", orderbooks.size());
     }
 
     /**
-     * Offers the orderId to the snapshot publication using the OrderIdSnapshotEncoder
+     * Offers the orderId of an instrument to the snapshot publication using the OrderIdSnapshotEncoder
      *
      * @param snapshotPublication the publication to offer the snapshot data to
+     * @param instrumentId        the instrument of the book
+     * @param orderbook           the book of the instrument
      */
-    private void offerOrderID(final ExclusivePublication snapshotPublication)
+    private void offerOrderID(
+        final ExclusivePublication snapshotPublication,
+        final int instrumentId,
+        final Orderbook orderbook)
     {
         headerEncoder.wrap(buffer, 0);
         orderIdEncoder.wrapAndApplyHeader(buffer, 0, headerEncoder);
         orderIdEncoder.orderId(orderbook.getOrderId());
+        orderIdEncoder.instrumentId(instrumentId);
         retryingOffer(snapshotPublication, buffer, headerEncoder.encodedLength() + orderIdEncoder.encodedLength());
     }
 
     /**
-     * Offers the orders to the snapshot publication using the OrderSnapshotEncoder
+     * Offers the orders of an instrument to the snapshot publication using the OrderSnapshotEncoder
      *
      * @param snapshotPublication the publication to offer the snapshot data to
+     * @param instrumentId        the instrument of the book
+     * @param orderbook           the book of the instrument
      */
-    private void offerOrders(final ExclusivePublication snapshotPublication)
+    private void offerOrders(
+        final ExclusivePublication snapshotPublication,
+        final int instrumentId,
+        final Orderbook orderbook)
     {
         headerEncoder.wrap(buffer, 0);
-        orderbook.getOrders().values().forEach(order ->
+        orderbook.forEachOrder(order ->
         {
             orderEncoder.wrapAndApplyHeader(buffer, 0, headerEncoder);
+            orderEncoder.instrumentId(instrumentId);
             orderEncoder.orderId(order.getOrderId());
             orderEncoder.price(order.getPrice());
             orderEncoder.size(order.getSize());
@@ -141,28 +159,37 @@ public class SnapshotManager implements FragmentHandler
             case OrderIdSnapshotDecoder.TEMPLATE_ID ->
             {
                 orderIdDecoder.wrapAndApplyHeader(buffer, offset, headerDecoder);
-                orderbook.setOrderId(orderIdDecoder.orderId());
+                orderbook(instrumentId(orderIdDecoder.instrumentId())).setOrderId(orderIdDecoder.orderId());
             }
             case OrderSnapshotDecoder.TEMPLATE_ID ->
             {
                 orderDecoder.wrapAndApplyHeader(buffer, offset, headerDecoder);
-                final Order order = new Order(orderDecoder.orderId(), orderDecoder.price(), orderDecoder.size(),
+                orderbook(instrumentId(orderDecoder.instrumentId())).restoreOrder(
+                    orderDecoder.orderId(),
+                    orderDecoder.price(),
+                    orderDecoder.size(),
                     Side.fromByte(orderDecoder.side()));
-                orderbook.getOrders().put(order.getOrderId(), order);
-                if (Side.BID == order.getSide())
-                {
-                    orderbook.getBids().add(order);
-                }
-                else
-                {
-                    orderbook.getAsks().add(order);
-                }
             }
             case EndOfSnapshotDecoder.TEMPLATE_ID -> snapshotFullyLoaded = true;
             default -> LOGGER.warn("Unknown snapshot message template id: {}", headerDecoder.templateId());
         }
     }
 
+    /**
+     * @param instrumentId the instrument of a snapshot message
+     * @return the book of the instrument
+     * @throws IllegalStateException if the node is not configured for the instrument, its orders would be lost
+     */
+    private Orderbook orderbook(final int instrumentId)
+    {
+        final Orderbook orderbook = orderbooks.get(instrumentId);
+        if (orderbook == null)
+        {
+            throw new IllegalStateException("Snapshot holds instrument " + instrumentId + ", which is not configured");
+        }
+        return orderbook;
+    }
+
     /**
      * Retries the offer to the publication if it fails on back pressure or admin action.
      * Buffer is assumed to always start at offset 0
@@ -1,31 +1,95 @@
 package com.weareadaptive.cluster.services;
 
-import static com.weareadaptive.sbe.BufferUtils.E_CLEAR_Encoder;
-import static com.weareadaptive.sbe.BufferUtils.E_RESET_Encoder;
+import static com.weareadaptive.util.SetupConfigUtils.getInstrumentIds;
+import static com.weareadaptive.util.SetupConfigUtils.getOrderIndexCapacity;
+import static com.weareadaptive.util.SetupConfigUtils.getOrderIndexLoadFactor;
+import static com.weareadaptive.util.SetupConfigUtils.getOrderbookType;
 
 import com.weareadaptive.cluster.clusterUtil.SessionMessageContext;
-import com.weareadaptive.oms.Order;
-import com.weareadaptive.oms.OrderbookImpl;
+import com.weareadaptive.oms.Orderbook;
+import com.weareadaptive.oms.OrderbookRegistry;
 import com.weareadaptive.oms.util.ExecutionResult;
-import com.weareadaptive.sbe.BufferUtils;
-import com.weareadaptive.sbe.EncodeResult;
+import com.weareadaptive.oms.util.Side;
+import com.weareadaptive.oms.util.Status;
+import com.weareadaptive.sbe.CancelOrderEgressEncoder;
+import com.weareadaptive.sbe.CancelOrderIngressDecoder;
+import com.weareadaptive.sbe.ClearOrderbookEgressEncoder;
+import com.weareadaptive.sbe.ExecutionReportEncoder;
+import com.weareadaptive.sbe.MessageHeaderDecoder;
+import com.weareadaptive.sbe.MessageHeaderEncoder;
+import com.weareadaptive.sbe.OrderEgressEncoder;
+import com.weareadaptive.sbe.OrderIngressDecoder;
+import com.weareadaptive.sbe.ResetOrderbookEgressEncoder;
 
 import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import io.aeron.cluster.service.ClientSession;
 
+/**
+ * Orderbook business logic of the cluster, with one Orderbook per instrument held by an
+ * {@link OrderbookRegistry}. Ingress is decoded and egress encoded with flyweights
+ * owned by the service, into one egress buffer, so a message allocates nothing on the way through.
+ * Per order logging is at debug level, and skipped before any argument is built when disabled.
+ *
+ * <p>Each fill of a placed order is broadcast to every session as an ExecutionReport, with the
+ * correlationId of the placed order. Reports are encoded into a buffer of their own as the book
+ * matches, and broadcast after the reply, so the placing client knows the id of its order before
+ * its fills arrive. Clients route reports by order id, never by the correlationId of another
+ * session.
+ *
+ * <p>Orders and cancels on an instrument the node is not configured for are answered REJECTED.
+ */
 public class OMSService
 {
     private static final Logger LOGGER = LoggerFactory.getLogger(OMSService.class);
-    private final OrderbookImpl orderbook;
+    private static final int EGRESS_BUFFER_CAPACITY = 128;
+    private static final int REPORT_LENGTH = MessageHeaderEncoder.ENCODED_LENGTH + ExecutionReportEncoder.BLOCK_LENGTH;
+    private final OrderbookRegistry orderbooks;
     private final SessionMessageContext sessionContext;
+    private final ExpandableArrayBuffer egressBuffer = new ExpandableArrayBuffer(EGRESS_BUFFER_CAPACITY);
+    private final ExpandableArrayBuffer reportBuffer = new ExpandableArrayBuffer(EGRESS_BUFFER_CAPACITY * 8);
+    private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+    private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
+    private final OrderIngressDecoder orderIngressDecoder = new OrderIngressDecoder();
+    private final OrderEgressEncoder orderEgressEncoder = new OrderEgressEncoder();
+    private final CancelOrderIngressDecoder cancelOrderIngressDecoder = new CancelOrderIngressDecoder();
+    private final CancelOrderEgressEncoder cancelOrderEgressEncoder = new CancelOrderEgressEncoder();
+    private final ClearOrderbookEgressEncoder clearOrderbookEgressEncoder = new ClearOrderbookEgressEncoder();
+    private final ResetOrderbookEgressEncoder resetOrderbookEgressEncoder = new ResetOrderbookEgressEncoder();
+    private final ExecutionReportEncoder executionReportEncoder = new ExecutionReportEncoder();
+    private int currentInstrumentId;
+    private long currentCorrelationId;
+    private int reportCount;
 
+    /**
+     * Creates the service with the Orderbook implementation configured for the node
+     *
+     * @param sessionContext the context of the session messages to reply to
+     */
     public OMSService(SessionMessageContext sessionContext)
     {
-        orderbook = new OrderbookImpl();
+        this(sessionContext, new OrderbookRegistry(
+            getOrderbookType(), getOrderIndexCapacity(), getOrderIndexLoadFactor(), getInstrumentIds()));
+    }
+
+    public OMSService(final SessionMessageContext sessionContext, final OrderbookRegistry orderbooks)
+    {
+        this.orderbooks = orderbooks;
         this.sessionContext = sessionContext;
+        this.orderbooks.setFillListener(this::onFill);
+    }
+
+    /**
+     * @param instrumentId the instrument id of a message, null for messages of the first schema version
+     * @return the instrument id, the default instrument if null
+     */
+    public static int instrumentId(final int instrumentId)
+    {
+        return instrumentId == OrderIngressDecoder.instrumentIdNullValue() ?
+            OrderbookRegistry.DEFAULT_INSTRUMENT_ID : instrumentId;
     }
 
     /**
@@ -37,11 +101,40 @@ public class OMSService
      */
     public void placeOrder(final ClientSession session, final long correlationId, final DirectBuffer buffer, final int offset)
     {
-        final Order allocatedOrder = BufferUtils.I_PO_Decoder(buffer, offset);
-        final ExecutionResult result = orderbook.placeOrder(allocatedOrder.getPrice(), allocatedOrder.getSize(), allocatedOrder.getSide());
-        LOGGER.info("Ingress-" + correlationId + " | OrderID: " + result.getOrderId() + " Status: " + result.getStatus());
-        final EncodeResult encodeResult = BufferUtils.E_PO_Encoder(correlationId, result.getOrderId(), result.getStatus());
-        sessionContext.reply(encodeResult.getBuffer(), 0, encodeResult.getEncodedLength());
+        headerDecoder.wrap(buffer, offset);
+        orderIngressDecoder.wrapAndApplyHeader(buffer, offset, headerDecoder);
+        currentInstrumentId = instrumentId(orderIngressDecoder.instrumentId());
+        currentCorrelationId = correlationId;
+        reportCount = 0;
+        final Orderbook orderbook = orderbooks.get(currentInstrumentId);
+        final long resultOrderId;
+        final Status status;
+        if (orderbook == null)
+        {
+            resultOrderId = 0;
+            status = Status.REJECTED;
+        }
+        else
+        {
+            final ExecutionResult result = orderbook.placeOrder(
+                orderIngressDecoder.price(),
+                orderIngressDecoder.size(),
+                orderIngressDecoder.side() == Side.BID.getValue() ? Side.BID : Side.ASK);
+            logResult(correlationId, result);
+            resultOrderId = result.getOrderId();
+            status = result.getStatus();
+        }
+
+        orderEgressEncoder.wrapAndApplyHeader(egressBuffer, 0, headerEncoder);
+        headerEncoder.correlationId(correlationId);
+        orderEgressEncoder.orderid(resultOrderId);
+        orderEgressEncoder.status(status.getValue());
+        sessionContext.reply(egressBuffer, 0, headerEncoder.encodedLength() + orderEgressEncoder.encodedLength());
+
+        for (int i = 0; i < reportCount; i++)
+        {
+            sessionContext.broadcast(reportBuffer, i * REPORT_LENGTH, REPORT_LENGTH);
+        }
     }
 
     /**
@@ -53,11 +146,30 @@ public class OMSService
      */
     public void cancelOrder(final ClientSession session, long correlationId, DirectBuffer buffer, int offset)
     {
-        final long orderId = BufferUtils.I_CO_Decoder(buffer, offset);
-        final ExecutionResult result = orderbook.cancelOrder(orderId);
-        LOGGER.info("Ingress-" + correlationId + " | OrderID: " + result.getOrderId() + " Status: " + result.getStatus());
-        final EncodeResult encodeResult = BufferUtils.E_CO_Encoder(correlationId, result.getOrderId(), result.getStatus());
-        sessionContext.reply(encodeResult.getBuffer(), 0, encodeResult.getEncodedLength());
+        headerDecoder.wrap(buffer, offset);
+        cancelOrderIngressDecoder.wrapAndApplyHeader(buffer, offset, headerDecoder);
+        final long orderId = cancelOrderIngressDecoder.orderid();
+        final Orderbook orderbook = orderbooks.get(instrumentId(cancelOrderIngressDecoder.instrumentId()));
+        final long resultOrderId;
+        final Status status;
+        if (orderbook == null)
+        {
+            resultOrderId = orderId;
+            status = Status.REJECTED;
+        }
+        else
+        {
+            final ExecutionResult result = orderbook.cancelOrder(orderId);
+            logResult(correlationId, result);
+            resultOrderId = result.getOrderId();
+            status = result.getStatus();
+        }
+
+        cancelOrderEgressEncoder.wrapAndApplyHeader(egressBuffer, 0, headerEncoder);
+        headerEncoder.correlationId(correlationId);
+        cancelOrderEgressEncoder.orderid(resultOrderId);
+        cancelOrderEgressEncoder.status(status.getValue());
+        sessionContext.reply(egressBuffer, 0, headerEncoder.encodedLength() + cancelOrderEgressEncoder.encodedLength());
     }
 
     /**
@@ -69,10 +181,11 @@ public class OMSService
      */
     public void clearOrderbook(final ClientSession session, final long correlationId, final DirectBuffer buffer, final int offset)
     {
-        orderbook.clear();
-        LOGGER.info("Ingress-" + correlationId + " | Cleared Orderbook");
-        final EncodeResult encodeResult = E_CLEAR_Encoder(correlationId);
-        sessionContext.reply(encodeResult.getBuffer(), 0, encodeResult.getEncodedLength());
+        orderbooks.clear();
+        LOGGER.info("Ingress-{} | Cleared Orderbooks", correlationId);
+        clearOrderbookEgressEncoder.wrapAndApplyHeader(egressBuffer, 0, headerEncoder);
+        headerEncoder.correlationId(correlationId);
+        sessionContext.reply(egressBuffer, 0, headerEncoder.encodedLength() + clearOrderbookEgressEncoder.encodedLength());
     }
 
     /**
@@ -84,14 +197,49 @@ public class OMSService
      */
     public void resetOrderbook(ClientSession session, long correlationId, DirectBuffer buffer, int offset)
     {
-        orderbook.reset();
-        LOGGER.info("Ingress-" + correlationId + " | Reset Orderbook");
-        final EncodeResult encodeResult = E_RESET_Encoder(correlationId);
-        sessionContext.reply(encodeResult.getBuffer(), 0, encodeResult.getEncodedLength());
+        orderbooks.reset();
+        LOGGER.info("Ingress-{} | Reset Orderbooks", correlationId);
+        resetOrderbookEgressEncoder.wrapAndApplyHeader(egressBuffer, 0, headerEncoder);
+        headerEncoder.correlationId(correlationId);
+        sessionContext.reply(egressBuffer, 0, headerEncoder.encodedLength() + resetOrderbookEgressEncoder.encodedLength());
+    }
+
+    /**
+     * Encodes a fill of the order being placed, to be broadcast once the order is replied to. The
+     * report buffer grows to the most fills of one order and is then reused
+     */
+    private void onFill(
+        final long makerOrderId,
+        final long takerOrderId,
+        final Side takerSide,
+        final double price,
+        final long size,
+        final long makerLeavesSize,
+        final long takerLeavesSize)
+    {
+        executionReportEncoder.wrapAndApplyHeader(reportBuffer, reportCount * REPORT_LENGTH, headerEncoder);
+        headerEncoder.correlationId(currentCorrelationId);
+        executionReportEncoder.instrumentId(currentInstrumentId);
+        executionReportEncoder.makerOrderId(makerOrderId);
+        executionReportEncoder.takerOrderId(takerOrderId);
+        executionReportEncoder.takerSide(takerSide.getValue());
+        executionReportEncoder.price(price);
+        executionReportEncoder.size(size);
+        executionReportEncoder.makerLeavesSize(makerLeavesSize);
+        executionReportEncoder.takerLeavesSize(takerLeavesSize);
+        reportCount++;
+    }
+
+    public OrderbookRegistry getOrderbooks()
+    {
+        return this.orderbooks;
     }
 
-    public OrderbookImpl getOrderbook()
+    private static void logResult(final long correlationId, final ExecutionResult result)
     {
-        return this.orderbook;
+        if (LOGGER.isDebugEnabled())
+        {
+            LOGGER.debug("Ingress-{} | OrderID: {} Status: {}", correlationId, result.getOrderId(), result.getStatus());
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.weareadaptive.util;
 
+import static java.lang.Float.parseFloat;
 import static java.lang.Integer.parseInt;
 
 import java.net.Inet4Address;
@@ -11,6 +12,10 @@ import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.List;
 
+import com.weareadaptive.oms.OrderbookImpl;
+import com.weareadaptive.oms.OrderbookRegistry;
+import com.weareadaptive.oms.OrderbookType;
+
 import org.agrona.concurrent.SystemEpochClock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -95,6 +100,73 @@ public class SetupConfigUtils
         return parseInt(portBaseString);
     }
 
+    /**
+     * Read the Orderbook implementation from the environment variable ORDERBOOK_TYPE or the
+     * system property orderbook.type
+     *
+     * @return Orderbook implementation, default TREE
+     */
+    public static OrderbookType getOrderbookType()
+    {
+        String orderbookType = System.getenv("ORDERBOOK_TYPE");
+        if (null == orderbookType || orderbookType.isEmpty())
+        {
+            orderbookType = System.getProperty("orderbook.type", OrderbookType.TREE.name());
+        }
+        return OrderbookType.valueOf(orderbookType.toUpperCase());
+    }
+
+    /**
+     * Read the initial capacity of the Orderbook order index from the environment variable
+     * ORDER_INDEX_CAPACITY or the system property order.index.capacity
+     *
+     * @return initial capacity, in orders
+     */
+    public static int getOrderIndexCapacity()
+    {
+        String capacity = System.getenv("ORDER_INDEX_CAPACITY");
+        if (null == capacity || capacity.isEmpty())
+        {
+            capacity = System.getProperty("order.index.capacity", String.valueOf(OrderbookImpl.DEFAULT_INITIAL_CAPACITY));
+        }
+        return parseInt(capacity);
+    }
+
+    /**
+     * Read the load factor of the Orderbook order index from the environment variable
+     * ORDER_INDEX_LOAD_FACTOR or the system property order.index.load.factor
+     *
+     * @return load factor the index is resized at
+     */
+    public static float getOrderIndexLoadFactor()
+    {
+        String loadFactor = System.getenv("ORDER_INDEX_LOAD_FACTOR");
+        if (null == loadFactor || loadFactor.isEmpty())
+        {
+            loadFactor = System.getProperty("order.index.load.factor", String.valueOf(OrderbookImpl.DEFAULT_LOAD_FACTOR));
+        }
+        return parseFloat(loadFactor);
+    }
+
+    /**
+     * Read the instruments traded by the node from the environment variable INSTRUMENT_IDS or the
+     * system property instrument.ids, as comma separated ids. Every node must read the same ones.
+     *
+     * @return instrument ids, default the default instrument only
+     */
+    public static int[] getInstrumentIds()
+    {
+        String instrumentIds = System.getenv("INSTRUMENT_IDS");
+        if (null == instrumentIds || instrumentIds.isEmpty())
+        {
+            instrumentIds = System.getProperty("instrument.ids", String.valueOf(OrderbookRegistry.DEFAULT_INSTRUMENT_ID));
+        }
+        return Arrays.stream(instrumentIds.split(","))
+            .map(String::trim)
+            .mapToInt(Integer::parseInt)
+            .toArray();
+    }
+
     /**
      * Await DNS resolution of self. Under Kubernetes, this can take a while.
      *
@@ -5,11 +5,15 @@ import static com.weareadaptive.util.SetupConfigUtils.localHost;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.weareadaptive.oms.util.ExecutionResult;
+import com.weareadaptive.oms.util.Side;
+import com.weareadaptive.oms.util.Status;
 import com.weareadaptive.sbe.BufferUtils;
 import com.weareadaptive.sbe.CancelOrderEgressDecoder;
 import com.weareadaptive.sbe.ClearOrderbookEgressDecoder;
+import com.weareadaptive.sbe.ExecutionReportDecoder;
 import com.weareadaptive.sbe.MessageHeaderDecoder;
 import com.weareadaptive.sbe.OrderEgressDecoder;
 import com.weareadaptive.sbe.ResetOrderbookEgressDecoder;
@@ -28,13 +32,21 @@ import io.vertx.core.json.JsonObject;
 
 /**
  * Listener logic for Egress messages from the cluster
+ * <p>
+ * Replies are routed to the WS of the request by correlationId. Execution reports are broadcast to every
+ * gateway, with the correlationId of another session's request as often as not, so they are routed by
+ * order id instead: the gateway tracks the orders its WS placed, by instrument and order id, from the reply
+ * to the placed order until the order is filled or cancelled.
  */
 public class ClientEgressListener implements EgressListener
 {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ClientEgressListener.class);
     private final HashMap<Long, ServerWebSocket> wsSessions = new HashMap<>();
+    private final Map<Long, Integer> requestInstruments = new ConcurrentHashMap<>();
+    private final Map<OrderKey, ServerWebSocket> placedOrders = new ConcurrentHashMap<>();
     private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+    private final ExecutionReportDecoder executionReportDecoder = new ExecutionReportDecoder();
     private final PendingMessageManager pendingMessageManager;
     private AeronCluster cluster;
     private int currentLeader = -1;
@@ -63,6 +75,12 @@ public class ClientEgressListener implements EgressListener
     {
         headerDecoder.wrap(buffer, offset);
         final long correlationId = headerDecoder.correlationId();
+        if (headerDecoder.templateId() == ExecutionReportDecoder.TEMPLATE_ID)
+        {
+            // Broadcast to every client, not a reply to a message of this client
+            executionReportListener(correlationId, buffer, offset);
+            return;
+        }
         pendingMessageManager.markMessageAsReceived(correlationId);
         switch (headerDecoder.templateId())
         {
@@ -158,10 +176,18 @@ public class ClientEgressListener implements EgressListener
         final ExecutionResult result = BufferUtils.E_PO_Decoder(buffer, offset);
         LOGGER.info("Egress-" + correlationId + " | OrderID: " + result.getOrderId() + " Status: " + result.getStatus());
 
+        final ServerWebSocket ws = wsSessions.get(correlationId);
+        final Integer instrumentId = requestInstruments.remove(correlationId);
+        if (instrumentId != null && ws != null && result.getStatus() != Status.REJECTED)
+        {
+            // Tracked even when FILLED, its execution reports follow the reply
+            placedOrders.put(new OrderKey(instrumentId, result.getOrderId()), ws);
+        }
+
         final JsonObject orderResponse = new JsonObject();
         orderResponse.put("OrderId", result.getOrderId());
         orderResponse.put("Status", result.getStatus());
-        wsSessions.get(correlationId).writeFinalTextFrame(orderResponse.encode());
+        ws.writeFinalTextFrame(orderResponse.encode());
     }
 
     /**
@@ -183,12 +209,81 @@ public class ClientEgressListener implements EgressListener
         final ExecutionResult result = BufferUtils.E_CO_Decoder(buffer, offset);
         LOGGER.info("Egress-" + correlationId + " | OrderID: " + result.getOrderId() + " Status: " + result.getStatus());
 
+        final Integer instrumentId = requestInstruments.remove(correlationId);
+        if (instrumentId != null && result.getStatus() == Status.CANCELLED)
+        {
+            placedOrders.remove(new OrderKey(instrumentId, result.getOrderId()));
+        }
+
         final JsonObject orderResponse = new JsonObject();
         orderResponse.put("OrderId", result.getOrderId());
         orderResponse.put("Status", result.getStatus());
         wsSessions.get(correlationId).writeFinalTextFrame(orderResponse.encode());
     }
 
+    /**
+     * * Execution Report Egress Listener logic
+     * - Decode buffer
+     * - Encode the fill into JSON
+     * - Send it to the WS of the maker and of the taker orders, for those placed through this gateway
+     * - Stop tracking an order once it is filled
+     *
+     * @param correlationId - Message correlationId ID of the placed order, of any session
+     * @param buffer      - Message buffer
+     * @param offset      - Message buffer offset
+     */
+    private void executionReportListener(
+        final long correlationId,
+        final DirectBuffer buffer,
+        final int offset
+    )
+    {
+        headerDecoder.wrap(buffer, offset);
+        executionReportDecoder.wrapAndApplyHeader(buffer, offset, headerDecoder);
+        LOGGER.info("Egress-" + correlationId + " | Execution Instrument: " + executionReportDecoder.instrumentId() +
+            " Maker: " + executionReportDecoder.makerOrderId() + " Taker: " + executionReportDecoder.takerOrderId() +
+            " Size: " + executionReportDecoder.size() + " Price: " + executionReportDecoder.price());
+
+        final int instrumentId = executionReportDecoder.instrumentId();
+        final ServerWebSocket makerWs = fillOrder(
+            new OrderKey(instrumentId, executionReportDecoder.makerOrderId()), executionReportDecoder.makerLeavesSize());
+        final ServerWebSocket takerWs = fillOrder(
+            new OrderKey(instrumentId, executionReportDecoder.takerOrderId()), executionReportDecoder.takerLeavesSize());
+        if (makerWs == null && takerWs == null)
+        {
+            return;
+        }
+
+        final JsonObject execution = new JsonObject();
+        execution.put("InstrumentId", instrumentId);
+        execution.put("MakerOrderId", executionReportDecoder.makerOrderId());
+        execution.put("TakerOrderId", executionReportDecoder.takerOrderId());
+        execution.put("TakerSide", Side.fromByte(executionReportDecoder.takerSide()));
+        execution.put("Price", executionReportDecoder.price());
+        execution.put("Size", executionReportDecoder.size());
+        execution.put("MakerLeavesSize", executionReportDecoder.makerLeavesSize());
+        execution.put("TakerLeavesSize", executionReportDecoder.takerLeavesSize());
+        final String frame = execution.encode();
+        if (makerWs != null)
+        {
+            makerWs.writeFinalTextFrame(frame);
+        }
+        if (takerWs != null && takerWs != makerWs)
+        {
+            takerWs.writeFinalTextFrame(frame);
+        }
+    }
+
+    /**
+     * @param order      - Order of a fill
+     * @param leavesSize - Size of the order left after the fill
+     * @return the WS that placed the order, null if placed through another gateway
+     */
+    private ServerWebSocket fillOrder(final OrderKey order, final long leavesSize)
+    {
+        return leavesSize == 0 ? placedOrders.remove(order) : placedOrders.get(order);
+    }
+
     /**
      * * Implement Clear Orderbook Response Egress Listener logic
      * - Decode buffer
@@ -206,6 +301,7 @@ public class ClientEgressListener implements EgressListener
     )
     {
         LOGGER.info("correlationId ID: " + correlationId);
+        placedOrders.clear();
 
         final JsonObject response = new JsonObject();
         response.put("Status", "SUCCESS");
@@ -229,6 +325,7 @@ public class ClientEgressListener implements EgressListener
     )
     {
         LOGGER.info("correlationId ID: " + correlationId);
+        placedOrders.clear();
 
         final JsonObject response = new JsonObject();
         response.put("Status", "SUCCESS");
@@ -249,6 +346,20 @@ public class ClientEgressListener implements EgressListener
         wsSessions.put(correlationId, ws);
     }
 
+    /**
+     * Record the instrument of a place or cancel request, to track the order it replies with
+     *
+     * @param correlationId - Message correlationId ID
+     * @param instrumentId  - Instrument of the order
+     */
+    public void addRequestInstrument(
+        final long correlationId,
+        final int instrumentId
+    )
+    {
+        requestInstruments.put(correlationId, instrumentId);
+    }
+
     /**
      * Remove WS session from hashmap if no longer connected
      *
@@ -262,9 +373,11 @@ public class ClientEgressListener implements EgressListener
             final Map.Entry<Long, ServerWebSocket> entry = iterator.next();
             if (ws.equals(entry.getValue()))
             {
+                requestInstruments.remove(entry.getKey());
                 iterator.remove();
             }
         }
+        placedOrders.values().removeIf(ws::equals);
     }
 
     /**
@@ -287,4 +400,10 @@ public class ClientEgressListener implements EgressListener
         }
     }
 
+    /**
+     * An order, by the instrument of its book and its id, order ids being numbered per instrument
+     */
+    private record OrderKey(int instrumentId, long orderId)
+    {
+    }
 }
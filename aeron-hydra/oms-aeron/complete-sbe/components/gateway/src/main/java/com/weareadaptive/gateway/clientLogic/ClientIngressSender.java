@@ -41,18 +41,20 @@ public class ClientIngressSender
      * - Offer Ingress to cluster
      *
      * @param correlationId - Ingress correlationId
+     * @param instrumentId  - Ingress order instrument
      * @param price       - Ingress order price
      * @param size        - Ingress order size
      * @param side        - Ingress order side
      */
     public void placeOrder(
         final long correlationId,
+        final int instrumentId,
         final double price,
         final long size,
         final Side side
     )
     {
-        final EncodeResult encodeResult = BufferUtils.I_PO_ENCODER(correlationId, price, size, side);
+        final EncodeResult encodeResult = BufferUtils.I_PO_ENCODER(correlationId, instrumentId, price, size, side);
         pendingMessageManager.addMessage(correlationId, "place-order");
         retryingOfferToCluster(encodeResult.getBuffer(), 0, encodeResult.getEncodedLength());
     }
@@ -63,14 +65,16 @@ public class ClientIngressSender
      * - Offer Ingress to cluster
      *
      * @param correlationId - Ingress correlationId
+     * @param instrumentId  - Ingress instrument of the order
      * @param orderId     - Ingress orderID to cancel
      */
     public void cancelOrder(
         final long correlationId,
+        final int instrumentId,
         final long orderId
     )
     {
-        final EncodeResult encodeResult = BufferUtils.I_CO_Encoder(correlationId, orderId);
+        final EncodeResult encodeResult = BufferUtils.I_CO_Encoder(correlationId, instrumentId, orderId);
         pendingMessageManager.addMessage(correlationId, "cancel-order");
         retryingOfferToCluster(encodeResult.getBuffer(), 0, encodeResult.getEncodedLength());
     }
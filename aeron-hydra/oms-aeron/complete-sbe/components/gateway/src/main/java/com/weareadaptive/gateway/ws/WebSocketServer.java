@@ -2,6 +2,7 @@ package com.weareadaptive.gateway.ws;
 
 import com.weareadaptive.gateway.clientLogic.ClientEgressListener;
 import com.weareadaptive.gateway.clientLogic.ClientIngressSender;
+import com.weareadaptive.oms.OrderbookRegistry;
 import com.weareadaptive.oms.util.Side;
 
 import io.vertx.core.AbstractVerticle;
@@ -83,11 +84,14 @@ public class WebSocketServer extends AbstractVerticle
 
     /**
      * * Handle Place Order request into Cluster, return status response to client
+     * - instrumentId is optional, orders without one go to the default instrument
+     * - orders on an instrument the cluster is not configured for are answered with status REJECTED
      * - e.g: JSON payload request
      * {
      * "command": "place"
      * "payload":
      * {
+     * "instrumentId": 1,
      * "price": 10.00,
      * "size": 15,
      * "side": "BID"
@@ -98,6 +102,17 @@ public class WebSocketServer extends AbstractVerticle
      * "orderId": 1
      * "status": "FILLED"
      * }
+     * - each fill of the order is then sent as it happens, to the WS of both orders if placed through this gateway
+     * {
+     * "InstrumentId": 1,
+     * "MakerOrderId": 1,
+     * "TakerOrderId": 2,
+     * "TakerSide": "BID",
+     * "Price": 10.00,
+     * "Size": 5,
+     * "MakerLeavesSize": 0,
+     * "TakerLeavesSize": 10
+     * }
      *
      * @param payload - JSON payload
      */
@@ -106,7 +121,9 @@ public class WebSocketServer extends AbstractVerticle
         final Double price = payload.getDouble("price");
         final long size = payload.getLong("size");
         final Side side = payload.getString("side").equals("BID") ? Side.BID : Side.ASK;
-        clientIngressSender.placeOrder(correlationId, price, size, side);
+        final int instrumentId = instrumentId(payload);
+        clientEgressListener.addRequestInstrument(correlationId, instrumentId);
+        clientIngressSender.placeOrder(correlationId, instrumentId, price, size, side);
     }
 
     /**
@@ -116,6 +133,7 @@ public class WebSocketServer extends AbstractVerticle
      * "command": "cancel"
      * "payload":
      * {
+     * "instrumentId": 1,
      * "orderId": 1
      * }
      * }
@@ -130,7 +148,14 @@ public class WebSocketServer extends AbstractVerticle
     private void wsCancelOrder(final JsonObject payload)
     {
         final long orderId = payload.getLong("orderId");
-        clientIngressSender.cancelOrder(correlationId, orderId);
+        final int instrumentId = instrumentId(payload);
+        clientEgressListener.addRequestInstrument(correlationId, instrumentId);
+        clientIngressSender.cancelOrder(correlationId, instrumentId, orderId);
+    }
+
+    private static int instrumentId(final JsonObject payload)
+    {
+        return payload.getInteger("instrumentId", OrderbookRegistry.DEFAULT_INSTRUMENT_ID);
     }
 
     /**
@@ -0,0 +1,87 @@
+package com.weareadaptive.oms;
+
+import java.util.HashMap;
+import java.util.SplittableRandom;
+
+import com.weareadaptive.oms.util.Side;
+
+import org.agrona.collections.Long2ObjectHashMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the order index of OrderbookImpl, a Long2ObjectHashMap, with the boxed HashMap it
+ * replaced, under a cancel heavy workload. Each operation places an order, cancels a resting one
+ * and cancels an id no longer in the index, keeping the index at a steady size.
+ * Run with {@code ./gradlew :components:omsLogic:jmh}.
+ */
+@State(Scope.Thread)
+public class OrderIndexBenchmark
+{
+    private static final int SLOTS = 1 << 16;
+
+    @Param({"1000", "100000"})
+    private int restingOrders;
+
+    private final Order order = new Order(0, 10.00, 100, Side.BID);
+    private final HashMap<Long, Order> hashMap = new HashMap<>();
+    private Long2ObjectHashMap<Order> long2ObjectHashMap;
+    private long[] hashMapResting;
+    private long[] long2ObjectResting;
+    private int[] slots;
+    private long hashMapNextId;
+    private long long2ObjectNextId;
+    private int hashMapCursor;
+    private int long2ObjectCursor;
+
+    @Setup
+    public void setUp()
+    {
+        long2ObjectHashMap = new Long2ObjectHashMap<>(OrderbookImpl.DEFAULT_INITIAL_CAPACITY, OrderbookImpl.DEFAULT_LOAD_FACTOR);
+        hashMapResting = new long[restingOrders];
+        long2ObjectResting = new long[restingOrders];
+        for (int i = 0; i < restingOrders; i++)
+        {
+            hashMap.put((long)i, order);
+            long2ObjectHashMap.put(i, order);
+            hashMapResting[i] = i;
+            long2ObjectResting[i] = i;
+        }
+        hashMapNextId = restingOrders;
+        long2ObjectNextId = restingOrders;
+
+        final SplittableRandom random = new SplittableRandom(42);
+        slots = new int[SLOTS];
+        for (int i = 0; i < SLOTS; i++)
+        {
+            slots[i] = random.nextInt(restingOrders);
+        }
+    }
+
+    @Benchmark
+    public Order hashMap()
+    {
+        final int slot = slots[hashMapCursor++ & (SLOTS - 1)];
+        final long cancelled = hashMapResting[slot];
+        hashMap.remove(cancelled);
+        hashMap.remove(cancelled);
+        hashMap.put(hashMapNextId, order);
+        hashMapResting[slot] = hashMapNextId++;
+        return hashMap.get(hashMapResting[slot]);
+    }
+
+    @Benchmark
+    public Order long2ObjectHashMap()
+    {
+        final int slot = slots[long2ObjectCursor++ & (SLOTS - 1)];
+        final long cancelled = long2ObjectResting[slot];
+        long2ObjectHashMap.remove(cancelled);
+        long2ObjectHashMap.remove(cancelled);
+        long2ObjectHashMap.put(long2ObjectNextId, order);
+        long2ObjectResting[slot] = long2ObjectNextId++;
+        return long2ObjectHashMap.get(long2ObjectResting[slot]);
+    }
+}
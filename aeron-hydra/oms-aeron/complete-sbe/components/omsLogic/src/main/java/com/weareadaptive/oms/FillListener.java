@@ -0,0 +1,34 @@
+package com.weareadaptive.oms;
+
+import com.weareadaptive.oms.util.Side;
+
+/**
+ * Receives the fills of an Orderbook as they are matched, before the placed order returns
+ */
+@FunctionalInterface
+public interface FillListener
+{
+    FillListener NO_OP = (makerOrderId, takerOrderId, takerSide, price, size, makerLeavesSize, takerLeavesSize) ->
+    {
+    };
+
+    /**
+     * Called for each fill between the placed order and a resting order
+     *
+     * @param makerOrderId    the id of the resting order
+     * @param takerOrderId    the id of the placed order
+     * @param takerSide       the side of the placed order
+     * @param price           the price of the fill, the price of the resting order
+     * @param size            the size filled
+     * @param makerLeavesSize the size of the resting order left after the fill, 0 once filled
+     * @param takerLeavesSize the size of the placed order left after the fill, 0 once filled
+     */
+    void onFill(
+        long makerOrderId,
+        long takerOrderId,
+        Side takerSide,
+        double price,
+        long size,
+        long makerLeavesSize,
+        long takerLeavesSize);
+}
@@ -12,6 +12,11 @@ public class Order
     private long size;
     private Side side;
 
+    // Links of the price level queue the order rests in, see PriceLevelOrderbook
+    PriceLevel level;
+    Order previous;
+    Order next;
+
     public Order(final long orderId, final double price, final long size, final Side side)
     {
         this.orderId = orderId;
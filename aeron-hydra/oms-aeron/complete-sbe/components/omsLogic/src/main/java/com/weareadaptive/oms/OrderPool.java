@@ -0,0 +1,53 @@
+package com.weareadaptive.oms;
+
+import com.weareadaptive.oms.util.Side;
+
+/**
+ * Recycles the orders of a book once filled or cancelled, so placing an order in a steady book
+ * allocates nothing. Free orders are chained through their own next link.
+ */
+final class OrderPool
+{
+    private Order free;
+
+    /**
+     * @param preallocated the number of orders to allocate up front
+     */
+    OrderPool(final int preallocated)
+    {
+        for (int i = 0; i < preallocated; i++)
+        {
+            release(new Order(-1, 0, 0, Side.BID));
+        }
+    }
+
+    Order acquire(final long orderId, final double price, final long size, final Side side)
+    {
+        Order order = free;
+        if (order == null)
+        {
+            order = new Order(orderId, price, size, side);
+        }
+        else
+        {
+            free = order.next;
+            order.next = null;
+            order.setOrderId(orderId);
+            order.setPrice(price);
+            order.setSize(size);
+            order.setSide(side);
+        }
+        return order;
+    }
+
+    /**
+     * Takes back an order no longer in the book, the order must not be read afterwards
+     */
+    void release(final Order order)
+    {
+        order.level = null;
+        order.previous = null;
+        order.next = free;
+        free = order;
+    }
+}
@@ -1,5 +1,7 @@
 package com.weareadaptive.oms;
 
+import java.util.function.Consumer;
+
 import com.weareadaptive.oms.util.ExecutionResult;
 import com.weareadaptive.oms.util.Side;
 
@@ -12,4 +14,30 @@ public interface Orderbook
     void clear();
 
     void reset();
+
+    long getOrderId();
+
+    void setOrderId(long orderId);
+
+    /**
+     * Visits the resting orders, in the order they should be restored in to keep their priority
+     *
+     * @param consumer the consumer of each order
+     */
+    void forEachOrder(Consumer<Order> consumer);
+
+    /**
+     * Rests an order taken from a snapshot, without matching it
+     *
+     * @param orderId the id of the order
+     * @param price   the price of the order
+     * @param size    the remaining size of the order
+     * @param side    the side of the order
+     */
+    void restoreOrder(long orderId, double price, long size, Side side);
+
+    /**
+     * @param fillListener the listener of the fills of the book, FillListener.NO_OP by default
+     */
+    void setFillListener(FillListener fillListener);
 }
@@ -1,20 +1,46 @@
 package com.weareadaptive.oms;
 
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.TreeSet;
+import java.util.function.Consumer;
 
 import com.weareadaptive.oms.util.ExecutionResult;
 import com.weareadaptive.oms.util.Side;
 import com.weareadaptive.oms.util.Status;
 
+import org.agrona.collections.Hashing;
+import org.agrona.collections.Long2ObjectHashMap;
+
 public class OrderbookImpl implements Orderbook
 {
+    /**
+     * Initial capacity of the order index, in orders
+     */
+    public static final int DEFAULT_INITIAL_CAPACITY = 1024;
+    /**
+     * Load factor the order index is resized at
+     */
+    public static final float DEFAULT_LOAD_FACTOR = Hashing.DEFAULT_LOAD_FACTOR;
 
-    private final HashMap<Long, Order> orders = new HashMap<Long, Order>();
+    private final Long2ObjectHashMap<Order> orders;
     private final TreeSet<Order> bids = new TreeSet<>(new BidComparator());
     private final TreeSet<Order> asks = new TreeSet<>(new AskComparator());
     private long orderId = 1;
+    private FillListener fillListener = FillListener.NO_OP;
+
+    public OrderbookImpl()
+    {
+        this(DEFAULT_INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param initialCapacity the initial capacity of the order index
+     * @param loadFactor      the load factor the order index is resized at
+     */
+    public OrderbookImpl(final int initialCapacity, final float loadFactor)
+    {
+        orders = new Long2ObjectHashMap<>(initialCapacity, loadFactor);
+    }
 
     private static int compareOrders(final Order o1, final Order o2, final boolean b)
     {
@@ -74,6 +100,17 @@ public class OrderbookImpl implements Orderbook
         {
             final Order firstBid = bids.first();
             final Order firstAsk = asks.first();
+            final Order maker = isBid ? firstAsk : firstBid;
+            final Order taker = isBid ? firstBid : firstAsk;
+            final long fillSize = Math.min(maker.getSize(), taker.getSize());
+            fillListener.onFill(
+                maker.getOrderId(),
+                taker.getOrderId(),
+                side,
+                maker.getPrice(),
+                fillSize,
+                maker.getSize() - fillSize,
+                taker.getSize() - fillSize);
             long diff = firstBid.getSize() - firstAsk.getSize();
             boolean isFirstOrderBigger = diff > 0;
             boolean areOrdersEqual = diff == 0;
@@ -185,21 +222,50 @@ public class OrderbookImpl implements Orderbook
         return asks;
     }
 
-    public HashMap<Long, Order> getOrders()
+    public Long2ObjectHashMap<Order> getOrders()
     {
         return orders;
     }
 
+    @Override
     public long getOrderId()
     {
         return orderId;
     }
 
+    @Override
     public void setOrderId(final long orderId)
     {
         this.orderId = orderId;
     }
 
+    @Override
+    public void forEachOrder(final Consumer<Order> consumer)
+    {
+        orders.values().forEach(consumer);
+    }
+
+    @Override
+    public void setFillListener(final FillListener fillListener)
+    {
+        this.fillListener = fillListener;
+    }
+
+    @Override
+    public void restoreOrder(final long orderId, final double price, final long size, final Side side)
+    {
+        final Order order = new Order(orderId, price, size, side);
+        orders.put(orderId, order);
+        if (Side.BID == side)
+        {
+            bids.add(order);
+        }
+        else
+        {
+            asks.add(order);
+        }
+    }
+
     static class BidComparator implements Comparator<Order>
     {
         public int compare(final Order o1, final Order o2)
@@ -0,0 +1,88 @@
+package com.weareadaptive.oms;
+
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.collections.IntObjConsumer;
+
+/**
+ * The Orderbooks of a cluster node, one per configured instrument. The books are created up front
+ * and no other instrument gets one, so messages on an unknown instrument cannot grow the node.
+ * Every node of the cluster must be configured with the same instruments to agree on the log.
+ * Books are looked up by primitive instrument id, without allocating.
+ */
+public class OrderbookRegistry
+{
+    /**
+     * Instrument of the messages encoded before instruments were added to the schema
+     */
+    public static final int DEFAULT_INSTRUMENT_ID = 0;
+
+    private final Int2ObjectHashMap<Orderbook> orderbooks = new Int2ObjectHashMap<>();
+
+    /**
+     * @param orderbookType   the implementation of the books
+     * @param initialCapacity the initial capacity of the order index of each book
+     * @param loadFactor      the load factor the order index of each book is resized at
+     * @param instrumentIds   the instruments traded, one book each
+     */
+    public OrderbookRegistry(
+        final OrderbookType orderbookType,
+        final int initialCapacity,
+        final float loadFactor,
+        final int[] instrumentIds)
+    {
+        for (final int instrumentId : instrumentIds)
+        {
+            orderbooks.put(instrumentId, orderbookType.newOrderbook(initialCapacity, loadFactor));
+        }
+    }
+
+    /**
+     * @param instrumentId the instrument of the book
+     * @return the book of the instrument, null if the instrument is not configured
+     */
+    public Orderbook get(final int instrumentId)
+    {
+        return orderbooks.get(instrumentId);
+    }
+
+    /**
+     * Sets the listener of the fills of every book
+     *
+     * @param fillListener the listener of the fills
+     */
+    public void setFillListener(final FillListener fillListener)
+    {
+        orderbooks.values().forEach(orderbook -> orderbook.setFillListener(fillListener));
+    }
+
+    /**
+     * Visits each book with its instrument id
+     *
+     * @param consumer the consumer of each book
+     */
+    public void forEach(final IntObjConsumer<Orderbook> consumer)
+    {
+        orderbooks.forEachInt(consumer);
+    }
+
+    public int size()
+    {
+        return orderbooks.size();
+    }
+
+    /**
+     * Clears the orders of every book, retaining their orderId state
+     */
+    public void clear()
+    {
+        orderbooks.values().forEach(Orderbook::clear);
+    }
+
+    /**
+     * Resets every book, orders and orderId state
+     */
+    public void reset()
+    {
+        orderbooks.values().forEach(Orderbook::reset);
+    }
+}
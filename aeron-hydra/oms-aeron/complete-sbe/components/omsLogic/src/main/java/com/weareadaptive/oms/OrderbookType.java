@@ -0,0 +1,35 @@
+package com.weareadaptive.oms;
+
+/**
+ * The Orderbook implementations a cluster node can run
+ */
+public enum OrderbookType
+{
+    /**
+     * {@link OrderbookImpl}, a tree set of orders per side
+     */
+    TREE,
+    /**
+     * {@link PriceLevelOrderbook}, sorted price levels of FIFO order queues
+     */
+    PRICE_LEVEL;
+
+    public Orderbook newOrderbook()
+    {
+        return newOrderbook(OrderbookImpl.DEFAULT_INITIAL_CAPACITY, OrderbookImpl.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param initialCapacity the initial capacity of the order index
+     * @param loadFactor      the load factor the order index is resized at
+     * @return a new empty Orderbook
+     */
+    public Orderbook newOrderbook(final int initialCapacity, final float loadFactor)
+    {
+        return switch (this)
+        {
+            case TREE -> new OrderbookImpl(initialCapacity, loadFactor);
+            case PRICE_LEVEL -> new PriceLevelOrderbook(initialCapacity, loadFactor);
+        };
+    }
+}
@@ -0,0 +1,82 @@
+package com.weareadaptive.oms;
+
+/**
+ * The orders resting at one price on one side, in time priority. The queue is intrusive: it links
+ * the orders through their own fields, so adding and removing an order allocates nothing and
+ * removing one from the middle of the queue is O(1). Emptied levels are pooled by PriceLevels.
+ */
+final class PriceLevel
+{
+    private double price;
+    private Order head;
+    private Order tail;
+    // Next free level while pooled by PriceLevels
+    PriceLevel nextFree;
+
+    /**
+     * Reuses the empty level for another price
+     */
+    void init(final double price)
+    {
+        this.price = price;
+        head = null;
+        tail = null;
+    }
+
+    double getPrice()
+    {
+        return price;
+    }
+
+    /**
+     * @return the oldest order of the level, null if empty
+     */
+    Order head()
+    {
+        return head;
+    }
+
+    boolean isEmpty()
+    {
+        return head == null;
+    }
+
+    void add(final Order order)
+    {
+        order.level = this;
+        order.previous = tail;
+        order.next = null;
+        if (tail == null)
+        {
+            head = order;
+        }
+        else
+        {
+            tail.next = order;
+        }
+        tail = order;
+    }
+
+    void remove(final Order order)
+    {
+        if (order.previous == null)
+        {
+            head = order.next;
+        }
+        else
+        {
+            order.previous.next = order.next;
+        }
+        if (order.next == null)
+        {
+            tail = order.previous;
+        }
+        else
+        {
+            order.next.previous = order.previous;
+        }
+        order.level = null;
+        order.previous = null;
+        order.next = null;
+    }
+}
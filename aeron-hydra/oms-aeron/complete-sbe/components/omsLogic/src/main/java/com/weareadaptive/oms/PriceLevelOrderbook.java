@@ -0,0 +1,286 @@
+package com.weareadaptive.oms;
+
+import java.util.function.Consumer;
+
+import com.weareadaptive.oms.util.ExecutionResult;
+import com.weareadaptive.oms.util.Side;
+import com.weareadaptive.oms.util.Status;
+
+import org.agrona.collections.Long2ObjectHashMap;
+
+/**
+ * Orderbook organised as sorted price levels, each holding a FIFO queue of the orders resting at
+ * its price. The best price of each side is read in O(1), and an order is cancelled in O(1) once
+ * found by id, without comparing orders.
+ *
+ * <p>Placing and cancelling orders allocates nothing once the book has reached its working depth:
+ * orders and levels are pooled, ids are indexed without boxing, and the {@link ExecutionResult}
+ * returned is reused, it is only valid until the next call.
+ */
+public class PriceLevelOrderbook implements Orderbook
+{
+    private static final int PREALLOCATED_ORDERS = 1024;
+    private final Long2ObjectHashMap<Order> orders;
+    private final PriceLevels bids = new PriceLevels(Side.BID);
+    private final PriceLevels asks = new PriceLevels(Side.ASK);
+    private final OrderPool orderPool = new OrderPool(PREALLOCATED_ORDERS);
+    private final ExecutionResult result = new ExecutionResult(-1, null);
+    private long orderId = 1;
+    private FillListener fillListener = FillListener.NO_OP;
+
+    public PriceLevelOrderbook()
+    {
+        this(OrderbookImpl.DEFAULT_INITIAL_CAPACITY, OrderbookImpl.DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param initialCapacity the initial capacity of the order index
+     * @param loadFactor      the load factor the order index is resized at
+     */
+    public PriceLevelOrderbook(final int initialCapacity, final float loadFactor)
+    {
+        orders = new Long2ObjectHashMap<>(initialCapacity, loadFactor);
+    }
+
+    /**
+     * * Place Order logic
+     * - Resting orders if prices do not cross
+     * - Matching orders if prices do cross, best price first then oldest order first
+     * - Returns orderId and status (RESTING, PARTIAL, FILLED)
+     */
+    @Override
+    public ExecutionResult placeOrder(final double price, final long size, final Side side)
+    {
+        final long newOrderId = orderId;
+        rest(orderPool.acquire(newOrderId, price, size, side));
+
+        final Status status = orderMatch(side);
+
+        orderId++;
+        return result(newOrderId, status);
+    }
+
+    private Status orderMatch(final Side side)
+    {
+        final boolean isBid = side == Side.BID;
+        Status flag = Status.RESTING;
+
+        PriceLevel bestBid = bids.best();
+        PriceLevel bestAsk = asks.best();
+        while (bestBid != null && bestAsk != null && bestBid.getPrice() >= bestAsk.getPrice())
+        {
+            final Order firstBid = bestBid.head();
+            final Order firstAsk = bestAsk.head();
+            final Order maker = isBid ? firstAsk : firstBid;
+            final Order taker = isBid ? firstBid : firstAsk;
+            final long fillSize = Math.min(maker.getSize(), taker.getSize());
+            fillListener.onFill(
+                maker.getOrderId(),
+                taker.getOrderId(),
+                side,
+                maker.getPrice(),
+                fillSize,
+                maker.getSize() - fillSize,
+                taker.getSize() - fillSize);
+            final long diff = firstBid.getSize() - firstAsk.getSize();
+            final boolean isFirstOrderBigger = diff > 0;
+
+            if (diff == 0)
+            {
+                match(firstBid);
+                match(firstAsk);
+                flag = Status.FILLED;
+            }
+            else
+            {
+                final Order biggerOrder = isFirstOrderBigger ? firstBid : firstAsk;
+                final Order smallerOrder = isFirstOrderBigger ? firstAsk : firstBid;
+
+                match(smallerOrder);
+                biggerOrder.setSize(Math.abs(diff));
+
+                flag = isFirstOrderBigger == isBid ? Status.PARTIAL : Status.FILLED;
+            }
+
+            bestBid = bids.best();
+            bestAsk = asks.best();
+        }
+
+        return flag;
+    }
+
+    private void match(final Order order)
+    {
+        orders.remove(order.getOrderId());
+        unlink(order);
+        orderPool.release(order);
+    }
+
+    /**
+     * * Cancel Order logic
+     * - Cancels order provided the orderId
+     * - Returns orderId and status (CANCELLED, NONE)
+     */
+    @Override
+    public ExecutionResult cancelOrder(final long orderId)
+    {
+        final Order orderToRemove = orders.remove(orderId);
+        if (orderToRemove != null)
+        {
+            unlink(orderToRemove);
+            orderPool.release(orderToRemove);
+            return result(orderId, Status.CANCELLED);
+        }
+        else
+        {
+            return result(orderId, Status.NONE);
+        }
+    }
+
+    /**
+     * * Clear orderbook logic
+     * - Clears all orders
+     * - Retains orderId state
+     */
+    @Override
+    public void clear()
+    {
+        releaseOrders(bids);
+        releaseOrders(asks);
+        bids.clear();
+        asks.clear();
+        orders.clear();
+    }
+
+    /**
+     * * Reset orderbook logic
+     * - Clears all orders
+     * - Resets orderId state
+     */
+    @Override
+    public void reset()
+    {
+        clear();
+        orderId = 1;
+    }
+
+    @Override
+    public long getOrderId()
+    {
+        return orderId;
+    }
+
+    @Override
+    public void setOrderId(final long orderId)
+    {
+        this.orderId = orderId;
+    }
+
+    /**
+     * Visits the orders level by level, oldest first within a level
+     */
+    @Override
+    public void forEachOrder(final Consumer<Order> consumer)
+    {
+        forEachOrder(bids, consumer);
+        forEachOrder(asks, consumer);
+    }
+
+    @Override
+    public void setFillListener(final FillListener fillListener)
+    {
+        this.fillListener = fillListener;
+    }
+
+    @Override
+    public void restoreOrder(final long orderId, final double price, final long size, final Side side)
+    {
+        rest(orderPool.acquire(orderId, price, size, side));
+    }
+
+    public boolean isClear()
+    {
+        return bids.isEmpty() && asks.isEmpty() && orders.isEmpty();
+    }
+
+    public boolean isReset()
+    {
+        return isClear() && orderId == 1;
+    }
+
+    /**
+     * @return the best bid price, NaN if there are no bids
+     */
+    public double getBestBid()
+    {
+        final PriceLevel best = bids.best();
+        return best == null ? Double.NaN : best.getPrice();
+    }
+
+    /**
+     * @return the best ask price, NaN if there are no asks
+     */
+    public double getBestAsk()
+    {
+        final PriceLevel best = asks.best();
+        return best == null ? Double.NaN : best.getPrice();
+    }
+
+    public int getOrderCount()
+    {
+        return orders.size();
+    }
+
+    private void rest(final Order order)
+    {
+        orders.put(order.getOrderId(), order);
+        levels(order.getSide()).getOrAdd(order.getPrice()).add(order);
+    }
+
+    private void unlink(final Order order)
+    {
+        final PriceLevel level = order.level;
+        level.remove(order);
+        if (level.isEmpty())
+        {
+            levels(order.getSide()).remove(level);
+        }
+    }
+
+    private ExecutionResult result(final long orderId, final Status status)
+    {
+        result.setOrderId(orderId);
+        result.setStatus(status);
+        return result;
+    }
+
+    private void releaseOrders(final PriceLevels levels)
+    {
+        for (int i = 0; i < levels.size(); i++)
+        {
+            Order order = levels.get(i).head();
+            while (order != null)
+            {
+                final Order next = order.next;
+                orderPool.release(order);
+                order = next;
+            }
+        }
+    }
+
+    private PriceLevels levels(final Side side)
+    {
+        return side == Side.BID ? bids : asks;
+    }
+
+    private static void forEachOrder(final PriceLevels levels, final Consumer<Order> consumer)
+    {
+        for (int i = levels.size() - 1; i >= 0; i--)
+        {
+            for (Order order = levels.get(i).head(); order != null; order = order.next)
+            {
+                consumer.accept(order);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.weareadaptive.oms;
+
+import java.util.Arrays;
+
+import com.weareadaptive.oms.util.Side;
+
+/**
+ * The price levels of one side of the book, in an array sorted from the worst price to the best.
+ * The best level is the last one, so reading it and removing it once emptied are O(1). A level at
+ * a new price is found by binary search and inserted by shifting the better levels. Removed
+ * levels are kept for the next new price, so a side whose depth does not grow allocates nothing.
+ */
+final class PriceLevels
+{
+    private static final int INITIAL_CAPACITY = 64;
+    private final boolean isBid;
+    private PriceLevel[] levels = new PriceLevel[INITIAL_CAPACITY];
+    private int size;
+    private PriceLevel free;
+
+    PriceLevels(final Side side)
+    {
+        this.isBid = side == Side.BID;
+    }
+
+    /**
+     * @return the level with the best price, null if the side is empty
+     */
+    PriceLevel best()
+    {
+        return size == 0 ? null : levels[size - 1];
+    }
+
+    /**
+     * @return the level at the given price, added if there is none
+     */
+    PriceLevel getOrAdd(final double price)
+    {
+        final int index = search(price);
+        if (index >= 0)
+        {
+            return levels[index];
+        }
+
+        final int insertion = -(index + 1);
+        if (size == levels.length)
+        {
+            levels = Arrays.copyOf(levels, size * 2);
+        }
+        System.arraycopy(levels, insertion, levels, insertion + 1, size - insertion);
+        final PriceLevel level = acquire(price);
+        levels[insertion] = level;
+        size++;
+        return level;
+    }
+
+    void remove(final PriceLevel level)
+    {
+        final int index = size > 0 && levels[size - 1] == level ? size - 1 : search(level.getPrice());
+        if (index < 0)
+        {
+            return;
+        }
+        System.arraycopy(levels, index + 1, levels, index, size - index - 1);
+        levels[--size] = null;
+        release(level);
+    }
+
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * @param index the index of the level, 0 being the worst price
+     * @return the level at the index
+     */
+    PriceLevel get(final int index)
+    {
+        return levels[index];
+    }
+
+    /**
+     * Removes all the levels, their orders are left to the caller
+     */
+    void clear()
+    {
+        for (int i = 0; i < size; i++)
+        {
+            release(levels[i]);
+            levels[i] = null;
+        }
+        size = 0;
+    }
+
+    private PriceLevel acquire(final double price)
+    {
+        PriceLevel level = free;
+        if (level == null)
+        {
+            level = new PriceLevel();
+        }
+        else
+        {
+            free = level.nextFree;
+            level.nextFree = null;
+        }
+        level.init(price);
+        return level;
+    }
+
+    private void release(final PriceLevel level)
+    {
+        level.init(Double.NaN);
+        level.nextFree = free;
+        free = level;
+    }
+
+    /**
+     * @return the index of the level at the price, or -(insertion point + 1) if there is none
+     */
+    private int search(final double price)
+    {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high)
+        {
+            final int middle = (low + high) >>> 1;
+            final double middlePrice = levels[middle].getPrice();
+            if (middlePrice == price)
+            {
+                return middle;
+            }
+            else if (isBid ? middlePrice < price : middlePrice > price)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle - 1;
+            }
+        }
+        return -(low + 1);
+    }
+}
@@ -5,6 +5,7 @@ public enum Side
     BID((byte)1),
     ASK((byte)2);
 
+    private static final Side[] VALUES = values();
     private final byte value;
 
     Side(byte value)
@@ -14,7 +15,7 @@ public enum Side
 
     public static Side fromByte(byte value)
     {
-        for (Side side : Side.values())
+        for (Side side : VALUES)
         {
             if (side.value == value)
             {
@@ -6,8 +6,10 @@ public enum Status
     PARTIAL((byte)2),
     FILLED((byte)3),
     CANCELLED((byte)4),
-    NONE((byte)5);
+    NONE((byte)5),
+    REJECTED((byte)6);
 
+    private static final Status[] VALUES = values();
     private final byte value;
 
     Status(byte value)
@@ -17,7 +19,7 @@ public enum Status
 
     public static Status fromByte(byte value)
     {
-        for (Status status : Status.values())
+        for (Status status : VALUES)
         {
             if (status.value == value)
             {
@@ -1,6 +1,7 @@
 package com.weareadaptive.sbe;
 
 import com.weareadaptive.oms.Order;
+import com.weareadaptive.oms.OrderbookRegistry;
 import com.weareadaptive.oms.util.ExecutionResult;
 import com.weareadaptive.oms.util.Side;
 import com.weareadaptive.oms.util.Status;
@@ -43,6 +44,17 @@ public class BufferUtils
         final long size,
         final Side side
     )
+    {
+        return I_PO_ENCODER(correlationId, OrderbookRegistry.DEFAULT_INSTRUMENT_ID, price, size, side);
+    }
+
+    public static EncodeResult I_PO_ENCODER(
+        final long correlationId,
+        final int instrumentId,
+        final double price,
+        final long size,
+        final Side side
+    )
     {
         final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(1024);
         orderIngressEncoder.wrapAndApplyHeader(buffer, 0, messageHeaderEncoder);
@@ -50,6 +62,7 @@ public class BufferUtils
         orderIngressEncoder.price(price);
         orderIngressEncoder.size(size);
         orderIngressEncoder.side((byte)(side == Side.BID ? 1 : 2));
+        orderIngressEncoder.instrumentId(instrumentId);
         final int encodedLength = messageHeaderEncoder.encodedLength() + orderIngressEncoder.encodedLength();
         return new EncodeResult(buffer, encodedLength);
     }
@@ -103,11 +116,21 @@ public class BufferUtils
         final long correlationId,
         final long orderId
     )
+    {
+        return I_CO_Encoder(correlationId, OrderbookRegistry.DEFAULT_INSTRUMENT_ID, orderId);
+    }
+
+    public static EncodeResult I_CO_Encoder(
+        final long correlationId,
+        final int instrumentId,
+        final long orderId
+    )
     {
         final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer(128);
         cancelOrderIngressEncoder.wrapAndApplyHeader(buffer, 0, messageHeaderEncoder);
         messageHeaderEncoder.correlationId(correlationId);
         cancelOrderIngressEncoder.orderid(orderId);
+        cancelOrderIngressEncoder.instrumentId(instrumentId);
         final int encodedLength = messageHeaderEncoder.encodedLength() + cancelOrderIngressEncoder.encodedLength();
         return new EncodeResult(buffer, encodedLength);
     }
@@ -0,0 +1,196 @@
+package com.weareadaptive.oms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.stream.IntStream;
+
+import com.weareadaptive.cluster.clusterUtil.ClientSessionManager;
+import com.weareadaptive.cluster.clusterUtil.SessionMessageContext;
+import com.weareadaptive.cluster.services.OMSService;
+import com.weareadaptive.oms.util.Side;
+import com.weareadaptive.oms.util.Status;
+import com.weareadaptive.sbe.CancelOrderEgressDecoder;
+import com.weareadaptive.sbe.CancelOrderIngressEncoder;
+import com.weareadaptive.sbe.ExecutionReportDecoder;
+import com.weareadaptive.sbe.MessageHeaderDecoder;
+import com.weareadaptive.sbe.MessageHeaderEncoder;
+import com.weareadaptive.sbe.OrderEgressDecoder;
+import com.weareadaptive.sbe.OrderIngressEncoder;
+
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class OMSServiceAllocationTest
+{
+    private static final int RESTING_ORDERS = 1_000;
+    private static final int INSTRUMENTS = 4;
+    private static final int WARMUP_ROUNDS = 200_000;
+    private static final int MEASURED_ROUNDS = 200_000;
+    /**
+     * Leaves room for a one-off allocation by the JVM, far below the 200,000 bytes of a single byte per round
+     */
+    private static final long MAX_ALLOCATED_BYTES = 1024;
+    private final com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+    private final ExpandableArrayBuffer ingressBuffer = new ExpandableArrayBuffer(128);
+    private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
+    private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+    private final OrderIngressEncoder orderIngressEncoder = new OrderIngressEncoder();
+    private final CancelOrderIngressEncoder cancelOrderIngressEncoder = new CancelOrderIngressEncoder();
+    private final OrderEgressDecoder orderEgressDecoder = new OrderEgressDecoder();
+    private final CancelOrderEgressDecoder cancelOrderEgressDecoder = new CancelOrderEgressDecoder();
+    private final ExecutionReportDecoder executionReportDecoder = new ExecutionReportDecoder();
+    private OMSService omsService;
+    private long correlationId;
+    private long repliedOrderId;
+    private byte repliedStatus;
+    private int reportCount;
+    private long reportedCorrelationId;
+    private long reportedMakerOrderId;
+    private long reportedTakerOrderId;
+    private long reportedSize;
+    private long reportedTakerLeavesSize;
+    private long repliedOrderIdAtReport;
+
+    @BeforeEach
+    void setUp()
+    {
+        final SessionMessageContext sessionContext = new SessionMessageContext(new ClientSessionManager())
+        {
+            @Override
+            public void reply(final DirectBuffer buffer, final int offset, final int length)
+            {
+                headerDecoder.wrap(buffer, offset);
+                if (headerDecoder.templateId() == OrderEgressDecoder.TEMPLATE_ID)
+                {
+                    orderEgressDecoder.wrapAndApplyHeader(buffer, offset, headerDecoder);
+                    repliedOrderId = orderEgressDecoder.orderid();
+                    repliedStatus = orderEgressDecoder.status();
+                }
+                else
+                {
+                    cancelOrderEgressDecoder.wrapAndApplyHeader(buffer, offset, headerDecoder);
+                    repliedOrderId = cancelOrderEgressDecoder.orderid();
+                    repliedStatus = cancelOrderEgressDecoder.status();
+                }
+            }
+
+            @Override
+            public void broadcast(final DirectBuffer buffer, final int offset, final int length)
+            {
+                headerDecoder.wrap(buffer, offset);
+                executionReportDecoder.wrapAndApplyHeader(buffer, offset, headerDecoder);
+                reportCount++;
+                reportedCorrelationId = headerDecoder.correlationId();
+                reportedMakerOrderId = executionReportDecoder.makerOrderId();
+                reportedTakerOrderId = executionReportDecoder.takerOrderId();
+                reportedSize = executionReportDecoder.size();
+                reportedTakerLeavesSize = executionReportDecoder.takerLeavesSize();
+                repliedOrderIdAtReport = repliedOrderId;
+            }
+        };
+        omsService = new OMSService(sessionContext, new OrderbookRegistry(
+            OrderbookType.PRICE_LEVEL,
+            OrderbookImpl.DEFAULT_INITIAL_CAPACITY,
+            OrderbookImpl.DEFAULT_LOAD_FACTOR,
+            // The last instrument is kept out of the rounds for the execution report test
+            IntStream.rangeClosed(0, INSTRUMENTS).toArray()));
+
+        for (int i = 0; i < RESTING_ORDERS; i++)
+        {
+            placeOrder(i % INSTRUMENTS, 1.00 + (i % 50) * 0.01, 10, Side.BID);
+            placeOrder(i % INSTRUMENTS, 20.00 + (i % 50) * 0.01, 10, Side.ASK);
+        }
+    }
+
+    @Test
+    @DisplayName("Placing, matching and cancelling orders in a book of steady depth allocates nothing")
+    public void placeAndCancelWithoutAllocation()
+    {
+        runRounds(WARMUP_ROUNDS);
+
+        final long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        runRounds(MEASURED_ROUNDS);
+        final long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - before;
+
+        assertTrue(allocated <= MAX_ALLOCATED_BYTES, "bytes allocated over " + MEASURED_ROUNDS + " rounds: " + allocated);
+    }
+
+    @Test
+    @DisplayName("Each fill of a crossing order is broadcast as an execution report with its correlationId, after its reply")
+    public void broadcastExecutionReports()
+    {
+        final long firstAsk = placeOrder(INSTRUMENTS, 10.00, 10, Side.ASK);
+        placeOrder(INSTRUMENTS, 10.50, 10, Side.ASK);
+        reportCount = 0;
+
+        final long bid = placeOrder(INSTRUMENTS, 10.50, 15, Side.BID);
+        assertStatus(Status.FILLED);
+        assertEquals(2, reportCount);
+        assertEquals(correlationId, reportedCorrelationId);
+        assertEquals(firstAsk + 1, reportedMakerOrderId);
+        assertEquals(bid, reportedTakerOrderId);
+        assertEquals(5, reportedSize);
+        assertEquals(0, reportedTakerLeavesSize);
+        assertEquals(bid, repliedOrderIdAtReport);
+    }
+
+    /**
+     * Each round rests a bid and an ask on one instrument, fills the ask with a crossing bid, which
+     * is reported, and cancels the resting bid
+     */
+    private void runRounds(final int rounds)
+    {
+        for (int i = 0; i < rounds; i++)
+        {
+            final int instrumentId = i % INSTRUMENTS;
+            final long restingBid = placeOrder(instrumentId, 9.00, 10, Side.BID);
+            assertStatus(Status.RESTING);
+            final long restingAsk = placeOrder(instrumentId, 11.00, 10, Side.ASK);
+            assertStatus(Status.RESTING);
+            final int reportsBefore = reportCount;
+            placeOrder(instrumentId, 11.00, 10, Side.BID);
+            assertStatus(Status.FILLED);
+            if (reportCount != reportsBefore + 1 || reportedMakerOrderId != restingAsk)
+            {
+                throw new AssertionError("expected one execution report against order " + restingAsk);
+            }
+            cancelOrder(instrumentId, restingBid);
+            assertStatus(Status.CANCELLED);
+        }
+    }
+
+    private long placeOrder(final int instrumentId, final double price, final long size, final Side side)
+    {
+        orderIngressEncoder.wrapAndApplyHeader(ingressBuffer, 0, headerEncoder);
+        headerEncoder.correlationId(++correlationId);
+        orderIngressEncoder.instrumentId(instrumentId);
+        orderIngressEncoder.price(price);
+        orderIngressEncoder.size(size);
+        orderIngressEncoder.side(side.getValue());
+        omsService.placeOrder(null, correlationId, ingressBuffer, 0);
+        return repliedOrderId;
+    }
+
+    private void cancelOrder(final int instrumentId, final long orderId)
+    {
+        cancelOrderIngressEncoder.wrapAndApplyHeader(ingressBuffer, 0, headerEncoder);
+        headerEncoder.correlationId(++correlationId);
+        cancelOrderIngressEncoder.instrumentId(instrumentId);
+        cancelOrderIngressEncoder.orderid(orderId);
+        omsService.cancelOrder(null, correlationId, ingressBuffer, 0);
+    }
+
+    private void assertStatus(final Status status)
+    {
+        if (repliedStatus != status.getValue())
+        {
+            throw new AssertionError("expected " + status + " but was " + Status.fromByte(repliedStatus));
+        }
+    }
+}
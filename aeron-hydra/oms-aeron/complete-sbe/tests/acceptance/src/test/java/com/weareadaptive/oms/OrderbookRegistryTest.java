@@ -0,0 +1,63 @@
+package com.weareadaptive.oms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.weareadaptive.oms.util.Side;
+import com.weareadaptive.oms.util.Status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class OrderbookRegistryTest
+{
+    private OrderbookRegistry orderbooks;
+
+    @BeforeEach
+    void setUp()
+    {
+        orderbooks = new OrderbookRegistry(
+            OrderbookType.PRICE_LEVEL,
+            OrderbookImpl.DEFAULT_INITIAL_CAPACITY,
+            OrderbookImpl.DEFAULT_LOAD_FACTOR,
+            new int[]{1, 2});
+    }
+
+    @Test
+    @DisplayName("Only the configured instruments have a book")
+    public void booksOfConfiguredInstrumentsOnly()
+    {
+        assertNotNull(orderbooks.get(1));
+        assertNotSame(orderbooks.get(1), orderbooks.get(2));
+        assertSame(orderbooks.get(1), orderbooks.get(1));
+        assertNull(orderbooks.get(7));
+        assertEquals(2, orderbooks.size());
+    }
+
+    @Test
+    @DisplayName("Crossing orders of different instruments do not match, and each book numbers its own orders")
+    public void booksAreIndependent()
+    {
+        orderbooks.get(1).placeOrder(10.00, 20, Side.ASK);
+        final var result = orderbooks.get(2).placeOrder(10.00, 20, Side.BID);
+        assertEquals(Status.RESTING, result.getStatus());
+        assertEquals(1, result.getOrderId());
+        assertEquals(Status.FILLED, orderbooks.get(1).placeOrder(10.00, 20, Side.BID).getStatus());
+    }
+
+    @Test
+    @DisplayName("Reset resets every book, keeping the books of the instruments")
+    public void resetEveryBook()
+    {
+        orderbooks.get(1).placeOrder(10.00, 20, Side.ASK);
+        orderbooks.get(2).placeOrder(10.00, 20, Side.ASK);
+        orderbooks.reset();
+        assertEquals(1, orderbooks.get(1).getOrderId());
+        assertEquals(1, orderbooks.get(2).getOrderId());
+        assertEquals(2, orderbooks.size());
+    }
+}
@@ -3,6 +3,9 @@ package com.weareadaptive.oms;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.weareadaptive.oms.util.ExecutionResult;
 import com.weareadaptive.oms.util.Side;
 import com.weareadaptive.oms.util.Status;
@@ -128,4 +131,20 @@ public class OrderbookTest
         assertTrue(orderbook.isReset());
     }
 
+    @Test
+    @DisplayName("Each fill is reported with the resting order as maker, at the price of the maker, with the size both orders have left")
+    public void reportFills()
+    {
+        final List<String> fills = new ArrayList<>();
+        orderbook.setFillListener((makerOrderId, takerOrderId, takerSide, price, size, makerLeavesSize, takerLeavesSize) ->
+            fills.add(makerOrderId + " " + takerOrderId + " " + takerSide + " " + price + " " + size + " " +
+                makerLeavesSize + " " + takerLeavesSize));
+        orderbook.placeOrder(10.00, 20, Side.ASK);
+        orderbook.placeOrder(10.50, 20, Side.ASK);
+        orderbook.placeOrder(11.00, 30, Side.BID);
+        orderbook.placeOrder(9.50, 10, Side.BID);
+        orderbook.placeOrder(9.50, 15, Side.ASK);
+
+        assertEquals(List.of("1 3 BID 10.0 20 0 10", "2 3 BID 10.5 10 10 0", "4 5 ASK 9.5 10 0 5"), fills);
+    }
 }
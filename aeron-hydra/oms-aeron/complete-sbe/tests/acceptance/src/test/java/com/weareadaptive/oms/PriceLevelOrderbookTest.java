@@ -0,0 +1,137 @@
+package com.weareadaptive.oms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.weareadaptive.oms.util.ExecutionResult;
+import com.weareadaptive.oms.util.Side;
+import com.weareadaptive.oms.util.Status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PriceLevelOrderbookTest
+{
+    private PriceLevelOrderbook orderbook;
+
+    @BeforeEach
+    void setUp()
+    {
+        this.orderbook = new PriceLevelOrderbook();
+    }
+
+    @Test
+    @DisplayName("Non-crossing orders rest, and the best price of each side is the top of its levels")
+    public void placeRestingOrders()
+    {
+        assertEquals(Status.RESTING, orderbook.placeOrder(9.00, 5, Side.BID).getStatus());
+        assertEquals(Status.RESTING, orderbook.placeOrder(9.50, 5, Side.BID).getStatus());
+        assertEquals(Status.RESTING, orderbook.placeOrder(11.00, 5, Side.ASK).getStatus());
+        assertEquals(Status.RESTING, orderbook.placeOrder(10.50, 5, Side.ASK).getStatus());
+        assertEquals(9.50, orderbook.getBestBid());
+        assertEquals(10.50, orderbook.getBestAsk());
+    }
+
+    @Test
+    @DisplayName("Crossing BID that will be partially filled is placed and returns its orderId and a PARTIAL status")
+    public void placePartialBid()
+    {
+        orderbook.placeOrder(10.00, 20, Side.ASK);
+        ExecutionResult result = orderbook.placeOrder(10.00, 40, Side.BID);
+        assertEquals(Status.PARTIAL, result.getStatus());
+        assertEquals(10.00, orderbook.getBestBid());
+        assertTrue(Double.isNaN(orderbook.getBestAsk()));
+    }
+
+    @Test
+    @DisplayName("Crossing ASK that will be filled entirely across levels returns a FILLED status")
+    public void placeFilledAsk()
+    {
+        orderbook.placeOrder(10.00, 20, Side.BID);
+        orderbook.placeOrder(11.00, 20, Side.BID);
+        orderbook.placeOrder(12.00, 20, Side.BID);
+        ExecutionResult result = orderbook.placeOrder(10.00, 40, Side.ASK);
+        assertEquals(Status.FILLED, result.getStatus());
+        assertEquals(10.00, orderbook.getBestBid());
+        assertEquals(1, orderbook.getOrderCount());
+    }
+
+    @Test
+    @DisplayName("Orders at the same price are matched oldest first")
+    public void matchInTimePriority()
+    {
+        final long first = orderbook.placeOrder(10.00, 10, Side.ASK).getOrderId();
+        final long second = orderbook.placeOrder(10.00, 10, Side.ASK).getOrderId();
+        orderbook.placeOrder(10.00, 15, Side.BID);
+
+        assertEquals(Status.NONE, orderbook.cancelOrder(first).getStatus());
+        final List<Order> resting = new ArrayList<>();
+        orderbook.forEachOrder(resting::add);
+        assertEquals(1, resting.size());
+        assertEquals(second, resting.get(0).getOrderId());
+        assertEquals(5, resting.get(0).getSize());
+    }
+
+    @Test
+    @DisplayName("Cancelling the last order of a level removes the level, orders of other levels keep resting")
+    public void cancelEmptiesLevel()
+    {
+        orderbook.placeOrder(9.00, 20, Side.BID);
+        final long best = orderbook.placeOrder(9.50, 20, Side.BID).getOrderId();
+        orderbook.placeOrder(9.25, 20, Side.BID);
+
+        assertEquals(Status.CANCELLED, orderbook.cancelOrder(best).getStatus());
+        assertEquals(9.25, orderbook.getBestBid());
+        assertEquals(Status.NONE, orderbook.cancelOrder(best).getStatus());
+        assertEquals(2, orderbook.getOrderCount());
+    }
+
+    @Test
+    @DisplayName("Restored orders rest in the order they are restored, without matching")
+    public void restoreOrders()
+    {
+        orderbook.restoreOrder(4, 10.00, 10, Side.ASK);
+        orderbook.restoreOrder(2, 10.00, 10, Side.ASK);
+        orderbook.setOrderId(5);
+
+        ExecutionResult result = orderbook.placeOrder(10.00, 10, Side.BID);
+        assertEquals(5, result.getOrderId());
+        assertEquals(Status.FILLED, result.getStatus());
+        assertEquals(Status.NONE, orderbook.cancelOrder(4).getStatus());
+        assertEquals(Status.CANCELLED, orderbook.cancelOrder(2).getStatus());
+    }
+
+    @Test
+    @DisplayName("Entire orderbook state is reset, all states should be at initial values or empty.")
+    public void resetOrderbook()
+    {
+        orderbook.placeOrder(10.00, 20, Side.ASK);
+        orderbook.placeOrder(9.00, 20, Side.BID);
+        orderbook.placeOrder(11.00, 20, Side.ASK);
+        orderbook.clear();
+        assertTrue(orderbook.isClear());
+        orderbook.reset();
+        assertTrue(orderbook.isReset());
+    }
+
+    @Test
+    @DisplayName("Each fill is reported with the resting order as maker, at the price of the maker, with the size both orders have left")
+    public void reportFills()
+    {
+        final List<String> fills = new ArrayList<>();
+        orderbook.setFillListener((makerOrderId, takerOrderId, takerSide, price, size, makerLeavesSize, takerLeavesSize) ->
+            fills.add(makerOrderId + " " + takerOrderId + " " + takerSide + " " + price + " " + size + " " +
+                makerLeavesSize + " " + takerLeavesSize));
+        orderbook.placeOrder(10.00, 20, Side.ASK);
+        orderbook.placeOrder(10.50, 20, Side.ASK);
+        orderbook.placeOrder(11.00, 30, Side.BID);
+        orderbook.placeOrder(9.50, 10, Side.BID);
+        orderbook.placeOrder(9.50, 15, Side.ASK);
+
+        assertEquals(List.of("1 3 BID 10.0 20 0 10", "2 3 BID 10.5 10 10 0", "4 5 ASK 9.5 10 0 5"), fills);
+    }
+}
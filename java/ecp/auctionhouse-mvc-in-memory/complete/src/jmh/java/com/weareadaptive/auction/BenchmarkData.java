@@ -0,0 +1,95 @@
+package com.weareadaptive.auction;
+
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.AuctionState;
+import com.weareadaptive.auction.model.User;
+import com.weareadaptive.auction.model.UserState;
+import com.weareadaptive.auction.service.AuctionEngine;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the users and auction lots the benchmarks run against. Data is generated from a fixed
+ * seed so runs can be compared with each other.
+ */
+public final class BenchmarkData {
+  public static final int ORGANISATIONS = 50;
+  public static final String[] SYMBOLS = {"AAPL", "MSFT", "FB", "GOOG", "AMZN"};
+  private static final Instant CLOSING_TIME = Instant.parse("2023-01-01T00:00:00Z");
+
+  private final Random random;
+  private final UserState userState;
+  private final AuctionState auctionState;
+
+  public BenchmarkData(long seed) {
+    random = new Random(seed);
+    userState = new UserState();
+    auctionState = new AuctionState();
+  }
+
+  public UserState userState() {
+    return userState;
+  }
+
+  public AuctionState auctionState() {
+    return auctionState;
+  }
+
+  /**
+   * An engine applying commands on the calling thread, to the benchmark state.
+   */
+  public AuctionEngine auctionEngine() {
+    return new AuctionEngine(userState, auctionState, false, 1024, 256);
+  }
+
+  public List<User> createUsers(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> {
+          var user = new User(
+              userState.nextId(),
+              "user" + i,
+              "password",
+              "first" + i,
+              "last" + i,
+              "organisation" + random.nextInt(ORGANISATIONS));
+          userState.add(user);
+          return user;
+        })
+        .toList();
+  }
+
+  public AuctionLot createAuctionLot(List<User> users, int bidCount) {
+    var auctionLot = newAuctionLot(users, bidCount);
+    auctionState.add(auctionLot);
+    return auctionLot;
+  }
+
+  /**
+   * Same as {@link #createAuctionLot} without adding the lot to the auction state.
+   */
+  public AuctionLot newAuctionLot(List<User> users, int bidCount) {
+    var owner = users.get(random.nextInt(users.size()));
+    var auctionLot = new AuctionLot(
+        auctionState.nextId(),
+        owner,
+        SYMBOLS[random.nextInt(SYMBOLS.length)],
+        bidCount * 5,
+        1);
+    auctionLot.setTimeProvider(() -> CLOSING_TIME);
+
+    for (var i = 0; i < bidCount; i++) {
+      var bidder = users.get(random.nextInt(users.size()));
+      if (bidder == owner) {
+        bidder = users.get((users.indexOf(owner) + 1) % users.size());
+      }
+      auctionLot.bid(bidder, 1 + random.nextInt(20), 1 + random.nextInt(1_000) / 10.0);
+    }
+    return auctionLot;
+  }
+
+  public User randomUser(List<User> users) {
+    return users.get(random.nextInt(users.size()));
+  }
+}
@@ -0,0 +1,47 @@
+package com.weareadaptive.auction.controller;
+
+import com.weareadaptive.auction.BenchmarkData;
+import com.weareadaptive.auction.controller.dto.AuctionLotResponse;
+import com.weareadaptive.auction.controller.dto.BidResponse;
+import com.weareadaptive.auction.model.AuctionLot;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Maps closed auction lots, with their closing summary, and their bids to the response DTOs.
+ */
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+  @Param({"100", "1000"})
+  private int lots;
+  @Param({"10", "100"})
+  private int bidsPerLot;
+  private List<AuctionLot> auctionLots;
+
+  @Setup
+  public void createAuctionLots() {
+    var benchmarkData = new BenchmarkData(42);
+    var users = benchmarkData.createUsers(100);
+    for (var i = 0; i < lots; i++) {
+      benchmarkData.createAuctionLot(users, bidsPerLot).close();
+    }
+    auctionLots = benchmarkData.auctionState().stream().toList();
+  }
+
+  @Benchmark
+  public List<AuctionLotResponse> mapAuctionLots() {
+    return auctionLots.stream().map(Mapper::map).toList();
+  }
+
+  @Benchmark
+  public List<BidResponse> mapBids() {
+    return auctionLots.stream()
+        .flatMap(auctionLot -> auctionLot.getBids().stream())
+        .map(Mapper::map)
+        .toList();
+  }
+}
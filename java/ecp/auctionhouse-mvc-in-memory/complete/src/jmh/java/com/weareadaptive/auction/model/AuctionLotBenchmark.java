@@ -0,0 +1,41 @@
+package com.weareadaptive.auction.model;
+
+import com.weareadaptive.auction.BenchmarkData;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Closes an auction lot. Closing is not repeatable, so a new lot is bid on before each call.
+ */
+@State(Scope.Thread)
+public class AuctionLotBenchmark {
+  @Param({"100", "10000"})
+  private int bidsPerLot;
+  @Param({"100", "10000"})
+  private int users;
+  private BenchmarkData benchmarkData;
+  private List<User> userList;
+  private AuctionLot auctionLot;
+
+  @Setup(Level.Trial)
+  public void createUsers() {
+    benchmarkData = new BenchmarkData(42);
+    userList = benchmarkData.createUsers(users);
+  }
+
+  @Setup(Level.Invocation)
+  public void createAuctionLot() {
+    auctionLot = benchmarkData.newAuctionLot(userList, bidsPerLot);
+  }
+
+  @Benchmark
+  public ClosingSummary close() {
+    auctionLot.close();
+    return auctionLot.getClosingSummary();
+  }
+}
@@ -0,0 +1,60 @@
+package com.weareadaptive.auction.model;
+
+import com.weareadaptive.auction.BenchmarkData;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Places all the bids of a lot, up to a million, and reads the bids of such a lot. Run with
+ * {@code -prof gc} to compare the allocation rate of bid storage.
+ */
+@State(Scope.Benchmark)
+public class AuctionLotBidBenchmark {
+  private static final int USERS = 1000;
+  @Param({"10000", "1000000"})
+  private int bidsPerLot;
+  private User owner;
+  private User[] bidders;
+  private int[] quantities;
+  private double[] prices;
+  private AuctionLot auctionLot;
+
+  @Setup(Level.Trial)
+  public void createBids() {
+    var users = new BenchmarkData(42).createUsers(USERS + 1);
+    var random = new Random(42);
+    owner = users.get(USERS);
+    bidders = new User[bidsPerLot];
+    quantities = new int[bidsPerLot];
+    prices = new double[bidsPerLot];
+    for (var i = 0; i < bidsPerLot; i++) {
+      bidders[i] = users.get(random.nextInt(USERS));
+      quantities[i] = 1 + random.nextInt(20);
+      prices[i] = 1 + random.nextInt(1_000) / 10.0;
+    }
+    auctionLot = bid();
+  }
+
+  @Benchmark
+  public AuctionLot bid() {
+    var auctionLot = new AuctionLot(1, owner, "AAPL", bidsPerLot * 5, 1);
+    for (var i = 0; i < bidsPerLot; i++) {
+      auctionLot.bid(bidders[i], quantities[i], prices[i]);
+    }
+    return auctionLot;
+  }
+
+  @Benchmark
+  public long readBids() {
+    var total = 0L;
+    for (var bid : auctionLot.getBids()) {
+      total += bid.getPriceTicks() * bid.getQuantity();
+    }
+    return total;
+  }
+}
@@ -0,0 +1,50 @@
+package com.weareadaptive.auction.model;
+
+import com.weareadaptive.auction.BenchmarkData;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Looks up the bids, won bids and lost bids of a user across every closed auction lot.
+ */
+@State(Scope.Benchmark)
+public class AuctionStateBenchmark {
+  @Param({"100", "1000"})
+  private int lots;
+  @Param({"10", "100"})
+  private int bidsPerLot;
+  @Param({"100", "1000"})
+  private int users;
+  private AuctionState auctionState;
+  private User user;
+
+  @Setup
+  public void createAuctionLots() {
+    var benchmarkData = new BenchmarkData(42);
+    var userList = benchmarkData.createUsers(users);
+    for (var i = 0; i < lots; i++) {
+      benchmarkData.createAuctionLot(userList, bidsPerLot).close();
+    }
+    auctionState = benchmarkData.auctionState();
+    user = benchmarkData.randomUser(userList);
+  }
+
+  @Benchmark
+  public List<Bid> findBids() {
+    return auctionState.findBids(user.getUsername());
+  }
+
+  @Benchmark
+  public List<WonBid> findWonBids() {
+    return auctionState.findWonBids(user);
+  }
+
+  @Benchmark
+  public List<LostBid> findLostBids() {
+    return auctionState.findLostBids(user);
+  }
+}
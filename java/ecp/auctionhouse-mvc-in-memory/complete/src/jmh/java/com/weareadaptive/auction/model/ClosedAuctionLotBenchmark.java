@@ -0,0 +1,42 @@
+package com.weareadaptive.auction.model;
+
+import com.weareadaptive.auction.BenchmarkData;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Reads the won and lost bids of a user on a closed lot, up to 10k bids per lot.
+ */
+@State(Scope.Benchmark)
+public class ClosedAuctionLotBenchmark {
+  @Param({"100", "10000"})
+  private int bidsPerLot;
+  @Param({"100", "10000"})
+  private int users;
+  private BenchmarkData benchmarkData;
+  private List<User> userList;
+  private AuctionLot auctionLot;
+
+  @Setup(Level.Trial)
+  public void createClosedAuctionLot() {
+    benchmarkData = new BenchmarkData(42);
+    userList = benchmarkData.createUsers(users);
+    auctionLot = benchmarkData.newAuctionLot(userList, bidsPerLot);
+    auctionLot.close();
+  }
+
+  @Benchmark
+  public List<Bid> getLostBids() {
+    return auctionLot.getLostBids(benchmarkData.randomUser(userList));
+  }
+
+  @Benchmark
+  public List<WinningBid> getWonBids() {
+    return auctionLot.getWonBids(benchmarkData.randomUser(userList));
+  }
+}
@@ -0,0 +1,70 @@
+package com.weareadaptive.auction.model;
+
+import static java.util.Collections.reverseOrder;
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.comparingInt;
+import static java.util.Comparator.comparingLong;
+
+import com.weareadaptive.auction.BenchmarkData;
+import java.math.BigDecimal;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Ordering the bids of a lot by price and totalling their revenue, with the fixed-point prices
+ * against the previous double prices and BigDecimal revenue.
+ */
+@State(Scope.Thread)
+public class PriceBenchmark {
+  @Param({"100", "10000"})
+  private int bidsPerLot;
+  private List<Bid> bids;
+
+  @Setup(Level.Trial)
+  public void createBids() {
+    var benchmarkData = new BenchmarkData(42);
+    var users = benchmarkData.createUsers(100);
+    bids = benchmarkData.newAuctionLot(users, bidsPerLot).getBids();
+  }
+
+  @Benchmark
+  public List<Bid> sortByPriceTicks() {
+    return bids.stream()
+        .sorted(reverseOrder(comparingLong(Bid::getPriceTicks))
+            .thenComparing(reverseOrder(comparingInt(Bid::getQuantity))))
+        .toList();
+  }
+
+  @Benchmark
+  public List<Bid> sortByDoublePrice() {
+    return bids.stream()
+        .sorted(reverseOrder(comparing(Bid::getPrice))
+            .thenComparing(reverseOrder(comparingInt(Bid::getQuantity))))
+        .toList();
+  }
+
+  @Benchmark
+  public BigDecimal revenueInTicks() {
+    var revenueTicks = 0L;
+    for (var bid : bids) {
+      revenueTicks = Math.addExact(
+          revenueTicks, Price.notional(bid.getPriceTicks(), bid.getQuantity()));
+    }
+    return Price.toBigDecimal(revenueTicks);
+  }
+
+  @Benchmark
+  public BigDecimal revenueInBigDecimal() {
+    var revenue = BigDecimal.ZERO;
+    for (var bid : bids) {
+      revenue = revenue.add(
+          BigDecimal.valueOf(bid.getQuantity()).multiply(BigDecimal.valueOf(bid.getPrice())));
+    }
+    return revenue;
+  }
+}
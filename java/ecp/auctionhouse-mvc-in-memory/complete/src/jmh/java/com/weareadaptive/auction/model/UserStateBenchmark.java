@@ -0,0 +1,28 @@
+package com.weareadaptive.auction.model;
+
+import com.weareadaptive.auction.BenchmarkData;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+public class UserStateBenchmark {
+  @Param({"100", "10000", "100000"})
+  private int users;
+  private UserState userState;
+
+  @Setup
+  public void createUsers() {
+    var benchmarkData = new BenchmarkData(42);
+    benchmarkData.createUsers(users);
+    userState = benchmarkData.userState();
+  }
+
+  @Benchmark
+  public List<OrganisationDetails> getOrganisationsDetails() {
+    return userState.getOrganisationsDetails();
+  }
+}
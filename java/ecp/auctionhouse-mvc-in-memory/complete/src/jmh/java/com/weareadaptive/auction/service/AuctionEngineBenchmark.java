@@ -0,0 +1,95 @@
+package com.weareadaptive.auction.service;
+
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.AuctionState;
+import com.weareadaptive.auction.model.BusinessException;
+import com.weareadaptive.auction.model.UserState;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Bids and reads of a lot with commands applied by the calling threads, or queued to the single
+ * writer engine when {@code engine} is set. Users and lots are created through the engine so it
+ * owns them in both modes.
+ */
+@State(Scope.Benchmark)
+public class AuctionEngineBenchmark {
+  @Param({"1", "1000"})
+  private int lots;
+  @Param({"false", "true"})
+  private boolean engine;
+  private AuctionEngine auctionEngine;
+  private AuctionLotService auctionLotService;
+  private List<String> usernames;
+  private List<Integer> auctionLotIds;
+
+  @Setup(Level.Iteration)
+  public void createAuctionLots() {
+    var userState = new UserState();
+    var auctionState = new AuctionState();
+    auctionEngine = new AuctionEngine(userState, auctionState, engine, 1024, 256);
+    auctionLotService = new AuctionLotService(auctionState, auctionEngine);
+    var userService = new UserService(userState, auctionEngine);
+    usernames = IntStream.range(0, 1000)
+        .mapToObj(i -> userService.create(
+            "user" + i, "password", "first" + i, "last" + i, "organisation").getUsername())
+        .toList();
+    auctionLotIds = IntStream.range(0, lots)
+        .mapToObj(i -> auctionLotService.create(usernames.get(i % usernames.size()),
+            "AAPL", 1, 1000).getId())
+        .toList();
+  }
+
+  @TearDown(Level.Iteration)
+  public void stopEngine() throws InterruptedException {
+    auctionEngine.stop();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void bidOneThread(Bidder bidder) {
+    bid(bidder);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void bidFourThreads(Bidder bidder) {
+    bid(bidder);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public void bidSixteenThreads(Bidder bidder) {
+    bid(bidder);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public List<AuctionLot> readOpenedLotsSixteenThreads() {
+    return auctionLotService.getAll(null, AuctionLot.Status.OPENED).toList();
+  }
+
+  private void bid(Bidder bidder) {
+    var username = usernames.get(bidder.random.nextInt(usernames.size()));
+    var auctionLotId = auctionLotIds.get(bidder.random.nextInt(auctionLotIds.size()));
+    try {
+      auctionLotService.bid(username, auctionLotId, 1 + bidder.random.nextInt(20), 10);
+    } catch (BusinessException exception) {
+      // the owner bidding on its own lot, rare enough not to skew the measure
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Bidder {
+    private final Random random = new Random(Thread.currentThread().getId());
+  }
+}
@@ -0,0 +1,54 @@
+package com.weareadaptive.auction.service;
+
+import com.weareadaptive.auction.BenchmarkData;
+import com.weareadaptive.auction.model.BusinessException;
+import com.weareadaptive.auction.model.User;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Places bids through the service, from random users on random open lots. Lots are recreated
+ * for every iteration so their bid lists do not grow across the whole run.
+ */
+@State(Scope.Thread)
+public class AuctionLotServiceBenchmark {
+  @Param({"100", "1000"})
+  private int lots;
+  @Param({"100", "10000"})
+  private int users;
+  private AuctionLotService auctionLotService;
+  private List<String> usernames;
+  private List<Integer> auctionLotIds;
+  private Random random;
+
+  @Setup(Level.Iteration)
+  public void createAuctionLots() {
+    var benchmarkData = new BenchmarkData(42);
+    var userList = benchmarkData.createUsers(users);
+    auctionLotService =
+        new AuctionLotService(benchmarkData.auctionState(), benchmarkData.auctionEngine());
+    usernames = userList.stream().map(User::getUsername).toList();
+    auctionLotIds = IntStream.range(0, lots)
+        .mapToObj(i -> benchmarkData.createAuctionLot(userList, 0).getId())
+        .toList();
+    random = new Random(7);
+  }
+
+  @Benchmark
+  public void bid() {
+    var username = usernames.get(random.nextInt(usernames.size()));
+    var auctionLotId = auctionLotIds.get(random.nextInt(auctionLotIds.size()));
+    try {
+      auctionLotService.bid(username, auctionLotId, 1 + random.nextInt(20), 10);
+    } catch (BusinessException exception) {
+      // the owner bidding on its own lot, rare enough not to skew the measure
+    }
+  }
+}
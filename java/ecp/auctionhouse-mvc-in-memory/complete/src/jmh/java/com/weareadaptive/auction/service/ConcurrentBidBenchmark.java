@@ -0,0 +1,102 @@
+package com.weareadaptive.auction.service;
+
+import com.weareadaptive.auction.BenchmarkData;
+import com.weareadaptive.auction.model.BusinessException;
+import com.weareadaptive.auction.model.User;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Bids placed through one shared service from 1 to 32 threads, on a single contended lot or
+ * spread over many. With {@code globalLock} every bid goes through one lock, as the service had
+ * to be used before the state was made safe for concurrent use.
+ */
+@State(Scope.Benchmark)
+public class ConcurrentBidBenchmark {
+  private static final Object GLOBAL_LOCK = new Object();
+  @Param({"1", "1000"})
+  private int lots;
+  @Param({"false", "true"})
+  private boolean globalLock;
+  private AuctionLotService auctionLotService;
+  private List<String> usernames;
+  private List<Integer> auctionLotIds;
+
+  @Setup(Level.Iteration)
+  public void createAuctionLots() {
+    var benchmarkData = new BenchmarkData(42);
+    var userList = benchmarkData.createUsers(1000);
+    auctionLotService =
+        new AuctionLotService(benchmarkData.auctionState(), benchmarkData.auctionEngine());
+    usernames = userList.stream().map(User::getUsername).toList();
+    auctionLotIds = IntStream.range(0, lots)
+        .mapToObj(i -> benchmarkData.createAuctionLot(userList, 0).getId())
+        .toList();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void bidOneThread(Bidder bidder) {
+    bid(bidder);
+  }
+
+  @Benchmark
+  @Threads(2)
+  public void bidTwoThreads(Bidder bidder) {
+    bid(bidder);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void bidFourThreads(Bidder bidder) {
+    bid(bidder);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void bidEightThreads(Bidder bidder) {
+    bid(bidder);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public void bidSixteenThreads(Bidder bidder) {
+    bid(bidder);
+  }
+
+  @Benchmark
+  @Threads(32)
+  public void bidThirtyTwoThreads(Bidder bidder) {
+    bid(bidder);
+  }
+
+  private void bid(Bidder bidder) {
+    var username = usernames.get(bidder.random.nextInt(usernames.size()));
+    var auctionLotId = auctionLotIds.get(bidder.random.nextInt(auctionLotIds.size()));
+    var quantity = 1 + bidder.random.nextInt(20);
+    try {
+      if (globalLock) {
+        synchronized (GLOBAL_LOCK) {
+          auctionLotService.bid(username, auctionLotId, quantity, 10);
+        }
+      } else {
+        auctionLotService.bid(username, auctionLotId, quantity, 10);
+      }
+    } catch (BusinessException exception) {
+      // the owner bidding on its own lot, rare enough not to skew the measure
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Bidder {
+    private final Random random = new Random(Thread.currentThread().getId());
+  }
+}
@@ -0,0 +1,87 @@
+package com.weareadaptive.auction.service;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.weareadaptive.auction.model.AuctionState;
+import com.weareadaptive.auction.model.UserState;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Time for the engine to start from a journal of one million bids spread over 1000 lots, either
+ * replaying the whole journal or loading a snapshot taken near its end and replaying the rest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class JournalRecoveryBenchmark {
+  private static final int USERS = 1000;
+  private static final int LOTS = 1000;
+  private static final int BIDS = 1_000_000;
+  @Param({"false", "true"})
+  private boolean snapshot;
+  private Path directory;
+  private AuctionEngine auctionEngine;
+
+  @Setup(Level.Trial)
+  public void writeJournal() throws IOException, InterruptedException {
+    directory = Files.createTempDirectory("journal");
+    var engine = start(snapshot ? BIDS : Long.MAX_VALUE);
+    for (var i = 0; i < USERS; i++) {
+      engine.execute(new Command.CreateUser(
+          "user" + i, "password", "first" + i, "last" + i, "organisation", false));
+    }
+    for (var i = 0; i < LOTS; i++) {
+      engine.execute(new Command.CreateAuctionLot("user" + i, "AAPL", 1, 1000));
+    }
+    for (var i = 0; i < BIDS; i++) {
+      engine.execute(new Command.PlaceBid("user" + (i + 1) % USERS, 1 + i % LOTS, 1, 2));
+    }
+    engine.stop();
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteJournal() throws IOException {
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+
+  @TearDown(Level.Invocation)
+  public void stopEngine() throws InterruptedException {
+    auctionEngine.stop();
+  }
+
+  @Benchmark
+  public AuctionEngine recover() {
+    auctionEngine = start(Long.MAX_VALUE);
+    return auctionEngine;
+  }
+
+  private AuctionEngine start(long snapshotInterval) {
+    var journal = new Journal(true, directory, DataSize.ofMegabytes(64),
+        Journal.FsyncPolicy.NEVER, Duration.ZERO, snapshotInterval);
+    return new AuctionEngine(new UserState(), new AuctionState(), true, 1024, 256, journal);
+  }
+}
@@ -1,7 +1,8 @@
 package com.weareadaptive.auction.configuration;
 
-import com.weareadaptive.auction.model.User;
 import com.weareadaptive.auction.model.UserState;
+import com.weareadaptive.auction.service.AuctionEngine;
+import com.weareadaptive.auction.service.Command;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
@@ -9,22 +10,28 @@ import org.springframework.stereotype.Component;
 @Component
 public class ApplicationInit {
   private final UserState userState;
+  private final AuctionEngine auctionEngine;
 
-  public ApplicationInit(UserState userState) {
+  public ApplicationInit(UserState userState, AuctionEngine auctionEngine) {
     this.userState = userState;
+    this.auctionEngine = auctionEngine;
   }
 
+  /**
+   * Creates the admin, unless it was recovered from the journal.
+   */
   @EventListener(ApplicationReadyEvent.class)
   public void createInitData() {
-    var admin = new User(
-        userState.nextId(),
+    if (userState.getByUsername("ADMIN").isPresent()) {
+      return;
+    }
+    auctionEngine.execute(new Command.CreateUser(
         "ADMIN",
         "adminpassword",
         "admin",
         "admin",
         "Adaptive",
-        true);
-    userState.add(admin);
+        true));
   }
 
 }
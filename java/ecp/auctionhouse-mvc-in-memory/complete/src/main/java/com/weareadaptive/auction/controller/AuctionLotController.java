@@ -7,9 +7,12 @@ import static org.springframework.http.HttpStatus.NO_CONTENT;
 import com.weareadaptive.auction.controller.dto.AuctionLotResponse;
 import com.weareadaptive.auction.controller.dto.BidRequest;
 import com.weareadaptive.auction.controller.dto.BidResponse;
+import com.weareadaptive.auction.controller.dto.CloseAuctionLotsRequest;
+import com.weareadaptive.auction.controller.dto.CloseResultResponse;
 import com.weareadaptive.auction.controller.dto.ClosingSummaryResponse;
 import com.weareadaptive.auction.controller.dto.CreateAuctionLotRequest;
 import com.weareadaptive.auction.exception.NotFoundException;
+import com.weareadaptive.auction.model.AuctionLot;
 import com.weareadaptive.auction.service.AuctionLotService;
 import jakarta.validation.Valid;
 import java.security.Principal;
@@ -20,6 +23,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -62,9 +66,24 @@ public class AuctionLotController {
 
   }
 
+  /**
+   * Closes many lots of the user at once, typically at the end of a session, with a result per
+   * lot rather than failing the whole request for one lot.
+   */
+  @PostMapping("/close")
+  public Stream<CloseResultResponse> closeAuctionLots(
+      @RequestBody @Valid CloseAuctionLotsRequest request,
+      Principal principal) {
+    return auctionLotService.closeAll(principal.getName(), request.ids())
+        .stream()
+        .map(Mapper::map);
+  }
+
   @GetMapping
-  public Stream<AuctionLotResponse> getAll() {
-    return auctionLotService.getAll()
+  public Stream<AuctionLotResponse> getAll(
+      @RequestParam(required = false) String owner,
+      @RequestParam(required = false) AuctionLot.Status status) {
+    return auctionLotService.getAll(owner, status)
         .map(Mapper::map);
   }
 
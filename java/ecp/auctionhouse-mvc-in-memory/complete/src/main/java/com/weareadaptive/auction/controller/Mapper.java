@@ -2,10 +2,12 @@ package com.weareadaptive.auction.controller;
 
 import com.weareadaptive.auction.controller.dto.AuctionLotResponse;
 import com.weareadaptive.auction.controller.dto.BidResponse;
+import com.weareadaptive.auction.controller.dto.CloseResultResponse;
 import com.weareadaptive.auction.controller.dto.ClosingSummaryResponse;
 import com.weareadaptive.auction.controller.dto.WinningBidResponse;
 import com.weareadaptive.auction.model.AuctionLot;
 import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.CloseResult;
 import com.weareadaptive.auction.model.ClosingSummary;
 import com.weareadaptive.auction.model.WinningBid;
 
@@ -18,6 +20,13 @@ public class Mapper {
         closingSummary.closingTime());
   }
 
+  public static CloseResultResponse map(CloseResult closeResult) {
+    return new CloseResultResponse(
+        closeResult.auctionLotId(),
+        closeResult.status(),
+        closeResult.closingSummary() != null ? map(closeResult.closingSummary()) : null);
+  }
+
   public static WinningBidResponse map(WinningBid winningBid) {
     return new WinningBidResponse(
         winningBid.quantity(),
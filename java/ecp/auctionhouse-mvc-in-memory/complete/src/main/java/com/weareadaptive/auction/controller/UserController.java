@@ -6,7 +6,6 @@ import com.weareadaptive.auction.controller.dto.CreateUserRequest;
 import com.weareadaptive.auction.controller.dto.UpdateUserRequest;
 import com.weareadaptive.auction.controller.dto.UserResponse;
 import com.weareadaptive.auction.exception.NotFoundException;
-import com.weareadaptive.auction.model.User;
 import com.weareadaptive.auction.service.UserService;
 import jakarta.validation.Valid;
 import java.util.stream.Stream;
@@ -93,22 +92,16 @@ public class UserController {
   @PutMapping("/{id}/block")
   @ResponseStatus(HttpStatus.NO_CONTENT)
   public void block(@PathVariable int id) {
-    userService.getUser(id)
-        .ifPresentOrElse(
-            User::block,
-            () -> {
-              throw new NotFoundException();
-            });
+    if (!userService.setBlocked(id, true)) {
+      throw new NotFoundException();
+    }
   }
 
   @PutMapping("/{id}/unblock")
   @ResponseStatus(HttpStatus.NO_CONTENT)
   public void unblock(@PathVariable int id) {
-    userService.getUser(id)
-        .ifPresentOrElse(
-            User::unblock,
-            () -> {
-              throw new NotFoundException();
-            });
+    if (!userService.setBlocked(id, false)) {
+      throw new NotFoundException();
+    }
   }
 }
@@ -0,0 +1,11 @@
+package com.weareadaptive.auction.controller.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public record CloseAuctionLotsRequest(
+    @NotEmpty
+    @Size(max = 10000)
+    List<Integer> ids
+) { }
@@ -0,0 +1,9 @@
+package com.weareadaptive.auction.controller.dto;
+
+import com.weareadaptive.auction.model.CloseResult;
+
+public record CloseResultResponse(
+    int id,
+    CloseResult.Status status,
+    ClosingSummaryResponse closingSummary) {
+}
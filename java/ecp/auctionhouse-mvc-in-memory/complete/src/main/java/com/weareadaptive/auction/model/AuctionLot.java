@@ -1,30 +1,32 @@
 package com.weareadaptive.auction.model;
 
+import static java.lang.Math.addExact;
 import static java.lang.Math.min;
 import static java.lang.String.format;
-import static java.math.BigDecimal.valueOf;
-import static java.util.Collections.reverseOrder;
 import static java.util.Collections.unmodifiableList;
-import static java.util.Comparator.comparing;
-import static java.util.Comparator.comparingInt;
 import static org.apache.logging.log4j.util.Strings.isBlank;
 
-import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
 public class AuctionLot implements Entity {
   private final int id;
   private final User owner;
   private final String symbol;
-  private final double minPrice;
+  private final long minPrice;
   private final int quantity;
-  private final List<Bid> bids;
-  private Status status;
-  private ClosingSummary closingSummary;
+  private final BidStore bids;
+  private final boolean frozen;
+  private volatile Status status;
+  private volatile ClosingSummary closingSummary;
+  private Map<String, List<WinningBid>> wonBids;
+  private Map<String, List<Bid>> lostBids;
   private Supplier<Instant> timeProvider;
+  private Listener listener;
 
   public AuctionLot(int id, User owner, String symbol, int quantity, double minPrice) {
     if (owner == null) {
@@ -33,7 +35,8 @@ public class AuctionLot implements Entity {
     if (isBlank(symbol)) {
       throw new BusinessException("symbol cannot be null or empty");
     }
-    if (minPrice < 0) {
+    var minPriceTicks = Price.toTicks(minPrice);
+    if (minPriceTicks < 0) {
       throw new BusinessException("minPrice cannot be bellow 0");
     }
     if (quantity < 0) {
@@ -43,12 +46,37 @@ public class AuctionLot implements Entity {
     this.owner = owner;
     this.symbol = symbol.toUpperCase().trim();
     this.quantity = quantity;
-    this.minPrice = minPrice;
-    bids = new ArrayList<>();
+    this.minPrice = minPriceTicks;
+    bids = new BidStore();
+    frozen = false;
     status = Status.OPENED;
     timeProvider = Instant::now;
   }
 
+  private AuctionLot(AuctionLot auctionLot) {
+    id = auctionLot.id;
+    owner = auctionLot.owner;
+    symbol = auctionLot.symbol;
+    quantity = auctionLot.quantity;
+    minPrice = auctionLot.minPrice;
+    bids = auctionLot.bids.view();
+    frozen = true;
+    status = auctionLot.status;
+    closingSummary = auctionLot.closingSummary;
+    wonBids = auctionLot.wonBids;
+    lostBids = auctionLot.lostBids;
+    timeProvider = auctionLot.timeProvider;
+  }
+
+  /**
+   * A copy of the lot with the bids placed so far, for readers that must not see its later bids.
+   * The bids are shared with the lot rather than copied, see {@link BidStore}. The copy cannot be
+   * bid on or closed.
+   */
+  public synchronized AuctionLot snapshot() {
+    return new AuctionLot(this);
+  }
+
   public Status getStatus() {
     return status;
   }
@@ -68,11 +96,20 @@ public class AuctionLot implements Entity {
     return closingSummary;
   }
 
-  public List<Bid> getBids() {
-    return unmodifiableList(bids);
+  public synchronized List<Bid> getBids() {
+    return bids.list();
+  }
+
+  synchronized int getBidCount() {
+    return bids.size();
+  }
+
+  Bid getBid(int index) {
+    return bids.get(index);
   }
 
-  public void bid(User bidder, int quantity, double price) {
+  public synchronized void bid(User bidder, int quantity, double price) {
+    checkNotSnapshot();
     if (status == Status.CLOSED) {
       throw new BusinessException("Cannot close an already closed.");
     }
@@ -85,45 +122,83 @@ public class AuctionLot implements Entity {
       throw new BusinessException("quantity must be be above 0");
     }
 
-    if (price < minPrice) {
-      throw new BusinessException(format("price needs to be above %s", minPrice));
+    var priceTicks = Price.toTicks(price);
+    if (priceTicks < minPrice) {
+      throw new BusinessException(format("price needs to be above %s", getMinPrice()));
+    }
+
+    if (bidder == null) {
+      throw new BusinessException("user cannot be null");
     }
 
-    bids.add(new Bid(bidder, quantity, price));
+    if (priceTicks <= 0) {
+      throw new BusinessException("price must be above 0");
+    }
+
+    if (quantity == 0) {
+      throw new BusinessException("quantity must be above 0");
+    }
+
+    var index = bids.add(bidder, quantity, priceTicks);
+    if (listener != null) {
+      listener.onBid(this, bids.get(index));
+    }
   }
 
   public void close() {
+    close(timeProvider.get());
+  }
+
+  /**
+   * Closes the lot as of the given time, used to replay a close with its original time.
+   */
+  public synchronized void close(Instant closedAt) {
+    checkNotSnapshot();
     if (status == Status.CLOSED) {
       throw new BusinessException("Cannot close because already closed.");
     }
 
-    status = Status.CLOSED;
-
-    var orderedBids = bids
-        .stream()
-        .sorted(reverseOrder(comparing(Bid::getPrice))
-            .thenComparing(reverseOrder(comparingInt(Bid::getQuantity))))
-        .toList();
     var availableQuantity = this.quantity;
-    var revenue = BigDecimal.ZERO;
+    var revenueTicks = 0L;
     var winningBids = new ArrayList<WinningBid>();
+    var wonByUser = new HashMap<String, List<WinningBid>>();
+    var won = new boolean[bids.size()];
 
-    for (Bid bid : orderedBids) {
-      if (availableQuantity > 0) {
-        var bidQuantity = min(availableQuantity, bid.getQuantity());
+    for (var index : bids.rankByPrice()) {
+      if (availableQuantity == 0) {
+        bids.lost(index);
+        continue;
+      }
+      var bidQuantity = min(availableQuantity, bids.quantity(index));
+
+      var winningBid = new WinningBid(bidQuantity, bids.get(index));
+      winningBids.add(winningBid);
+      wonByUser.computeIfAbsent(bids.user(index).getUsername(), u -> new ArrayList<>())
+          .add(winningBid);
+      bids.win(index, bidQuantity);
+      won[index] = true;
+      availableQuantity -= bidQuantity;
+      revenueTicks = addExact(revenueTicks, Price.notional(bids.price(index), bidQuantity));
+    }
 
-        winningBids.add(new WinningBid(bidQuantity, bid));
-        bid.win(bidQuantity);
-        availableQuantity -= bidQuantity;
-        revenue = revenue.add(valueOf(bidQuantity).multiply(valueOf(bid.getPrice())));
-      } else {
-        bid.lost();
+    var lostByUser = new HashMap<String, List<Bid>>();
+    for (var index = 0; index < won.length; index++) {
+      if (!won[index]) {
+        lostByUser.computeIfAbsent(bids.user(index).getUsername(), u -> new ArrayList<>())
+            .add(bids.get(index));
       }
     }
+    bids.settle();
 
+    wonBids = wonByUser;
+    lostBids = lostByUser;
     closingSummary =
         new ClosingSummary(unmodifiableList(winningBids), this.quantity - availableQuantity,
-            revenue, timeProvider.get());
+            Price.toBigDecimal(revenueTicks), closedAt);
+    status = Status.CLOSED;
+    if (listener != null) {
+      listener.onClose(this);
+    }
   }
 
   public int getId() {
@@ -131,7 +206,7 @@ public class AuctionLot implements Entity {
   }
 
   public double getMinPrice() {
-    return minPrice;
+    return Price.toDouble(minPrice);
   }
 
   public int getQuantity() {
@@ -142,19 +217,42 @@ public class AuctionLot implements Entity {
     this.timeProvider = timeProvider;
   }
 
+  /**
+   * Replays the bids and the close that already happened to the listener, then notifies it of
+   * the next ones.
+   */
+  synchronized void setListener(Listener listener) {
+    for (var index = 0; index < bids.size(); index++) {
+      listener.onBid(this, bids.get(index));
+    }
+    if (status == Status.CLOSED) {
+      listener.onClose(this);
+    }
+    this.listener = listener;
+  }
+
+  /**
+   * Bids of a user that won nothing, in the order they were placed. Recorded when the lot
+   * closed, like {@link #getWonBids}.
+   */
   public List<Bid> getLostBids(User user) {
-    return bids
-        .stream()
-        .filter(bid -> bid.getUser() == user
-            && closingSummary.winningBids().stream().noneMatch(wb -> wb.originalBid() == bid))
-        .toList();
+    if (Status.CLOSED != status) {
+      throw new BusinessException("AuctionLot must be closed to have lost bids");
+    }
+    return unmodifiableList(lostBids.getOrDefault(user.getUsername(), List.of()));
   }
 
   public List<WinningBid> getWonBids(User user) {
-    return closingSummary.winningBids()
-        .stream()
-        .filter(b -> b.originalBid().getUser() == user)
-        .toList();
+    if (Status.CLOSED != status) {
+      throw new BusinessException("AuctionLot must be closed to have won bids");
+    }
+    return unmodifiableList(wonBids.getOrDefault(user.getUsername(), List.of()));
+  }
+
+  private void checkNotSnapshot() {
+    if (frozen) {
+      throw new IllegalStateException("A snapshot of an auction lot cannot change");
+    }
   }
 
   @Override
@@ -170,4 +268,13 @@ public class AuctionLot implements Entity {
     OPENED,
     CLOSED
   }
+
+  /**
+   * Notified of the changes of a lot, so the state holding it can keep its indexes up to date.
+   */
+  interface Listener {
+    void onBid(AuctionLot auctionLot, Bid bid);
+
+    void onClose(AuctionLot auctionLot);
+  }
 }
@@ -1,38 +1,152 @@
 package com.weareadaptive.auction.model;
 
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import org.springframework.stereotype.Component;
 
+/**
+ * Auction lots, indexed by owner, by status and by the bidders of their bids so the lookups of a
+ * user or a status only read the matching lots and bids. Lots keep the indexes up to date when
+ * they are bid on or closed, the indexes are safe to read while lots change. The indexes hold
+ * lot ids and bid indexes, so a published snapshot of a lot replaces the previous one everywhere
+ * at once.
+ */
 @Component
-public class AuctionState extends State<AuctionLot> {
+public class AuctionState extends State<AuctionLot> implements AuctionLot.Listener {
+  private final Map<String, Queue<Integer>> ownerIndex;
+  private final Map<String, Queue<LotBid>> bidderIndex;
+  private final Map<AuctionLot.Status, Set<Integer>> statusIndex;
+
+  public AuctionState() {
+    ownerIndex = new ConcurrentHashMap<>();
+    bidderIndex = new ConcurrentHashMap<>();
+    statusIndex = new EnumMap<>(AuctionLot.Status.class);
+    for (var status : AuctionLot.Status.values()) {
+      statusIndex.put(status, ConcurrentHashMap.newKeySet());
+    }
+  }
+
+  @Override
+  protected void onAdd(AuctionLot model) {
+    ownerIndex.computeIfAbsent(model.getOwner().getUsername(),
+        username -> new ConcurrentLinkedQueue<>()).add(model.getId());
+    statusIndex.get(AuctionLot.Status.OPENED).add(model.getId());
+    model.setListener(this);
+  }
+
+  /**
+   * Snapshots are not listened to, their bids and status are indexed by difference with the
+   * previous snapshot of the lot.
+   */
+  @Override
+  protected void onPublish(AuctionLot previous, AuctionLot model) {
+    if (previous == null) {
+      ownerIndex.computeIfAbsent(model.getOwner().getUsername(),
+          username -> new ConcurrentLinkedQueue<>()).add(model.getId());
+      statusIndex.get(model.getStatus()).add(model.getId());
+    } else if (previous.getStatus() != model.getStatus()) {
+      onClose(model);
+    }
+
+    var bidCount = model.getBidCount();
+    for (var index = previous == null ? 0 : previous.getBidCount(); index < bidCount; index++) {
+      indexBid(model, model.getBid(index));
+    }
+  }
+
+  @Override
+  public void onBid(AuctionLot auctionLot, Bid bid) {
+    indexBid(auctionLot, bid);
+  }
+
+  @Override
+  public void onClose(AuctionLot auctionLot) {
+    statusIndex.get(AuctionLot.Status.OPENED).remove(auctionLot.getId());
+    statusIndex.get(AuctionLot.Status.CLOSED).add(auctionLot.getId());
+  }
+
+  public List<AuctionLot> findByOwner(String username) {
+    return orEmpty(ownerIndex.get(username))
+        .stream()
+        .map(this::get)
+        .toList();
+  }
+
+  public List<AuctionLot> findByStatus(AuctionLot.Status status) {
+    return statusIndex.get(status)
+        .stream()
+        .map(this::get)
+        .filter(a -> a.getStatus() == status)
+        .toList();
+  }
+
+  public List<Bid> findBids(String username) {
+    return orEmpty(bidderIndex.get(username))
+        .stream()
+        .map(this::getBid)
+        .toList();
+  }
+
   public List<LostBid> findLostBids(User user) {
     if (user == null) {
       throw new IllegalArgumentException("user cannot be null");
     }
-    return stream()
-        .filter(auctionLot -> AuctionLot.Status.CLOSED == auctionLot.getStatus())
-        .flatMap(auctionLot -> auctionLot.getLostBids(user).stream()
-            .map(b -> new LostBid(
-                auctionLot.getId(),
-                auctionLot.getSymbol(),
-                b.getQuantity(),
-                b.getPrice()))
-        ).toList();
+    return orEmpty(bidderIndex.get(user.getUsername()))
+        .stream()
+        .filter(lotBid -> getBid(lotBid).getState() == Bid.State.LOST)
+        .map(lotBid -> {
+          var bid = getBid(lotBid);
+          return new LostBid(
+              lotBid.auctionLotId(),
+              get(lotBid.auctionLotId()).getSymbol(),
+              bid.getQuantity(),
+              bid.getPrice());
+        })
+        .toList();
   }
 
   public List<WonBid> findWonBids(User user) {
     if (user == null) {
       throw new IllegalArgumentException("user cannot be null");
     }
-    return stream()
-        .filter(auctionLot -> AuctionLot.Status.CLOSED == auctionLot.getStatus())
-        .flatMap(auctionLot -> auctionLot.getWonBids(user).stream()
-            .map(winningBod -> new WonBid(
-                auctionLot.getId(),
-                auctionLot.getSymbol(),
-                winningBod.quantity(),
-                winningBod.originalBid().getQuantity(),
-                winningBod.originalBid().getPrice()))
-        ).toList();
+    return orEmpty(bidderIndex.get(user.getUsername()))
+        .stream()
+        .filter(lotBid -> getBid(lotBid).getState() == Bid.State.WIN)
+        .map(lotBid -> {
+          var bid = getBid(lotBid);
+          return new WonBid(
+              lotBid.auctionLotId(),
+              get(lotBid.auctionLotId()).getSymbol(),
+              bid.getWinQuantity(),
+              bid.getQuantity(),
+              bid.getPrice());
+        })
+        .toList();
+  }
+
+  private void indexBid(AuctionLot auctionLot, Bid bid) {
+    bidderIndex.computeIfAbsent(bid.getUser().getUsername(),
+        username -> new ConcurrentLinkedQueue<>())
+        .add(new LotBid(auctionLot.getId(), bid.getIndex()));
+  }
+
+  private Bid getBid(LotBid lotBid) {
+    return get(lotBid.auctionLotId()).getBid(lotBid.bidIndex());
+  }
+
+  private static <E> Collection<E> orEmpty(Queue<E> queue) {
+    return queue == null ? List.of() : queue;
+  }
+
+  /**
+   * A bid by its lot and its index in the lot, read from the lot currently in the state.
+   */
+  private record LotBid(int auctionLotId, int bidIndex) {
   }
 }
@@ -1,78 +1,66 @@
 package com.weareadaptive.auction.model;
 
-public class Bid {
-  private final User user;
-  private final int quantity;
-  private final double price;
-  private State state;
-  private int winQuantity;
-
-  public Bid(User user, int quantity, double price) {
-    if (user == null) {
-      throw new BusinessException("user cannot be null");
-    }
-
-    if (price <= 0) {
-      throw new BusinessException("price must be above 0");
-    }
-
-    if (quantity <= 0) {
-      throw new BusinessException("quantity must be above 0");
-    }
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.Objects;
+
+/**
+ * A bid of an auction lot, read from the columns its lot stores the bids in. Bids of the same lot
+ * at the same index are equal.
+ */
+public final class Bid {
+  private final BidStore store;
+  private final int index;
+
+  Bid(BidStore store, int index) {
+    this.store = store;
+    this.index = index;
+  }
 
-    this.price = price;
-    this.user = user;
-    this.quantity = quantity;
-    state = State.PENDING;
+  int getIndex() {
+    return index;
   }
 
   public int getQuantity() {
-    return quantity;
+    return store.quantity(index);
   }
 
   public User getUser() {
-    return user;
+    return store.user(index);
   }
 
   public double getPrice() {
-    return price;
+    return Price.toDouble(store.price(index));
+  }
+
+  @JsonIgnore
+  public long getPriceTicks() {
+    return store.price(index);
   }
 
   public int getWinQuantity() {
-    return winQuantity;
+    return store.winQuantity(index);
   }
 
   public State getState() {
-    return state;
+    return store.state(index);
   }
 
-  public void lost() {
-    if (state != State.PENDING) {
-      throw new BusinessException("Must be a pending bid");
-    }
-
-    state = State.LOST;
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof Bid bid && store == bid.store && index == bid.index;
   }
 
-  public void win(int winQuantity) {
-    if (state != State.PENDING) {
-      throw new BusinessException("Must be a pending bid");
-    }
-
-    if (quantity < winQuantity) {
-      throw new BusinessException("winQuantity must be lower or equal to to the bid quantity");
-    }
-
-    state = State.WIN;
-    this.winQuantity = winQuantity;
+  @Override
+  public int hashCode() {
+    return Objects.hash(System.identityHashCode(store), index);
   }
 
   @Override
   public String toString() {
     return "Bid{"
-      + "user=" + user
-      + ", price=" + price
-      + ", quantity=" + quantity
+      + "user=" + getUser()
+      + ", price=" + getPrice()
+      + ", quantity=" + getQuantity()
       + '}';
   }
 
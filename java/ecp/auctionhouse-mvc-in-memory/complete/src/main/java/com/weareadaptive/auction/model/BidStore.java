@@ -0,0 +1,234 @@
+package com.weareadaptive.auction.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * The bids of a lot, stored column by column in primitive arrays rather than one object per bid.
+ * Each bidder is stored once per lot and referenced by position. {@link Bid} is a flyweight over
+ * one row.
+ *
+ * <p>Bids are appended by one thread at a time, under the lock of their lot, and settled all at
+ * once when the lot closes. The columns are replaced, never resized in place, and published
+ * through a volatile field, so a flyweight read from another thread sees the row it was created
+ * for. The states are published by the volatile {@code settled} flag, a bid reads as pending until
+ * then.
+ *
+ * <p>A {@link #view() view} shares the columns of its store. Rows are only ever appended past its
+ * size and the outcomes it would read are only published to the store itself, so a view keeps
+ * seeing the bids of the moment it was taken without copying them.
+ */
+final class BidStore {
+  private static final int INITIAL_CAPACITY = 8;
+  private static final Bid.State[] STATES = Bid.State.values();
+
+  private final Map<String, Integer> bidderIndexes;
+  private volatile Columns columns;
+  private volatile boolean settled;
+  private int bidderCount;
+  private int size;
+
+  BidStore() {
+    bidderIndexes = new HashMap<>();
+    columns = new Columns(INITIAL_CAPACITY, INITIAL_CAPACITY);
+  }
+
+  private BidStore(BidStore other) {
+    bidderIndexes = null;
+    columns = other.columns;
+    settled = other.settled;
+    bidderCount = other.bidderCount;
+    size = other.size;
+  }
+
+  /**
+   * The bids so far, without the later ones, as a store that cannot be appended to or settled.
+   */
+  BidStore view() {
+    return new BidStore(this);
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Appends a bid and returns its index.
+   */
+  int add(User bidder, int quantity, long price) {
+    var bidderIndex = bidderIndexes.computeIfAbsent(bidder.getUsername(), u -> bidderCount);
+    var newBidder = bidderIndex == bidderCount;
+    var current = columns.grow(newBidder ? bidderCount + 1 : bidderCount, size + 1);
+    if (newBidder) {
+      current.bidders[bidderCount++] = bidder;
+    }
+    current.bidderIndexes[size] = bidderIndex;
+    current.prices[size] = price;
+    current.quantities[size] = quantity;
+    columns = current;
+    return size++;
+  }
+
+  Bid get(int index) {
+    return new Bid(this, index);
+  }
+
+  /**
+   * The bids so far, as a list creating their flyweights when read.
+   */
+  List<Bid> list() {
+    return new BidList(size);
+  }
+
+  User user(int index) {
+    var current = columns;
+    return current.bidders[current.bidderIndexes[index]];
+  }
+
+  long price(int index) {
+    return columns.prices[index];
+  }
+
+  int quantity(int index) {
+    return columns.quantities[index];
+  }
+
+  int winQuantity(int index) {
+    return settled ? columns.winQuantities[index] : 0;
+  }
+
+  Bid.State state(int index) {
+    return settled ? STATES[columns.states[index]] : Bid.State.PENDING;
+  }
+
+  /**
+   * Records the outcome of a bid, visible once the bids are {@link #settle() settled}.
+   */
+  void win(int index, int winQuantity) {
+    columns.winQuantities[index] = winQuantity;
+    columns.states[index] = (byte) Bid.State.WIN.ordinal();
+  }
+
+  void lost(int index) {
+    columns.states[index] = (byte) Bid.State.LOST.ordinal();
+  }
+
+  void settle() {
+    settled = true;
+  }
+
+  /**
+   * Indexes of the bids by descending price then descending quantity, in the order they were
+   * placed when both are equal.
+   */
+  int[] rankByPrice() {
+    var order = new int[size];
+    for (var i = 0; i < size; i++) {
+      order[i] = i;
+    }
+    var current = columns;
+    var buffer = new int[size];
+
+    // bottom-up merge sort, stable so the earlier of two equal bids ranks first
+    for (var width = 1; width < size; width *= 2) {
+      for (var from = 0; from < size - width; from += 2 * width) {
+        merge(current, order, buffer, from, from + width, Math.min(from + 2 * width, size));
+      }
+    }
+    return order;
+  }
+
+  private static void merge(Columns columns, int[] order, int[] buffer, int from, int middle,
+                            int to) {
+    System.arraycopy(order, from, buffer, from, to - from);
+    var left = from;
+    var right = middle;
+    for (var i = from; i < to; i++) {
+      if (left < middle && (right == to || ranksBefore(columns, buffer[left], buffer[right]))) {
+        order[i] = buffer[left++];
+      } else {
+        order[i] = buffer[right++];
+      }
+    }
+  }
+
+  /**
+   * Whether the bid {@code a}, placed before {@code b}, ranks before it or with it.
+   */
+  private static boolean ranksBefore(Columns columns, int a, int b) {
+    if (columns.prices[a] != columns.prices[b]) {
+      return columns.prices[a] > columns.prices[b];
+    }
+    return columns.quantities[a] >= columns.quantities[b];
+  }
+
+  private final class BidList extends AbstractList<Bid> implements RandomAccess {
+    private final int size;
+
+    private BidList(int size) {
+      this.size = size;
+    }
+
+    @Override
+    public Bid get(int index) {
+      return BidStore.this.get(Objects.checkIndex(index, size));
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+  private static final class Columns {
+    private final User[] bidders;
+    private final int[] bidderIndexes;
+    private final long[] prices;
+    private final int[] quantities;
+    private final int[] winQuantities;
+    private final byte[] states;
+
+    private Columns(int bidderCapacity, int capacity) {
+      this(new User[bidderCapacity], new int[capacity], new long[capacity], new int[capacity],
+          new int[capacity], new byte[capacity]);
+    }
+
+    private Columns(User[] bidders, int[] bidderIndexes, long[] prices, int[] quantities,
+                    int[] winQuantities, byte[] states) {
+      this.bidders = bidders;
+      this.bidderIndexes = bidderIndexes;
+      this.prices = prices;
+      this.quantities = quantities;
+      this.winQuantities = winQuantities;
+      this.states = states;
+    }
+
+    /**
+     * Columns holding at least the given number of bidders and bids, doubling the full ones.
+     */
+    private Columns grow(int bidderCapacity, int capacity) {
+      var newBidderCapacity =
+          bidderCapacity > bidders.length ? bidders.length * 2 : bidders.length;
+      var newCapacity = capacity > prices.length ? prices.length * 2 : prices.length;
+      if (newBidderCapacity == bidders.length && newCapacity == prices.length) {
+        return this;
+      }
+      return copyOf(newBidderCapacity, newCapacity);
+    }
+
+    private Columns copyOf(int bidderCapacity, int capacity) {
+      return new Columns(
+          Arrays.copyOf(bidders, bidderCapacity),
+          Arrays.copyOf(bidderIndexes, capacity),
+          Arrays.copyOf(prices, capacity),
+          Arrays.copyOf(quantities, capacity),
+          Arrays.copyOf(winQuantities, capacity),
+          Arrays.copyOf(states, capacity));
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.weareadaptive.auction.model;
+
+/**
+ * Outcome of closing one lot of a bulk close, with its closing summary when it was closed.
+ */
+public record CloseResult(
+    int auctionLotId,
+    Status status,
+    ClosingSummary closingSummary) {
+
+  public static CloseResult of(int auctionLotId, Status status) {
+    return new CloseResult(auctionLotId, status, null);
+  }
+
+  public enum Status {
+    CLOSED,
+    NOT_FOUND,
+    FORBIDDEN,
+    ALREADY_CLOSED
+  }
+}
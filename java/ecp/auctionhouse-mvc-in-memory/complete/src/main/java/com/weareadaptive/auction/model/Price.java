@@ -0,0 +1,38 @@
+package com.weareadaptive.auction.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Prices are held as a number of ticks of 1/10,000: exact and cheap to add or multiply, unlike
+ * a double or a BigDecimal. Conversions to double or BigDecimal only happen at the edges.
+ */
+public final class Price {
+  public static final int SCALE = 4;
+  public static final long TICKS_PER_UNIT = 10_000;
+
+  private Price() {
+  }
+
+  public static long toTicks(double price) {
+    try {
+      return BigDecimal.valueOf(price).movePointRight(SCALE).longValueExact();
+    } catch (ArithmeticException | NumberFormatException exception) {
+      throw new BusinessException("price must be a number with at most " + SCALE + " decimals");
+    }
+  }
+
+  public static double toDouble(long ticks) {
+    return ticks / (double) TICKS_PER_UNIT;
+  }
+
+  public static BigDecimal toBigDecimal(long ticks) {
+    return BigDecimal.valueOf(ticks, SCALE);
+  }
+
+  /**
+   * Price times quantity, in ticks. Fails rather than overflowing.
+   */
+  public static long notional(long ticks, int quantity) {
+    return Math.multiplyExact(ticks, quantity);
+  }
+}
@@ -1,20 +1,28 @@
 package com.weareadaptive.auction.model;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
+/**
+ * Entities by id, safe to use from concurrent request threads. Ids are allocated atomically and
+ * an entity is only added once; {@link #onAdd} lets subclasses maintain their indexes, and may
+ * reject the entity by throwing. A state can also hold copies of the entities of another state,
+ * {@link #publish} replacing the previous copy of an entity and {@link #onPublish} letting
+ * subclasses update their indexes.
+ */
 public class State<T extends Entity> {
   public static final String ITEM_ALREADY_EXISTS = "Item already exists";
   private final Map<Integer, T> entities;
-  private int currentId = 1;
+  private final AtomicInteger currentId = new AtomicInteger(1);
 
   public State() {
-    entities = new HashMap<>();
+    entities = new ConcurrentHashMap<>();
   }
 
   public int nextId() {
-    return currentId++;
+    return currentId.getAndIncrement();
   }
 
   protected void onAdd(T model) {
@@ -22,15 +30,36 @@ public class State<T extends Entity> {
   }
 
   public void add(T model) {
-    if (entities.containsKey(model.getId())) {
+    if (entities.putIfAbsent(model.getId(), model) != null) {
       throw new BusinessException(ITEM_ALREADY_EXISTS);
     }
-    onAdd(model);
-    entities.put(model.getId(), model);
+    try {
+      onAdd(model);
+    } catch (RuntimeException exception) {
+      entities.remove(model.getId(), model);
+      throw exception;
+    }
+  }
+
+  /**
+   * Adds a copy of an entity owned by another state, or replaces its previous copy.
+   */
+  public void publish(T model) {
+    onPublish(entities.put(model.getId(), model), model);
+  }
+
+  protected void onPublish(T previous, T model) {
+    if (previous == null) {
+      onAdd(model);
+    }
+  }
+
+  int getNextId() {
+    return currentId.get();
   }
 
   void setNextId(int id) {
-    this.currentId = id;
+    currentId.set(id);
   }
 
   public T get(int id) {
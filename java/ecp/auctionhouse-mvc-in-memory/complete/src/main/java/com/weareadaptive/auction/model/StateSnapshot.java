@@ -0,0 +1,132 @@
+package com.weareadaptive.auction.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Binary image of the users and auction lots. Lots are restored by replaying their bids and their
+ * close, so the closing summary and the outcome of each bid are computed again rather than stored.
+ * The id counters are kept as they were, ids allocated to rejected entities included, so the
+ * commands journaled after the snapshot replay to the same ids.
+ */
+public final class StateSnapshot {
+  private static final int MAGIC = 0x41554354;
+  private static final int VERSION = 1;
+
+  private StateSnapshot() {
+  }
+
+  /**
+   * Writes the state as of the given journal sequence. The state must not change meanwhile.
+   */
+  public static void write(UserState userState, AuctionState auctionState, long sequence,
+                           DataOutput output) throws IOException {
+    output.writeInt(MAGIC);
+    output.writeInt(VERSION);
+    output.writeLong(sequence);
+
+    var users = userState.stream().toList();
+    output.writeInt(userState.getNextId());
+    output.writeInt(users.size());
+    for (var user : users) {
+      output.writeInt(user.getId());
+      output.writeUTF(user.getUsername());
+      output.writeUTF(user.getPassword());
+      output.writeUTF(user.getFirstName());
+      output.writeUTF(user.getLastName());
+      output.writeUTF(user.getOrganisation());
+      output.writeBoolean(user.isAdmin());
+      output.writeBoolean(user.isBlocked());
+    }
+
+    var auctionLots = auctionState.stream().toList();
+    output.writeInt(auctionState.getNextId());
+    output.writeInt(auctionLots.size());
+    for (var auctionLot : auctionLots) {
+      output.writeInt(auctionLot.getId());
+      output.writeUTF(auctionLot.getOwner().getUsername());
+      output.writeUTF(auctionLot.getSymbol());
+      output.writeInt(auctionLot.getQuantity());
+      output.writeLong(Price.toTicks(auctionLot.getMinPrice()));
+
+      var bids = auctionLot.getBids();
+      output.writeInt(bids.size());
+      for (var bid : bids) {
+        output.writeUTF(bid.getUser().getUsername());
+        output.writeInt(bid.getQuantity());
+        output.writeLong(bid.getPriceTicks());
+      }
+
+      var closed = auctionLot.getStatus() == AuctionLot.Status.CLOSED;
+      output.writeBoolean(closed);
+      if (closed) {
+        var closedAt = auctionLot.getClosingSummary().closingTime();
+        output.writeLong(closedAt.getEpochSecond());
+        output.writeInt(closedAt.getNano());
+      }
+    }
+  }
+
+  /**
+   * Restores the state into empty user and auction states, returns the journal sequence it was
+   * written at.
+   */
+  public static long read(DataInput input, UserState userState, AuctionState auctionState)
+      throws IOException {
+    if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+      throw new IOException("Not a snapshot of this version");
+    }
+    var sequence = input.readLong();
+
+    var nextUserId = input.readInt();
+    var userCount = input.readInt();
+    for (var i = 0; i < userCount; i++) {
+      var user = new User(
+          input.readInt(),
+          input.readUTF(),
+          input.readUTF(),
+          input.readUTF(),
+          input.readUTF(),
+          input.readUTF(),
+          input.readBoolean());
+      if (input.readBoolean()) {
+        user.block();
+      }
+      userState.add(user);
+    }
+    userState.setNextId(nextUserId);
+
+    var nextAuctionLotId = input.readInt();
+    var auctionLotCount = input.readInt();
+    for (var i = 0; i < auctionLotCount; i++) {
+      var id = input.readInt();
+      var owner = getUser(userState, input.readUTF());
+      var symbol = input.readUTF();
+      var quantity = input.readInt();
+      var auctionLot = new AuctionLot(id, owner, symbol, quantity,
+          Price.toDouble(input.readLong()));
+
+      var bidCount = input.readInt();
+      for (var j = 0; j < bidCount; j++) {
+        auctionLot.bid(getUser(userState, input.readUTF()), input.readInt(),
+            Price.toDouble(input.readLong()));
+      }
+      if (input.readBoolean()) {
+        auctionLot.close(Instant.ofEpochSecond(input.readLong(), input.readInt()));
+      }
+      auctionState.add(auctionLot);
+    }
+    auctionState.setNextId(nextAuctionLotId);
+    return sequence;
+  }
+
+  private static User getUser(UserState userState, String username) throws IOException {
+    var user = userState.getByUsername(username);
+    if (user.isEmpty()) {
+      throw new IOException("Unknown user " + username);
+    }
+    return user.get();
+  }
+}
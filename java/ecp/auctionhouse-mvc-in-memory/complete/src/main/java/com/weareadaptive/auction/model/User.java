@@ -58,6 +58,26 @@ public class User implements Entity {
     this.isAdmin = isAdmin;
   }
 
+  private User(User user) {
+    id = user.id;
+    username = user.username;
+    password = user.password;
+    isAdmin = user.isAdmin;
+    firstName = user.firstName;
+    lastName = user.lastName;
+    organisation = user.organisation;
+    phone = user.phone;
+    email = user.email;
+    blocked = user.blocked;
+  }
+
+  /**
+   * A copy of the user as it is now, for readers that must not see its later changes.
+   */
+  public User snapshot() {
+    return new User(this);
+  }
+
   @Override
   public String toString() {
     return "User{"
@@ -69,6 +89,10 @@ public class User implements Entity {
     return username;
   }
 
+  String getPassword() {
+    return password;
+  }
+
   public boolean validatePassword(String password) {
     return this.password.equals(password);
   }
@@ -1,32 +1,51 @@
 package com.weareadaptive.auction.model;
 
 import static java.lang.String.format;
-import static java.util.Comparator.comparing;
-import static java.util.stream.Collectors.groupingBy;
 
 import jakarta.validation.constraints.NotNull;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.stereotype.Component;
 
+/**
+ * Users by id and by username. The users other than admins are also kept by organisation, so the
+ * organisations are read without going through every user; a user of this state changes
+ * organisation through {@link #setOrganisation}.
+ */
 @Component
 public class UserState extends State<User> {
 
   private final Map<String, User> usernameIndex;
+  private final Map<String, Map<Integer, User>> organisationIndex;
 
   public UserState() {
-    usernameIndex = new HashMap<>();
+    usernameIndex = new ConcurrentHashMap<>();
+    organisationIndex = new ConcurrentHashMap<>();
   }
 
   @Override
   protected void onAdd(User model) {
-    if (usernameIndex.containsKey(model.getUsername())) {
+    if (usernameIndex.putIfAbsent(model.getUsername(), model) != null) {
       throw new BusinessException(format("Username \"%s\" already exist", model.getUsername()));
     }
+    addToOrganisation(model);
+  }
 
+  @Override
+  protected void onPublish(User previous, User model) {
     usernameIndex.put(model.getUsername(), model);
+    if (previous != null) {
+      removeFromOrganisation(previous);
+    }
+    addToOrganisation(model);
+  }
+
+  public void setOrganisation(User user, String organisation) {
+    removeFromOrganisation(user);
+    user.setOrganisation(organisation);
+    addToOrganisation(user);
   }
 
   public Optional<User> getByUsername(@NotNull String username) {
@@ -34,34 +53,48 @@ public class UserState extends State<User> {
   }
 
   public Optional<User> validateUsernamePassword(String username, String password) {
-    if (!usernameIndex.containsKey(username)) {
-      return Optional.empty();
-    }
     var user = usernameIndex.get(username);
-    if (!user.validatePassword(password)) {
+    if (user == null || !user.validatePassword(password)) {
       return Optional.empty();
     }
     return Optional.of(user);
   }
 
   public List<String> findOrganisations() {
-    return stream()
-        .filter(u -> !u.isAdmin())
-        .map(User::getOrganisation)
-        .distinct()
+    return organisationIndex.keySet()
+        .stream()
         .sorted()
         .toList();
   }
 
   public List<OrganisationDetails> getOrganisationsDetails() {
-    return stream()
-        .filter(u -> !u.isAdmin())
-        .collect(groupingBy(User::getOrganisation))
-        .entrySet()
+    return organisationIndex.entrySet()
         .stream()
-        .map(e -> new OrganisationDetails(e.getKey(), e.getValue()))
-        .sorted(comparing(OrganisationDetails::organisationName))
+        .sorted(Map.Entry.comparingByKey())
+        .map(e -> new OrganisationDetails(e.getKey(), List.copyOf(e.getValue().values())))
         .toList();
   }
 
+  private void addToOrganisation(User user) {
+    if (user.isAdmin()) {
+      return;
+    }
+    organisationIndex.compute(user.getOrganisation(), (organisation, users) -> {
+      var organisationUsers = users == null ? new ConcurrentHashMap<Integer, User>() : users;
+      organisationUsers.put(user.getId(), user);
+      return organisationUsers;
+    });
+  }
+
+  private void removeFromOrganisation(User user) {
+    if (user.isAdmin()) {
+      return;
+    }
+    // The last user leaving an organisation removes it
+    organisationIndex.computeIfPresent(user.getOrganisation(), (organisation, users) -> {
+      users.remove(user.getId());
+      return users.isEmpty() ? null : users;
+    });
+  }
+
 }
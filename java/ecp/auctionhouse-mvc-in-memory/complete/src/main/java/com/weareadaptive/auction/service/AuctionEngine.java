@@ -0,0 +1,281 @@
+package com.weareadaptive.auction.service;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.AuctionState;
+import com.weareadaptive.auction.model.User;
+import com.weareadaptive.auction.model.UserState;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the commands changing users and auction lots. By default each command is applied by the
+ * calling thread to the shared state. When the engine is enabled, it owns a state of its own:
+ * commands are queued to a lock-free ring buffer and a single engine thread applies them in
+ * order, up to {@code max-batch-size} at a time. After each batch it publishes snapshots of the
+ * users and lots the batch changed to the shared state, which the services only read. Callers
+ * return once their command is applied and its changes published. With the {@link Journal}
+ * enabled, the engine starts from the recovered state and journals every command it applies,
+ * rejected ones included, before answering the batch.
+ *
+ * <p>A command is applied before it is journaled, since its entry holds the ids it assigned. When
+ * the journal fails, the engine state holds changes the journal lacks, so the engine stops: the
+ * batch is failed without being published and later commands are refused. The shared state stays
+ * at the last batch journaled.
+ *
+ * <p>Each command has a single outcome: the engine thread takes it before applying it, or it is
+ * cancelled once the engine stopped, whichever claims it first. A command queued after the engine
+ * drained the buffer for the last time is cancelled by its caller.
+ */
+@Component
+public class AuctionEngine {
+  private static final int IDLE_SPINS = 100;
+  private static final long IDLE_PARK_NANOS = MILLISECONDS.toNanos(1);
+
+  private final UserState userState;
+  private final AuctionState auctionState;
+  private final UserState engineUserState;
+  private final AuctionState engineAuctionState;
+  private final boolean enabled;
+  private final int maxBatchSize;
+  private final CommandRingBuffer<PendingCommand<?>> ringBuffer;
+  private final Journal journal;
+  private final ChangeSet changeSet;
+  private final Thread engineThread;
+  private volatile boolean running;
+  private volatile boolean stopped;
+  private volatile boolean idle;
+
+  public AuctionEngine(UserState userState, AuctionState auctionState, boolean enabled,
+                       int ringSize, int maxBatchSize) {
+    this(userState, auctionState, enabled, ringSize, maxBatchSize, Journal.disabled());
+  }
+
+  @Autowired
+  public AuctionEngine(
+      UserState userState,
+      AuctionState auctionState,
+      @Value("${auction.engine.enabled}") boolean enabled,
+      @Value("${auction.engine.ring-size}") int ringSize,
+      @Value("${auction.engine.max-batch-size}") int maxBatchSize,
+      Journal journal) {
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("max-batch-size must be above 0");
+    }
+    if (journal.isEnabled() && !enabled) {
+      throw new IllegalStateException("The journal requires the engine to be enabled");
+    }
+    this.userState = userState;
+    this.auctionState = auctionState;
+    this.enabled = enabled;
+    this.maxBatchSize = maxBatchSize;
+    engineUserState = enabled ? new UserState() : userState;
+    engineAuctionState = enabled ? new AuctionState() : auctionState;
+    ringBuffer = new CommandRingBuffer<>(ringSize);
+    this.journal = journal;
+    changeSet = new ChangeSet();
+    engineThread = new Thread(this::run, "auction-engine");
+    engineThread.setDaemon(true);
+
+    if (journal.isEnabled()) {
+      journal.recover(engineUserState, engineAuctionState);
+      engineUserState.stream().forEach(changeSet::userChanged);
+      engineAuctionState.stream().forEach(changeSet::auctionLotChanged);
+      changeSet.publish();
+    }
+    if (enabled) {
+      running = true;
+      engineThread.start();
+    }
+  }
+
+  public <R> R execute(Command<R> command) {
+    if (!enabled) {
+      return command.apply(userState, auctionState, Command.Changes.NONE);
+    }
+
+    var pendingCommand = new PendingCommand<>(command);
+    while (!ringBuffer.offer(pendingCommand)) {
+      if (!running) {
+        throw new CancellationException("Auction engine stopped");
+      }
+      Thread.yield();
+    }
+    if (!running) {
+      // May be queued after the last drain, unless the engine took it already
+      pendingCommand.cancel();
+    }
+    if (idle) {
+      LockSupport.unpark(engineThread);
+    }
+
+    try {
+      return pendingCommand.result.join();
+    } catch (CompletionException exception) {
+      if (exception.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw exception;
+    }
+  }
+
+  @PreDestroy
+  public synchronized void stop() throws InterruptedException {
+    if (!enabled || stopped) {
+      return;
+    }
+    stopped = true;
+    running = false;
+    LockSupport.unpark(engineThread);
+    engineThread.join();
+    journal.close();
+    cancelQueued();
+  }
+
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void run() {
+    var batch = new ArrayList<PendingCommand<?>>(maxBatchSize);
+    var idleCount = 0;
+
+    try {
+      while (running) {
+        PendingCommand<?> next;
+        while (batch.size() < maxBatchSize && (next = ringBuffer.poll()) != null) {
+          if (!next.claim()) {
+            continue;
+          }
+          batch.add(next);
+          next.apply(engineUserState, engineAuctionState, changeSet);
+          journal.append(next.journaled());
+        }
+
+        if (batch.isEmpty()) {
+          idleCount = idle(idleCount);
+          continue;
+        }
+        idleCount = 0;
+        journal.commit(engineUserState, engineAuctionState);
+        changeSet.publish();
+        for (var pendingCommand : batch) {
+          pendingCommand.complete();
+        }
+        batch.clear();
+      }
+    } catch (RuntimeException exception) {
+      running = false;
+      var failure = new IllegalStateException("Auction engine stopped, the journal failed",
+          exception);
+      for (var pendingCommand : batch) {
+        pendingCommand.result.completeExceptionally(failure);
+      }
+      cancelQueued();
+    }
+  }
+
+  /**
+   * Consumer only, called by the engine thread or once it is joined.
+   */
+  private void cancelQueued() {
+    PendingCommand<?> abandoned;
+    while ((abandoned = ringBuffer.poll()) != null) {
+      abandoned.cancel();
+    }
+  }
+
+  /**
+   * Spins for a while, then parks until a producer unparks the engine. The flag is set before
+   * checking the buffer again, so a command queued meanwhile is not left waiting.
+   */
+  private int idle(int idleCount) {
+    if (idleCount < IDLE_SPINS) {
+      Thread.onSpinWait();
+      return idleCount + 1;
+    }
+    idle = true;
+    if (ringBuffer.isEmpty()) {
+      LockSupport.parkNanos(IDLE_PARK_NANOS);
+    }
+    idle = false;
+    return idleCount;
+  }
+
+  private final class ChangeSet implements Command.Changes {
+    private final Map<Integer, User> users = new LinkedHashMap<>();
+    private final Map<Integer, AuctionLot> auctionLots = new LinkedHashMap<>();
+
+    @Override
+    public void userChanged(User user) {
+      users.put(user.getId(), user);
+    }
+
+    @Override
+    public void auctionLotChanged(AuctionLot auctionLot) {
+      auctionLots.put(auctionLot.getId(), auctionLot);
+    }
+
+    private void publish() {
+      users.values().forEach(user -> userState.publish(user.snapshot()));
+      auctionLots.values().forEach(auctionLot -> auctionState.publish(auctionLot.snapshot()));
+      users.clear();
+      auctionLots.clear();
+    }
+  }
+
+  private static final class PendingCommand<R> {
+    private final Command<R> command;
+    private final CompletableFuture<R> result;
+    private final AtomicBoolean claimed;
+    private R value;
+    private RuntimeException failure;
+
+    private PendingCommand(Command<R> command) {
+      this.command = command;
+      result = new CompletableFuture<>();
+      claimed = new AtomicBoolean();
+    }
+
+    private boolean claim() {
+      return claimed.compareAndSet(false, true);
+    }
+
+    private void cancel() {
+      if (claim()) {
+        result.completeExceptionally(new CancellationException("Auction engine stopped"));
+      }
+    }
+
+    private void apply(UserState userState, AuctionState auctionState, Command.Changes changes) {
+      try {
+        value = command.apply(userState, auctionState, changes);
+      } catch (RuntimeException exception) {
+        failure = exception;
+      }
+    }
+
+    private Command<?> journaled() {
+      return command.journaled(value);
+    }
+
+    private void complete() {
+      if (failure != null) {
+        result.completeExceptionally(failure);
+      } else {
+        result.complete(value);
+      }
+    }
+  }
+}
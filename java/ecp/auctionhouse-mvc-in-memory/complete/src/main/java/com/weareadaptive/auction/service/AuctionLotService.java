@@ -1,30 +1,29 @@
 package com.weareadaptive.auction.service;
 
-import static java.lang.String.format;
 import static java.util.Optional.ofNullable;
 
-import com.weareadaptive.auction.exception.AuctionException;
 import com.weareadaptive.auction.exception.NotFoundException;
 import com.weareadaptive.auction.model.AuctionLot;
 import com.weareadaptive.auction.model.AuctionState;
 import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.CloseResult;
 import com.weareadaptive.auction.model.ClosingSummary;
-import com.weareadaptive.auction.model.User;
-import com.weareadaptive.auction.model.UserState;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
-import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AuctionLotService {
   public static final String AUCTION_LOT_ENTITY = "AuctionLot";
   private final AuctionState auctionState;
-  private final UserState userState;
+  private final AuctionEngine auctionEngine;
 
-  public AuctionLotService(AuctionState auctionState, UserState userState) {
+  public AuctionLotService(AuctionState auctionState, AuctionEngine auctionEngine) {
     this.auctionState = auctionState;
-    this.userState = userState;
+    this.auctionEngine = auctionEngine;
   }
 
   public Optional<AuctionLot> get(int id) {
@@ -32,40 +31,36 @@ public class AuctionLotService {
   }
 
   public AuctionLot create(String owner, String symbol, double minPrice, int quantity) {
-    var ownerUser = userState.getByUsername(owner)
-        .orElseThrow(() -> new AuctionException(format("Invalid owner %s", owner)));
-
-    var auctionLot = new AuctionLot(
-        auctionState.nextId(),
-        ownerUser,
-        symbol,
-        quantity,
-        minPrice
-    );
-    auctionState.add(auctionLot);
-    return auctionLot;
+    var auctionLotId = auctionEngine.execute(
+        new Command.CreateAuctionLot(owner, symbol, minPrice, quantity));
+    return auctionState.get(auctionLotId);
   }
 
   public void bid(String username, int auctionLotId, int quantity, double price) {
-    User user = userState.getByUsername(username)
-        .orElseThrow(() -> new IllegalArgumentException("Invalid user"));
-
-    var auction = auctionState.get(auctionLotId);
-    if (auction == null) {
-      throw new NotFoundException(AUCTION_LOT_ENTITY, auctionLotId);
-    }
-    auction.bid(user, quantity, price);
+    auctionEngine.execute(new Command.PlaceBid(username, auctionLotId, quantity, price));
   }
 
   public Stream<AuctionLot> getAll() {
     return auctionState.stream();
   }
 
+  /**
+   * Lots of an owner and in a status, either of them being optional.
+   */
+  public Stream<AuctionLot> getAll(String owner, AuctionLot.Status status) {
+    if (owner != null) {
+      return auctionState.findByOwner(owner)
+          .stream()
+          .filter(a -> status == null || a.getStatus() == status);
+    }
+    if (status != null) {
+      return auctionState.findByStatus(status).stream();
+    }
+    return getAll();
+  }
+
   public Stream<Bid> getBidsForUser(String username) {
-    return auctionState
-        .stream()
-        .flatMap(a -> a.getBids().stream())
-        .filter(b -> b.getUser().getUsername().equals(username));
+    return auctionState.findBids(username).stream();
   }
 
   public Stream<Bid> getAuctionLotBids(int auctionLotId) {
@@ -78,12 +73,16 @@ public class AuctionLotService {
   }
 
   public ClosingSummary close(String username, int auctionLotId) {
-    var auction = getAuctionLot(auctionLotId);
-    if (!auction.getOwner().getUsername().equals(username)) {
-      throw new AccessDeniedException("Only the owner can close");
-    }
-    auction.close();
-    return auction.getClosingSummary();
+    return auctionEngine.execute(new Command.CloseAuctionLot(username, auctionLotId));
+  }
+
+  /**
+   * Closes many lots of a user at once, in parallel, see {@link Command.CloseAuctionLots}. Each
+   * lot gets its own result, in the order of the ids, lots of other users are not closed.
+   */
+  public List<CloseResult> closeAll(String username, List<Integer> auctionLotIds) {
+    return auctionEngine.execute(new Command.CloseAuctionLots(
+        username, List.copyOf(new LinkedHashSet<>(auctionLotIds)), Instant.now()));
   }
 
   public AuctionLot getAuctionLot(int auctionLotId) {
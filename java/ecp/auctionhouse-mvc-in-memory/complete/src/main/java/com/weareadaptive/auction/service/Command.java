@@ -0,0 +1,231 @@
+package com.weareadaptive.auction.service;
+
+import static com.weareadaptive.auction.service.AuctionLotService.AUCTION_LOT_ENTITY;
+import static java.lang.String.format;
+
+import com.weareadaptive.auction.exception.AuctionException;
+import com.weareadaptive.auction.exception.NotFoundException;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.AuctionState;
+import com.weareadaptive.auction.model.BusinessException;
+import com.weareadaptive.auction.model.CloseResult;
+import com.weareadaptive.auction.model.ClosingSummary;
+import com.weareadaptive.auction.model.User;
+import com.weareadaptive.auction.model.UserState;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.security.access.AccessDeniedException;
+
+/**
+ * A change of the users or auction lots. Commands only hold values, so they can be queued to the
+ * engine, journaled and replayed in order; applying one reports the users and lots it changed.
+ */
+public sealed interface Command<R> {
+  R apply(UserState userState, AuctionState auctionState, Changes changes);
+
+  /**
+   * The command to journal once applied, holding what replaying it needs to reach the same
+   * state, such as the time a lot was closed.
+   */
+  default Command<R> journaled(R result) {
+    return this;
+  }
+
+  /**
+   * Collects the users and lots changed by the commands, for the engine to publish them.
+   */
+  interface Changes {
+    Changes NONE = new Changes() {
+      @Override
+      public void userChanged(User user) {
+      }
+
+      @Override
+      public void auctionLotChanged(AuctionLot auctionLot) {
+      }
+    };
+
+    void userChanged(User user);
+
+    void auctionLotChanged(AuctionLot auctionLot);
+  }
+
+  record CreateUser(
+      String username,
+      String password,
+      String firstName,
+      String lastName,
+      String organisation,
+      boolean isAdmin) implements Command<Integer> {
+    @Override
+    public Integer apply(UserState userState, AuctionState auctionState, Changes changes) {
+      var user = new User(
+          userState.nextId(),
+          username,
+          password,
+          firstName,
+          lastName,
+          organisation,
+          isAdmin);
+      userState.add(user);
+      changes.userChanged(user);
+      return user.getId();
+    }
+  }
+
+  record UpdateUser(
+      int userId,
+      String firstName,
+      String lastName,
+      String organisation) implements Command<Boolean> {
+    @Override
+    public Boolean apply(UserState userState, AuctionState auctionState, Changes changes) {
+      var user = userState.get(userId);
+      if (user == null) {
+        return false;
+      }
+
+      user.setFirstName(firstName);
+      userState.setOrganisation(user, organisation);
+      user.setLastName(lastName);
+      changes.userChanged(user);
+      return true;
+    }
+  }
+
+  record BlockUser(int userId, boolean blocked) implements Command<Boolean> {
+    @Override
+    public Boolean apply(UserState userState, AuctionState auctionState, Changes changes) {
+      var user = userState.get(userId);
+      if (user == null) {
+        return false;
+      }
+
+      if (blocked) {
+        user.block();
+      } else {
+        user.unblock();
+      }
+      changes.userChanged(user);
+      return true;
+    }
+  }
+
+  record CreateAuctionLot(
+      String owner,
+      String symbol,
+      double minPrice,
+      int quantity) implements Command<Integer> {
+    @Override
+    public Integer apply(UserState userState, AuctionState auctionState, Changes changes) {
+      var ownerUser = userState.getByUsername(owner)
+          .orElseThrow(() -> new AuctionException(format("Invalid owner %s", owner)));
+
+      var auctionLot = new AuctionLot(
+          auctionState.nextId(),
+          ownerUser,
+          symbol,
+          quantity,
+          minPrice
+      );
+      auctionState.add(auctionLot);
+      changes.auctionLotChanged(auctionLot);
+      return auctionLot.getId();
+    }
+  }
+
+  record PlaceBid(
+      String username,
+      int auctionLotId,
+      int quantity,
+      double price) implements Command<Void> {
+    @Override
+    public Void apply(UserState userState, AuctionState auctionState, Changes changes) {
+      User user = userState.getByUsername(username)
+          .orElseThrow(() -> new IllegalArgumentException("Invalid user"));
+
+      var auction = auctionState.get(auctionLotId);
+      if (auction == null) {
+        throw new NotFoundException(AUCTION_LOT_ENTITY, auctionLotId);
+      }
+      auction.bid(user, quantity, price);
+      changes.auctionLotChanged(auction);
+      return null;
+    }
+  }
+
+  /**
+   * Closes a lot at the given time, or at the time of its clock when none is given.
+   */
+  record CloseAuctionLot(String username, int auctionLotId, Instant closedAt)
+      implements Command<ClosingSummary> {
+    public CloseAuctionLot(String username, int auctionLotId) {
+      this(username, auctionLotId, null);
+    }
+
+    @Override
+    public ClosingSummary apply(UserState userState, AuctionState auctionState,
+                                Changes changes) {
+      var auction = auctionState.get(auctionLotId);
+      if (auction == null) {
+        throw new NotFoundException(AUCTION_LOT_ENTITY, auctionLotId);
+      }
+      if (!auction.getOwner().getUsername().equals(username)) {
+        throw new AccessDeniedException("Only the owner can close");
+      }
+      if (closedAt == null) {
+        auction.close();
+      } else {
+        auction.close(closedAt);
+      }
+      changes.auctionLotChanged(auction);
+      return auction.getClosingSummary();
+    }
+
+    @Override
+    public Command<ClosingSummary> journaled(ClosingSummary result) {
+      return result == null
+          ? this
+          : new CloseAuctionLot(username, auctionLotId, result.closingTime());
+    }
+  }
+
+  /**
+   * Closes the lots of a user among the given ones at the given time. Lots are independent, so
+   * the list is split across the workers of the common fork/join pool by a parallel stream, each
+   * worker closing its own lots; the changes are reported once all of them are closed.
+   */
+  record CloseAuctionLots(String username, List<Integer> auctionLotIds, Instant closedAt)
+      implements Command<List<CloseResult>> {
+    @Override
+    public List<CloseResult> apply(UserState userState, AuctionState auctionState,
+                                   Changes changes) {
+      var results = auctionLotIds.parallelStream()
+          .map(auctionLotId -> close(auctionState, auctionLotId))
+          .toList();
+      for (var result : results) {
+        if (result.status() == CloseResult.Status.CLOSED) {
+          changes.auctionLotChanged(auctionState.get(result.auctionLotId()));
+        }
+      }
+      return results;
+    }
+
+    private CloseResult close(AuctionState auctionState, int auctionLotId) {
+      var auction = auctionState.get(auctionLotId);
+      if (auction == null) {
+        return CloseResult.of(auctionLotId, CloseResult.Status.NOT_FOUND);
+      }
+      if (!auction.getOwner().getUsername().equals(username)) {
+        return CloseResult.of(auctionLotId, CloseResult.Status.FORBIDDEN);
+      }
+      try {
+        auction.close(closedAt);
+      } catch (BusinessException exception) {
+        return CloseResult.of(auctionLotId, CloseResult.Status.ALREADY_CLOSED);
+      }
+      return new CloseResult(auctionLotId, CloseResult.Status.CLOSED,
+          auction.getClosingSummary());
+    }
+  }
+}
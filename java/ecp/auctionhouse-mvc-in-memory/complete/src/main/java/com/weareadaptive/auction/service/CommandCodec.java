@@ -0,0 +1,147 @@
+package com.weareadaptive.auction.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Binary encoding of the commands in the journal: a type byte followed by the fields of the
+ * command. Strings are written as their UTF-8 length and bytes, a length of -1 standing for null.
+ */
+final class CommandCodec {
+  private static final byte CREATE_USER = 1;
+  private static final byte UPDATE_USER = 2;
+  private static final byte BLOCK_USER = 3;
+  private static final byte CREATE_AUCTION_LOT = 4;
+  private static final byte PLACE_BID = 5;
+  private static final byte CLOSE_AUCTION_LOT = 6;
+  private static final byte CLOSE_AUCTION_LOTS = 7;
+
+  private CommandCodec() {
+  }
+
+  /**
+   * Writes the command at the position of the buffer, throws a
+   * {@link java.nio.BufferOverflowException} when it does not fit.
+   */
+  static void encode(Command<?> command, ByteBuffer buffer) {
+    if (command instanceof Command.CreateUser createUser) {
+      buffer.put(CREATE_USER);
+      putString(buffer, createUser.username());
+      putString(buffer, createUser.password());
+      putString(buffer, createUser.firstName());
+      putString(buffer, createUser.lastName());
+      putString(buffer, createUser.organisation());
+      buffer.put((byte) (createUser.isAdmin() ? 1 : 0));
+    } else if (command instanceof Command.UpdateUser updateUser) {
+      buffer.put(UPDATE_USER);
+      buffer.putInt(updateUser.userId());
+      putString(buffer, updateUser.firstName());
+      putString(buffer, updateUser.lastName());
+      putString(buffer, updateUser.organisation());
+    } else if (command instanceof Command.BlockUser blockUser) {
+      buffer.put(BLOCK_USER);
+      buffer.putInt(blockUser.userId());
+      buffer.put((byte) (blockUser.blocked() ? 1 : 0));
+    } else if (command instanceof Command.CreateAuctionLot createAuctionLot) {
+      buffer.put(CREATE_AUCTION_LOT);
+      putString(buffer, createAuctionLot.owner());
+      putString(buffer, createAuctionLot.symbol());
+      buffer.putDouble(createAuctionLot.minPrice());
+      buffer.putInt(createAuctionLot.quantity());
+    } else if (command instanceof Command.PlaceBid placeBid) {
+      buffer.put(PLACE_BID);
+      putString(buffer, placeBid.username());
+      buffer.putInt(placeBid.auctionLotId());
+      buffer.putInt(placeBid.quantity());
+      buffer.putDouble(placeBid.price());
+    } else if (command instanceof Command.CloseAuctionLot closeAuctionLot) {
+      buffer.put(CLOSE_AUCTION_LOT);
+      putString(buffer, closeAuctionLot.username());
+      buffer.putInt(closeAuctionLot.auctionLotId());
+      var closedAt = closeAuctionLot.closedAt();
+      buffer.put((byte) (closedAt != null ? 1 : 0));
+      if (closedAt != null) {
+        buffer.putLong(closedAt.getEpochSecond());
+        buffer.putInt(closedAt.getNano());
+      }
+    } else if (command instanceof Command.CloseAuctionLots closeAuctionLots) {
+      buffer.put(CLOSE_AUCTION_LOTS);
+      putString(buffer, closeAuctionLots.username());
+      buffer.putInt(closeAuctionLots.auctionLotIds().size());
+      closeAuctionLots.auctionLotIds().forEach(buffer::putInt);
+      buffer.putLong(closeAuctionLots.closedAt().getEpochSecond());
+      buffer.putInt(closeAuctionLots.closedAt().getNano());
+    } else {
+      throw new IllegalArgumentException("Unknown command " + command);
+    }
+  }
+
+  static Command<?> decode(ByteBuffer buffer) {
+    var type = buffer.get();
+    return switch (type) {
+      case CREATE_USER -> new Command.CreateUser(
+          getString(buffer),
+          getString(buffer),
+          getString(buffer),
+          getString(buffer),
+          getString(buffer),
+          buffer.get() == 1);
+      case UPDATE_USER -> new Command.UpdateUser(
+          buffer.getInt(),
+          getString(buffer),
+          getString(buffer),
+          getString(buffer));
+      case BLOCK_USER -> new Command.BlockUser(buffer.getInt(), buffer.get() == 1);
+      case CREATE_AUCTION_LOT -> new Command.CreateAuctionLot(
+          getString(buffer),
+          getString(buffer),
+          buffer.getDouble(),
+          buffer.getInt());
+      case PLACE_BID -> new Command.PlaceBid(
+          getString(buffer),
+          buffer.getInt(),
+          buffer.getInt(),
+          buffer.getDouble());
+      case CLOSE_AUCTION_LOT -> new Command.CloseAuctionLot(
+          getString(buffer),
+          buffer.getInt(),
+          buffer.get() == 1 ? Instant.ofEpochSecond(buffer.getLong(), buffer.getInt()) : null);
+      case CLOSE_AUCTION_LOTS -> new Command.CloseAuctionLots(
+          getString(buffer),
+          getInts(buffer),
+          Instant.ofEpochSecond(buffer.getLong(), buffer.getInt()));
+      default -> throw new IllegalArgumentException("Unknown command type " + type);
+    };
+  }
+
+  private static void putString(ByteBuffer buffer, String value) {
+    if (value == null) {
+      buffer.putInt(-1);
+      return;
+    }
+    var bytes = value.getBytes(UTF_8);
+    buffer.putInt(bytes.length);
+    buffer.put(bytes);
+  }
+
+  private static List<Integer> getInts(ByteBuffer buffer) {
+    var values = new Integer[buffer.getInt()];
+    for (var i = 0; i < values.length; i++) {
+      values[i] = buffer.getInt();
+    }
+    return List.of(values);
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    var length = buffer.getInt();
+    if (length < 0) {
+      return null;
+    }
+    var bytes = new byte[length];
+    buffer.get(bytes);
+    return new String(bytes, UTF_8);
+  }
+}
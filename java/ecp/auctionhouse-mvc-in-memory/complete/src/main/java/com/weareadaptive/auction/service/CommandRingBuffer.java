@@ -0,0 +1,77 @@
+package com.weareadaptive.auction.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded queue for many producers and a single consumer, without locks. A producer claims the
+ * next position with a compare-and-set on the tail, writes its element to the slot and then
+ * advances the sequence of the slot, which is what the consumer waits for before reading it. The
+ * consumer hands the slot back by moving its sequence one lap ahead.
+ */
+final class CommandRingBuffer<E> {
+  private final Object[] elements;
+  private final AtomicLongArray sequences;
+  private final AtomicLong tail;
+  private final int mask;
+  private long head;
+
+  CommandRingBuffer(int capacity) {
+    if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("capacity must be a power of 2");
+    }
+    elements = new Object[capacity];
+    sequences = new AtomicLongArray(capacity);
+    for (var i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+    tail = new AtomicLong();
+    mask = capacity - 1;
+  }
+
+  /**
+   * Adds an element, returns false when the buffer is full.
+   */
+  boolean offer(E element) {
+    var position = tail.get();
+    while (true) {
+      var index = (int) (position & mask);
+      var lag = sequences.get(index) - position;
+      if (lag == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          elements[index] = element;
+          sequences.set(index, position + 1);
+          return true;
+        }
+        position = tail.get();
+      } else if (lag < 0) {
+        return false;
+      } else {
+        position = tail.get();
+      }
+    }
+  }
+
+  /**
+   * Takes the next element, or returns null when there is none yet. Consumer thread only.
+   */
+  @SuppressWarnings("unchecked")
+  E poll() {
+    var index = (int) (head & mask);
+    if (sequences.get(index) != head + 1) {
+      return null;
+    }
+    var element = (E) elements[index];
+    elements[index] = null;
+    sequences.lazySet(index, head + elements.length);
+    head++;
+    return element;
+  }
+
+  /**
+   * Consumer thread only.
+   */
+  boolean isEmpty() {
+    return sequences.get((int) (head & mask)) != head + 1;
+  }
+}
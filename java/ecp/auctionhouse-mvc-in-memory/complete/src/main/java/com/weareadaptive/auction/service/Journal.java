@@ -0,0 +1,206 @@
+package com.weareadaptive.auction.service;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import com.weareadaptive.auction.model.AuctionState;
+import com.weareadaptive.auction.model.StateSnapshot;
+import com.weareadaptive.auction.model.UserState;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Keeps the state of the engine across restarts. Every command the engine applies is appended to
+ * a memory-mapped journal, and a binary snapshot of the state is written every
+ * {@code snapshot-interval} commands, after which the journal segments it covers are deleted. On
+ * start the latest snapshot is loaded and the journal entries following it are replayed.
+ *
+ * <p>Entries are forced to disk after every batch of commands with the {@code ALWAYS} fsync
+ * policy, at most once per {@code fsync-interval} with {@code INTERVAL}, and left to the
+ * operating system with {@code NEVER}, which survives the process crashing but not the machine.
+ * The engine answers the commands of a batch after this, so with {@code ALWAYS} an answered
+ * command is on disk.
+ */
+@Component
+public class Journal {
+  private static final String SNAPSHOT_PREFIX = "snapshot-";
+  private static final String SNAPSHOT_SUFFIX = ".bin";
+
+  private final boolean enabled;
+  private final Path directory;
+  private final int segmentSize;
+  private final FsyncPolicy fsync;
+  private final long fsyncIntervalNanos;
+  private final long snapshotInterval;
+  private JournalFile journalFile;
+  private long lastForce;
+  private long commandsSinceSnapshot;
+
+  public Journal(
+      @Value("${auction.journal.enabled}") boolean enabled,
+      @Value("${auction.journal.directory}") Path directory,
+      @Value("${auction.journal.segment-size}") DataSize segmentSize,
+      @Value("${auction.journal.fsync}") FsyncPolicy fsync,
+      @Value("${auction.journal.fsync-interval}") Duration fsyncInterval,
+      @Value("${auction.journal.snapshot-interval}") long snapshotInterval) {
+    if (snapshotInterval < 1) {
+      throw new IllegalArgumentException("snapshot-interval must be above 0");
+    }
+    this.enabled = enabled;
+    this.directory = directory;
+    this.segmentSize = Math.toIntExact(segmentSize.toBytes());
+    this.fsync = fsync;
+    this.fsyncIntervalNanos = fsyncInterval.toNanos();
+    this.snapshotInterval = snapshotInterval;
+  }
+
+  public static Journal disabled() {
+    return new Journal(false, null, DataSize.ofBytes(Integer.MAX_VALUE), FsyncPolicy.NEVER,
+        Duration.ZERO, Long.MAX_VALUE);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Loads the latest snapshot into the empty states and replays the journal entries following
+   * it, then opens the journal for appending.
+   */
+  void recover(UserState userState, AuctionState auctionState) {
+    try {
+      Files.createDirectories(directory);
+      var snapshotSequence = 0L;
+      var snapshot = latestSnapshot();
+      if (snapshot.isPresent()) {
+        try (var input = new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(snapshot.get())))) {
+          snapshotSequence = StateSnapshot.read(input, userState, auctionState);
+        }
+      }
+
+      journalFile = new JournalFile(directory, segmentSize);
+      var lastSequence = journalFile.open(snapshotSequence,
+          payload -> replay(CommandCodec.decode(payload), userState, auctionState));
+      commandsSinceSnapshot = lastSequence - snapshotSequence;
+      lastForce = System.nanoTime();
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Cannot recover from the journal", exception);
+    }
+  }
+
+  void append(Command<?> command) {
+    if (!enabled) {
+      return;
+    }
+    journalFile.append(command);
+    commandsSinceSnapshot++;
+  }
+
+  /**
+   * Forces the entries of the batch just applied to disk as the fsync policy requires, and
+   * snapshots the state when it is due.
+   */
+  void commit(UserState userState, AuctionState auctionState) {
+    if (!enabled) {
+      return;
+    }
+    if (fsync == FsyncPolicy.ALWAYS
+        || fsync == FsyncPolicy.INTERVAL && System.nanoTime() - lastForce >= fsyncIntervalNanos) {
+      journalFile.force();
+      lastForce = System.nanoTime();
+    }
+    if (commandsSinceSnapshot >= snapshotInterval) {
+      snapshot(userState, auctionState);
+    }
+  }
+
+  void close() {
+    if (journalFile == null) {
+      return;
+    }
+    try {
+      journalFile.close();
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Cannot close the journal", exception);
+    }
+  }
+
+  private void snapshot(UserState userState, AuctionState auctionState) {
+    var sequence = journalFile.lastSequence();
+    var target = directory.resolve(
+        format("%s%020d%s", SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+    var temporary = target.resolveSibling(target.getFileName() + ".tmp");
+    try {
+      journalFile.force();
+      try (var channel = FileChannel.open(temporary, CREATE, TRUNCATE_EXISTING, WRITE)) {
+        var output = new DataOutputStream(
+            new BufferedOutputStream(Channels.newOutputStream(channel)));
+        StateSnapshot.write(userState, auctionState, sequence, output);
+        output.flush();
+        channel.force(true);
+      }
+      Files.move(temporary, target, ATOMIC_MOVE);
+
+      for (var previous : snapshots()) {
+        if (!previous.equals(target)) {
+          Files.delete(previous);
+        }
+      }
+      journalFile.deleteUpTo(sequence);
+      commandsSinceSnapshot = 0;
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Cannot write a snapshot", exception);
+    }
+  }
+
+  private Optional<Path> latestSnapshot() throws IOException {
+    var snapshots = snapshots();
+    return snapshots.isEmpty()
+        ? Optional.empty()
+        : Optional.of(snapshots.get(snapshots.size() - 1));
+  }
+
+  private List<Path> snapshots() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(path -> path.getFileName().toString().startsWith(SNAPSHOT_PREFIX)
+              && path.getFileName().toString().endsWith(SNAPSHOT_SUFFIX))
+          .sorted()
+          .toList();
+    }
+  }
+
+  private static void replay(Command<?> command, UserState userState,
+                             AuctionState auctionState) {
+    try {
+      command.apply(userState, auctionState, Command.Changes.NONE);
+    } catch (RuntimeException exception) {
+      // rejected the same way when it was first applied
+    }
+  }
+
+  public enum FsyncPolicy {
+    ALWAYS,
+    INTERVAL,
+    NEVER
+  }
+}
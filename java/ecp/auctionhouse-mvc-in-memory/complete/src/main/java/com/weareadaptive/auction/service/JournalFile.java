@@ -0,0 +1,226 @@
+package com.weareadaptive.auction.service;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of encoded commands, in memory-mapped segment files named after the
+ * sequence of their first entry. An entry is the length of its payload, a CRC32 of the payload,
+ * its sequence and the payload; a zero length marks the end of the written part of a segment.
+ * A segment is forced to disk before the next one is started, so only the last segment can end
+ * with a torn entry: reading stops at the first entry that is incomplete, corrupt or out of
+ * sequence, and writing resumes from there.
+ */
+final class JournalFile implements Closeable {
+  private static final int HEADER_LENGTH = 16;
+  private static final String PREFIX = "journal-";
+  private static final String SUFFIX = ".log";
+
+  private final Path directory;
+  private final int segmentSize;
+  private final CRC32 crc;
+  private FileChannel channel;
+  private MappedByteBuffer segment;
+  private long lastSequence;
+  private int unforcedFrom;
+
+  JournalFile(Path directory, int segmentSize) {
+    if (segmentSize <= HEADER_LENGTH) {
+      throw new IllegalArgumentException("segment-size is too small");
+    }
+    this.directory = directory;
+    this.segmentSize = segmentSize;
+    crc = new CRC32();
+  }
+
+  /**
+   * Passes the payload of the entries following the given sequence to the consumer, then
+   * positions the journal after the last valid entry. Returns the sequence of the last entry.
+   */
+  long open(long afterSequence, Consumer<ByteBuffer> consumer) throws IOException {
+    var segments = segments();
+    lastSequence = afterSequence;
+    var writePosition = -1;
+    var torn = false;
+
+    for (var i = 0; i < segments.size(); i++) {
+      var path = segments.get(i);
+      var expected = firstSequence(path);
+      if (expected > lastSequence + 1) {
+        throw new IOException(format("Journal entries missing before sequence %d", expected));
+      }
+
+      map(path, Math.max(Files.size(path), segmentSize));
+      var position = 0;
+      while (true) {
+        var length = entryLength(position);
+        if (length == 0) {
+          break;
+        }
+        if (length < 0 || !isValid(position, length, expected)) {
+          if (i < segments.size() - 1) {
+            throw new IOException(format("Corrupt journal entry %d in %s", expected, path));
+          }
+          torn = true;
+          break;
+        }
+        if (expected > afterSequence) {
+          consumer.accept(segment.slice(position + HEADER_LENGTH, length));
+          lastSequence = expected;
+        }
+        expected++;
+        position += HEADER_LENGTH + length;
+      }
+      writePosition = expected == lastSequence + 1 ? position : -1;
+    }
+
+    if (writePosition < 0) {
+      roll(lastSequence + 1);
+    } else {
+      if (torn) {
+        for (var i = writePosition; i < segment.capacity(); i++) {
+          segment.put(i, (byte) 0);
+        }
+      }
+      segment.position(writePosition);
+      unforcedFrom = writePosition;
+    }
+    return lastSequence;
+  }
+
+  long lastSequence() {
+    return lastSequence;
+  }
+
+  long append(Command<?> command) {
+    var sequence = lastSequence + 1;
+    try {
+      write(sequence, command);
+    } catch (BufferOverflowException exception) {
+      roll(sequence);
+      try {
+        write(sequence, command);
+      } catch (BufferOverflowException tooLarge) {
+        throw new IllegalArgumentException("Command larger than a journal segment", tooLarge);
+      }
+    }
+    lastSequence = sequence;
+    return sequence;
+  }
+
+  /**
+   * Forces the entries appended since the last call to disk.
+   */
+  void force() {
+    var position = segment.position();
+    if (position > unforcedFrom) {
+      segment.force(unforcedFrom, position - unforcedFrom);
+      unforcedFrom = position;
+    }
+  }
+
+  /**
+   * Deletes the segments only holding entries up to the given sequence.
+   */
+  void deleteUpTo(long sequence) throws IOException {
+    var segments = segments();
+    for (var i = 0; i < segments.size() - 1; i++) {
+      if (firstSequence(segments.get(i + 1)) <= sequence + 1) {
+        Files.delete(segments.get(i));
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (channel != null) {
+      force();
+      channel.close();
+    }
+  }
+
+  private void write(long sequence, Command<?> command) {
+    var start = segment.position();
+    if (segment.remaining() < HEADER_LENGTH) {
+      throw new BufferOverflowException();
+    }
+    segment.position(start + HEADER_LENGTH);
+    CommandCodec.encode(command, segment);
+
+    var length = segment.position() - start - HEADER_LENGTH;
+    crc.reset();
+    crc.update(segment.slice(start + HEADER_LENGTH, length));
+    segment.putInt(start + 4, (int) crc.getValue());
+    segment.putLong(start + 8, sequence);
+    segment.putInt(start, length);
+  }
+
+  private int entryLength(int position) {
+    if (position + HEADER_LENGTH > segment.capacity()) {
+      return 0;
+    }
+    return segment.getInt(position);
+  }
+
+  private boolean isValid(int position, int length, long expectedSequence) {
+    if (position + HEADER_LENGTH + length > segment.capacity()
+        || segment.getLong(position + 8) != expectedSequence) {
+      return false;
+    }
+    crc.reset();
+    crc.update(segment.slice(position + HEADER_LENGTH, length));
+    return segment.getInt(position + 4) == (int) crc.getValue();
+  }
+
+  private void roll(long firstSequence) {
+    try {
+      if (channel != null) {
+        force();
+        channel.close();
+      }
+      map(directory.resolve(format("%s%020d%s", PREFIX, firstSequence, SUFFIX)), segmentSize);
+      unforcedFrom = 0;
+    } catch (IOException exception) {
+      throw new UncheckedIOException("Cannot start a journal segment", exception);
+    }
+  }
+
+  private void map(Path path, long size) throws IOException {
+    if (channel != null) {
+      channel.close();
+    }
+    channel = FileChannel.open(path, CREATE, READ, WRITE);
+    segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+  }
+
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(path -> path.getFileName().toString().startsWith(PREFIX)
+              && path.getFileName().toString().endsWith(SUFFIX))
+          .sorted()
+          .toList();
+    }
+  }
+
+  private static long firstSequence(Path segment) {
+    var name = segment.getFileName().toString();
+    return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+  }
+}
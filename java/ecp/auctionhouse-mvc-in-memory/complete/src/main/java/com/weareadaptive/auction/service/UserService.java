@@ -11,22 +11,23 @@ import org.springframework.stereotype.Service;
 @Service
 public class UserService {
   private final UserState userState;
+  private final AuctionEngine auctionEngine;
 
-  public UserService(UserState userState) {
+  public UserService(UserState userState, AuctionEngine auctionEngine) {
     this.userState = userState;
+    this.auctionEngine = auctionEngine;
   }
 
   public User create(String username, String password, String firstName, String lastName,
                      String organisation) {
-    User user = new User(
-        userState.nextId(),
+    var userId = auctionEngine.execute(new Command.CreateUser(
         username,
         password,
         firstName,
         lastName,
-        organisation);
-    userState.add(user);
-    return user;
+        organisation,
+        false));
+    return userState.get(userId);
   }
 
   public Optional<User> getUser(int id) {
@@ -34,16 +35,17 @@ public class UserService {
   }
 
   public Optional<User> updateUser(int id, String firstName, String lastName, String organisation) {
-    var user = userState.get(id);
-
-    if (user == null) {
+    if (!auctionEngine.execute(new Command.UpdateUser(id, firstName, lastName, organisation))) {
       return Optional.empty();
     }
+    return getUser(id);
+  }
 
-    user.setFirstName(firstName);
-    user.setOrganisation(organisation);
-    user.setLastName(lastName);
-    return Optional.of(user);
+  /**
+   * Blocks or unblocks a user, returns false when there is no such user.
+   */
+  public boolean setBlocked(int id, boolean blocked) {
+    return auctionEngine.execute(new Command.BlockUser(id, blocked));
   }
 
   public Stream<User> getAll() {
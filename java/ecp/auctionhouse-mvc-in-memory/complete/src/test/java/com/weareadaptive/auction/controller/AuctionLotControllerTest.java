@@ -7,6 +7,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
@@ -141,6 +142,87 @@ public class AuctionLotControllerTest {
     assertThat(bid.getPrice(), equalTo(bidRequest.price()));
   }
 
+  @DisplayName("bid should keep a price of 4 decimals unchanged")
+  @Test
+  public void shouldKeepBidPriceOfFourDecimals() {
+    var newAuction = testData.createAuctionLot(
+        testData.user2(),
+        TestData.Stock.META,
+        10000, 1
+    );
+    var bidRequest = new BidRequest(
+        25,
+        1.2345
+    );
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .pathParams("id", newAuction.getId())
+      .contentType(ContentType.JSON)
+      .body(bidRequest)
+    .when()
+      .post("/auction-lots/{id}/bid")
+    .then()
+      .statusCode(NO_CONTENT.value());
+    //@formatter:on
+
+    var bids = auctionLotService.getAuctionLotBids(newAuction.getId()).toList();
+    assertThat(bids.get(0).getPrice(), equalTo(bidRequest.price()));
+  }
+
+  @DisplayName("bid should return bad request when the price has more than 4 decimals")
+  @Test
+  public void shouldReturnBadRequestWhenBidPriceHasMoreThanFourDecimals() {
+    var newAuction = testData.createAuctionLot(
+        testData.user2(),
+        TestData.Stock.META,
+        10000, 1
+    );
+    var bidRequest = new BidRequest(
+        25,
+        1.00001
+    );
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .pathParams("id", newAuction.getId())
+      .contentType(ContentType.JSON)
+      .body(bidRequest)
+    .when()
+      .post("/auction-lots/{id}/bid")
+    .then()
+      .statusCode(HttpStatus.BAD_REQUEST.value());
+    //@formatter:on
+
+    assertThat(auctionLotService.getAuctionLotBids(newAuction.getId()).toList(), hasSize(0));
+  }
+
+  @DisplayName("create should return bad request when the min price has more than 4 decimals")
+  @Test
+  public void shouldReturnBadRequestWhenMinPriceHasMoreThanFourDecimals() {
+    var createAuction = new CreateAuctionLotRequest(
+        "AAPL",
+        1.00001,
+        100
+    );
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .contentType(ContentType.JSON)
+      .body(createAuction)
+    .when()
+      .post("/auction-lots")
+    .then()
+      .statusCode(HttpStatus.BAD_REQUEST.value());
+    //@formatter:on
+  }
+
   @DisplayName("getAuctionBids should return all the bids of an auction")
   @Test
   public void shouldReturnAllAuctionBids() {
@@ -312,6 +394,52 @@ public class AuctionLotControllerTest {
     //@formatter:on
   }
 
+  @DisplayName("getAll should filter auctions by owner and status")
+  @Test
+  public void shouldFilterAuctionsByOwnerAndStatus() {
+    var owner = testData.createRandomUser();
+    var openAuction = testData.createAuctionLot(owner, TestData.Stock.APPLE, 10, 1);
+    var closedAuction = testData.createAuctionLot(owner, TestData.Stock.META, 10, 1);
+    auctionLotService.close(owner.getUsername(), closedAuction.getId());
+    testData.createAuctionLot(testData.user1(), TestData.Stock.APPLE, 10, 1);
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .queryParam("owner", owner.getUsername())
+    .when()
+      .get("/auction-lots")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body("size()", equalTo(2));
+
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .queryParam("owner", owner.getUsername())
+      .queryParam("status", "OPENED")
+    .when()
+      .get("/auction-lots")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body("size()", equalTo(1))
+      .body("[0].id", equalTo(openAuction.getId()));
+
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .queryParam("status", "CLOSED")
+    .when()
+      .get("/auction-lots")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body(format("find { it.id == %s }.symbol", closedAuction.getId()),
+          equalTo(closedAuction.getSymbol()))
+      .body(format("find { it.id == %s }", openAuction.getId()), nullValue());
+    //@formatter:on
+  }
+
   @DisplayName("get should return not found when auction is not found")
   @Test
   public void shouldReturnNotFoundWhenAuctionDoesntExist() {
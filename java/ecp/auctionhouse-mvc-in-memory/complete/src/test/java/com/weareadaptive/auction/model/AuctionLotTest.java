@@ -0,0 +1,98 @@
+package com.weareadaptive.auction.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.comparesEqualTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class AuctionLotTest {
+  private final User owner = new User(1, "owner", "password", "first", "last", "organisation");
+  private final User alice = new User(2, "alice", "password", "first", "last", "organisation");
+  private final User bob = new User(3, "bob", "password", "first", "last", "organisation");
+
+  @DisplayName("close should record the won and lost bids of each bidder")
+  @Test
+  public void shouldRecordBidOutcomesOnClose() {
+    var auctionLot = new AuctionLot(1, owner, "AAPL", 10, 1);
+    auctionLot.bid(alice, 5, 3);
+    auctionLot.bid(bob, 8, 2);
+    auctionLot.bid(alice, 4, 1.5);
+    auctionLot.bid(bob, 1, 1);
+
+    assertThrows(BusinessException.class, () -> auctionLot.getLostBids(alice));
+
+    auctionLot.close();
+
+    assertThat(auctionLot.getWonBids(alice).stream().map(WinningBid::quantity).toList(),
+        equalTo(List.of(5)));
+    assertThat(auctionLot.getWonBids(bob).stream().map(WinningBid::quantity).toList(),
+        equalTo(List.of(5)));
+    assertThat(auctionLot.getLostBids(alice).stream().map(Bid::getQuantity).toList(),
+        equalTo(List.of(4)));
+    assertThat(auctionLot.getLostBids(bob).stream().map(Bid::getQuantity).toList(),
+        equalTo(List.of(1)));
+    assertThat(auctionLot.getWonBids(owner), equalTo(List.of()));
+  }
+
+  @DisplayName("close should fill the best price first, then the larger and the earlier bid")
+  @Test
+  public void shouldRankBidsByPriceQuantityAndPlacement() {
+    var auctionLot = new AuctionLot(1, owner, "AAPL", 7, 1);
+    auctionLot.bid(alice, 2, 2);
+    auctionLot.bid(bob, 3, 2);
+    auctionLot.bid(bob, 2, 2);
+    auctionLot.bid(alice, 1, 5);
+    var open = auctionLot.snapshot();
+
+    auctionLot.close();
+
+    assertThat(auctionLot.getClosingSummary().winningBids().stream()
+            .map(winningBid -> winningBid.originalBid().getQuantity()).toList(),
+        equalTo(List.of(1, 3, 2, 2)));
+    assertThat(auctionLot.getBids().stream().map(Bid::getWinQuantity).toList(),
+        equalTo(List.of(2, 3, 1, 1)));
+    assertThat(open.getBids().stream().map(Bid::getState).toList(),
+        equalTo(List.of(Bid.State.PENDING, Bid.State.PENDING, Bid.State.PENDING,
+            Bid.State.PENDING)));
+  }
+
+  @DisplayName("close should total the revenue exactly where doubles would round")
+  @Test
+  public void shouldTotalRevenueExactly() {
+    var auctionLot = new AuctionLot(1, owner, "AAPL", 3, 1);
+    // 1.1 + 1.1 + 1.1 is 3.3000000000000003 as a double
+    auctionLot.bid(alice, 1, 1.1);
+    auctionLot.bid(bob, 1, 1.1);
+    auctionLot.bid(alice, 1, 1.1);
+
+    auctionLot.close();
+
+    assertThat(auctionLot.getClosingSummary().totalRevenue(),
+        comparesEqualTo(new BigDecimal("3.3")));
+  }
+
+  @DisplayName("snapshot should keep the bids placed so far without the later ones")
+  @Test
+  public void shouldNotSeeBidsPlacedAfterTheSnapshot() {
+    var auctionLot = new AuctionLot(1, owner, "AAPL", 7, 1);
+    auctionLot.bid(alice, 1, 2);
+    auctionLot.bid(alice, 2, 2);
+    var snapshot = auctionLot.snapshot();
+
+    // Written past the snapshot in the shared columns first, then in grown ones
+    for (var i = 0; i < 10; i++) {
+      auctionLot.bid(bob, 3, 4);
+    }
+
+    assertThat(snapshot.getBids().stream().map(Bid::getQuantity).toList(),
+        equalTo(List.of(1, 2)));
+    assertThat(snapshot.getBids().stream().map(Bid::getUser).distinct().toList(),
+        equalTo(List.of(alice)));
+    assertThat(auctionLot.getBids().size(), equalTo(12));
+  }
+}
@@ -0,0 +1,136 @@
+package com.weareadaptive.auction.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+public class AuctionStateConcurrencyTest {
+  private static final int THREADS = 16;
+  private static final int BIDS_PER_THREAD = 2_000;
+  private ExecutorService executor;
+  private AuctionState auctionState;
+  private List<User> bidders;
+  private User owner;
+
+  @BeforeEach
+  public void createState() {
+    executor = Executors.newFixedThreadPool(THREADS);
+    auctionState = new AuctionState();
+    owner = new User(0, "owner", "password", "first", "last", "organisation");
+    bidders = new ArrayList<>();
+    for (var i = 1; i <= THREADS; i++) {
+      bidders.add(new User(i, "bidder" + i, "password", "first", "last", "organisation"));
+    }
+  }
+
+  @AfterEach
+  public void stopExecutor() {
+    executor.shutdownNow();
+  }
+
+  @DisplayName("nextId and add should never hand out or accept the same id twice")
+  @Test
+  public void shouldAllocateUniqueIds() throws Exception {
+    var ids = ConcurrentHashMap.<Integer>newKeySet();
+
+    runConcurrently(thread -> {
+      for (var i = 0; i < BIDS_PER_THREAD; i++) {
+        var auctionLot = new AuctionLot(auctionState.nextId(), owner, "AAPL", 10, 1);
+        auctionState.add(auctionLot);
+        ids.add(auctionLot.getId());
+      }
+    });
+
+    assertThat(ids.size(), equalTo(THREADS * BIDS_PER_THREAD));
+    assertThat(auctionState.findByOwner(owner.getUsername()).size(),
+        equalTo(THREADS * BIDS_PER_THREAD));
+  }
+
+  @DisplayName("bid should not lose any bid placed concurrently on the same lot")
+  @Test
+  public void shouldKeepEveryConcurrentBid() throws Exception {
+    var auctionLot = new AuctionLot(auctionState.nextId(), owner, "AAPL", 10, 1);
+    auctionState.add(auctionLot);
+
+    runConcurrently(thread -> {
+      for (var i = 0; i < BIDS_PER_THREAD; i++) {
+        auctionLot.bid(bidders.get(thread), 1, 2);
+      }
+    });
+
+    assertThat(auctionLot.getBids().size(), equalTo(THREADS * BIDS_PER_THREAD));
+    for (var bidder : bidders) {
+      assertThat(auctionState.findBids(bidder.getUsername()).size(), equalTo(BIDS_PER_THREAD));
+    }
+  }
+
+  @DisplayName("close should settle every bid accepted before it, and reject the ones after")
+  @RepeatedTest(10)
+  public void shouldSettleEveryBidAcceptedBeforeClosing() throws Exception {
+    var auctionLot = new AuctionLot(auctionState.nextId(), owner, "AAPL", 1_000, 1);
+    auctionState.add(auctionLot);
+    var acceptedBids = new AtomicInteger();
+    var rejectedBids = new AtomicInteger();
+
+    runConcurrently(thread -> {
+      if (thread == 0) {
+        Thread.sleep(1);
+        auctionLot.close();
+        return;
+      }
+      for (var i = 0; i < BIDS_PER_THREAD; i++) {
+        try {
+          auctionLot.bid(bidders.get(thread), 1, 2);
+          acceptedBids.incrementAndGet();
+        } catch (BusinessException exception) {
+          rejectedBids.incrementAndGet();
+        }
+      }
+    });
+
+    var bids = auctionLot.getBids();
+    var closingSummary = auctionLot.getClosingSummary();
+    assertThat(bids.size(), equalTo(acceptedBids.get()));
+    assertThat(acceptedBids.get() + rejectedBids.get(), equalTo((THREADS - 1) * BIDS_PER_THREAD));
+    assertThat(bids.stream().filter(b -> b.getState() == Bid.State.PENDING).count(), equalTo(0L));
+    assertThat(closingSummary.winningBids().size(), equalTo(Math.min(bids.size(), 1_000)));
+    assertThat(auctionState.findByStatus(AuctionLot.Status.CLOSED), equalTo(List.of(auctionLot)));
+    assertThat(Set.copyOf(auctionState.findByStatus(AuctionLot.Status.OPENED)), equalTo(Set.of()));
+  }
+
+  private void runConcurrently(Task task) throws Exception {
+    var start = new CountDownLatch(1);
+    var futures = new ArrayList<Future<Void>>();
+    for (var i = 0; i < THREADS; i++) {
+      var thread = i;
+      futures.add(executor.submit((Callable<Void>) () -> {
+        start.await();
+        task.run(thread);
+        return null;
+      }));
+    }
+    start.countDown();
+    for (var future : futures) {
+      future.get();
+    }
+  }
+
+  private interface Task {
+    void run(int thread) throws Exception;
+  }
+}
@@ -0,0 +1,38 @@
+package com.weareadaptive.auction.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class UserStateTest {
+  @DisplayName("organisations should follow the users added, moved and published")
+  @Test
+  public void shouldKeepOrganisationsUpToDate() {
+    var userState = new UserState();
+    var admin = new User(1, "admin", "password", "first", "last", "Adaptive", true);
+    var alice = new User(2, "alice", "password", "first", "last", "Acme");
+    var bob = new User(3, "bob", "password", "first", "last", "Globex");
+    userState.add(admin);
+    userState.add(alice);
+    userState.add(bob);
+
+    assertThat(userState.findOrganisations(), equalTo(List.of("Acme", "Globex")));
+
+    userState.setOrganisation(bob, "Acme");
+
+    assertThat(userState.findOrganisations(), equalTo(List.of("Acme")));
+    assertThat(userState.getOrganisationsDetails().get(0).users().size(), equalTo(2));
+
+    var published = new UserState();
+    published.publish(alice.snapshot());
+    var moved = alice.snapshot();
+    moved.setOrganisation("Initech");
+    published.publish(moved);
+
+    assertThat(published.getOrganisationsDetails(),
+        equalTo(List.of(new OrganisationDetails("Initech", List.of(moved)))));
+  }
+}
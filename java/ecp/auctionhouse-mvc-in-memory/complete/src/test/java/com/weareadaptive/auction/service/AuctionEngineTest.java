@@ -0,0 +1,178 @@
+package com.weareadaptive.auction.service;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.weareadaptive.auction.exception.NotFoundException;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.AuctionState;
+import com.weareadaptive.auction.model.BusinessException;
+import com.weareadaptive.auction.model.CloseResult;
+import com.weareadaptive.auction.model.UserState;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+
+public class AuctionEngineTest {
+  private static final int BIDDERS = 16;
+  private static final int BIDS_PER_BIDDER = 500;
+  private UserState userState;
+  private AuctionState auctionState;
+  private AuctionEngine auctionEngine;
+  private UserService userService;
+  private AuctionLotService auctionLotService;
+
+  @BeforeEach
+  public void startEngine() {
+    userState = new UserState();
+    auctionState = new AuctionState();
+    auctionEngine = new AuctionEngine(userState, auctionState, true, 64, 16);
+    userService = new UserService(userState, auctionEngine);
+    auctionLotService = new AuctionLotService(auctionState, auctionEngine);
+    userService.create("owner", "password", "first", "last", "organisation");
+    IntStream.range(0, BIDDERS).forEach(i ->
+        userService.create("bidder" + i, "password", "first", "last", "organisation"));
+  }
+
+  @AfterEach
+  public void stopEngine() throws InterruptedException {
+    auctionEngine.stop();
+  }
+
+  @DisplayName("bid should be applied in order by the engine and published once returned")
+  @Test
+  public void shouldPublishEveryConcurrentBid() {
+    var auctionLot = auctionLotService.create("owner", "AAPL", 1, 10);
+
+    CompletableFuture.allOf(IntStream.range(0, BIDDERS)
+            .mapToObj(i -> CompletableFuture.runAsync(() -> {
+              for (var bid = 0; bid < BIDS_PER_BIDDER; bid++) {
+                auctionLotService.bid("bidder" + i, auctionLot.getId(), 1, 2);
+              }
+            }))
+            .toArray(CompletableFuture[]::new))
+        .join();
+
+    assertThat(auctionLotService.getAuctionLot(auctionLot.getId()).getBids().size(),
+        equalTo(BIDDERS * BIDS_PER_BIDDER));
+    assertThat(auctionLotService.getBidsForUser("bidder0").count(),
+        equalTo((long) BIDS_PER_BIDDER));
+  }
+
+  @DisplayName("reads should see snapshots that do not change once published")
+  @Test
+  public void shouldPublishSnapshots() {
+    var opened = auctionLotService.create("owner", "AAPL", 1, 10);
+    auctionLotService.bid("bidder0", opened.getId(), 5, 2);
+
+    var closingSummary = auctionLotService.close("owner", opened.getId());
+
+    var closed = auctionLotService.getAuctionLot(opened.getId());
+    assertThat(closed, not(sameInstance(opened)));
+    assertThat(opened.getStatus(), equalTo(AuctionLot.Status.OPENED));
+    assertThat(opened.getBids().size(), equalTo(0));
+    assertThat(closed.getStatus(), equalTo(AuctionLot.Status.CLOSED));
+    assertThat(closed.getClosingSummary(), equalTo(closingSummary));
+    assertThat(closingSummary.totalSoldQuantity(), equalTo(5));
+    assertThat(auctionState.findByStatus(AuctionLot.Status.CLOSED).size(), equalTo(1));
+    assertThrows(IllegalStateException.class, () -> closed.bid(userState.get(2), 1, 2));
+  }
+
+  @DisplayName("closeAll should close the lots of the user in parallel and report each lot")
+  @Test
+  public void shouldCloseAuctionLotsInBulk() {
+    var ids = IntStream.range(0, 100)
+        .mapToObj(i -> auctionLotService.create("owner", "AAPL", 1, 10).getId())
+        .toList();
+    ids.forEach(id -> auctionLotService.bid("bidder0", id, 4, 2));
+    auctionLotService.close("owner", ids.get(0));
+    var otherOwner = auctionLotService.create("bidder1", "MSFT", 1, 10);
+
+    var requested = new ArrayList<>(ids);
+    requested.addAll(List.of(otherOwner.getId(), 999));
+    var results = auctionLotService.closeAll("owner", requested);
+
+    assertThat(results.stream().map(CloseResult::auctionLotId).toList(), equalTo(requested));
+    assertThat(results.get(0).status(), equalTo(CloseResult.Status.ALREADY_CLOSED));
+    assertThat(results.subList(1, ids.size()).stream()
+            .filter(result -> result.status() == CloseResult.Status.CLOSED
+                && result.closingSummary().totalSoldQuantity() == 4)
+            .count(),
+        equalTo((long) ids.size() - 1));
+    assertThat(results.get(ids.size()).status(), equalTo(CloseResult.Status.FORBIDDEN));
+    assertThat(results.get(ids.size() + 1).status(), equalTo(CloseResult.Status.NOT_FOUND));
+    assertThat(auctionState.findByStatus(AuctionLot.Status.CLOSED).size(), equalTo(ids.size()));
+    assertThat(auctionLotService.getAuctionLot(otherOwner.getId()).getStatus(),
+        equalTo(AuctionLot.Status.OPENED));
+  }
+
+  @DisplayName("execute should rethrow the failure of a command to its caller")
+  @Test
+  public void shouldRethrowCommandFailures() {
+    var auctionLot = auctionLotService.create("owner", "AAPL", 1, 10);
+
+    assertThrows(NotFoundException.class,
+        () -> auctionLotService.bid("bidder0", 999, 1, 2));
+    assertThrows(BusinessException.class,
+        () -> auctionLotService.bid("owner", auctionLot.getId(), 1, 2));
+    assertThrows(AccessDeniedException.class,
+        () -> auctionLotService.close("bidder0", auctionLot.getId()));
+    assertThrows(BusinessException.class,
+        () -> userService.create("owner", "password", "first", "last", "organisation"));
+  }
+
+  @DisplayName("stop should cancel only the commands the engine did not apply")
+  @Test
+  public void shouldGiveEachCommandASingleOutcomeWhenStopping() throws InterruptedException {
+    var auctionLot = auctionLotService.create("owner", "AAPL", 1, 10);
+    var applied = new AtomicInteger();
+    var cancelled = new AtomicInteger();
+
+    var bidders = CompletableFuture.allOf(IntStream.range(0, BIDDERS)
+        .mapToObj(i -> CompletableFuture.runAsync(() -> {
+          for (var bid = 0; bid < BIDS_PER_BIDDER; bid++) {
+            try {
+              auctionLotService.bid("bidder" + i, auctionLot.getId(), 1, 2);
+              applied.incrementAndGet();
+            } catch (CancellationException exception) {
+              cancelled.incrementAndGet();
+            }
+          }
+        }))
+        .toArray(CompletableFuture[]::new));
+    while (applied.get() < BIDS_PER_BIDDER) {
+      Thread.onSpinWait();
+    }
+    auctionEngine.stop();
+    bidders.orTimeout(10, SECONDS).join();
+
+    assertThat(applied.get() + cancelled.get(), equalTo(BIDDERS * BIDS_PER_BIDDER));
+    assertThat(auctionLotService.getAuctionLot(auctionLot.getId()).getBids().size(),
+        equalTo(applied.get()));
+  }
+
+  @DisplayName("block should publish the user so authentication sees it")
+  @Test
+  public void shouldPublishBlockedUsers() {
+    var user = userService.create("blocked", "password", "first", "last", "organisation");
+
+    assertThat(userService.setBlocked(user.getId(), true), equalTo(true));
+    assertThat(userService.setBlocked(999, true), equalTo(false));
+
+    assertThat(user.isBlocked(), equalTo(false));
+    assertThat(userState.validateUsernamePassword("blocked", "password").orElseThrow()
+        .isBlocked(), equalTo(true));
+  }
+}
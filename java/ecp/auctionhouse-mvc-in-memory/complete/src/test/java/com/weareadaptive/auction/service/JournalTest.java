@@ -0,0 +1,212 @@
+package com.weareadaptive.auction.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.AuctionState;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.UserState;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+public class JournalTest {
+  @TempDir
+  private Path directory;
+  private AuctionEngine auctionEngine;
+  private UserService userService;
+  private AuctionLotService auctionLotService;
+
+  @AfterEach
+  public void stopEngine() throws InterruptedException {
+    auctionEngine.stop();
+  }
+
+  @DisplayName("start should replay the journal to the state before the restart")
+  @Test
+  public void shouldRecoverFromJournal() throws InterruptedException {
+    start(1_000);
+    var closed = createBidAndClose();
+    var opened = auctionLotService.create("owner", "MSFT", 1, 10);
+    auctionLotService.bid("bidder", opened.getId(), 3, 4);
+    var blocked = userService.create("blocked", "password", "first", "last", "organisation");
+    userService.setBlocked(blocked.getId(), true);
+
+    restart(1_000);
+
+    assertRecovered(closed, opened);
+    assertThat(userService.getUser(blocked.getId()).orElseThrow().isBlocked(), equalTo(true));
+    assertThat(auctionLotService.create("owner", "GOOG", 1, 10).getId(),
+        equalTo(opened.getId() + 1));
+  }
+
+  @DisplayName("start should replay a bulk close with the time the lots were closed at")
+  @Test
+  public void shouldRecoverBulkClose() throws InterruptedException {
+    start(1_000);
+    var closed = createBidAndClose();
+    var opened = auctionLotService.create("owner", "MSFT", 1, 10);
+    auctionLotService.bid("bidder", opened.getId(), 3, 4);
+    var bulkClosedAt = auctionLotService.closeAll("owner", List.of(opened.getId())).get(0)
+        .closingSummary().closingTime();
+
+    restart(1_000);
+
+    var recovered = auctionLotService.getAuctionLot(opened.getId());
+    assertThat(recovered.getStatus(), equalTo(AuctionLot.Status.CLOSED));
+    assertThat(recovered.getClosingSummary().closingTime(), equalTo(bulkClosedAt));
+    assertThat(auctionLotService.getAuctionLot(closed.getId()).getStatus(),
+        equalTo(AuctionLot.Status.CLOSED));
+  }
+
+  @DisplayName("start should load the latest snapshot and replay the journal following it")
+  @Test
+  public void shouldRecoverFromSnapshotAndJournal() throws InterruptedException, IOException {
+    start(5);
+    var closed = createBidAndClose();
+    var opened = auctionLotService.create("owner", "MSFT", 1, 10);
+    auctionLotService.bid("bidder", opened.getId(), 3, 4);
+
+    restart(5);
+
+    assertThat(files("snapshot-").size(), equalTo(1));
+    assertRecovered(closed, opened);
+  }
+
+  @DisplayName("start should drop a torn entry at the end of the journal and write over it")
+  @Test
+  public void shouldRecoverFromTornEntry() throws InterruptedException, IOException {
+    start(1_000);
+    var closed = createBidAndClose();
+    var opened = auctionLotService.create("owner", "MSFT", 1, 10);
+    auctionLotService.bid("bidder", opened.getId(), 3, 4);
+    auctionEngine.stop();
+    tearLastEntry();
+
+    start(1_000);
+
+    assertThat(auctionLotService.getAuctionLot(opened.getId()).getBids().size(), equalTo(0));
+    auctionLotService.bid("bidder", opened.getId(), 2, 5);
+    restart(1_000);
+
+    assertThat(auctionLotService.getAuctionLot(closed.getId()).getStatus(),
+        equalTo(AuctionLot.Status.CLOSED));
+    assertThat(auctionLotService.getAuctionLot(opened.getId()).getBids().get(0).getQuantity(),
+        equalTo(2));
+  }
+
+  @DisplayName("a journal failure should stop the engine without publishing the batch")
+  @Test
+  public void shouldStopOnJournalFailure() throws InterruptedException {
+    var failing = new AtomicBoolean();
+    start(new Journal(true, directory, DataSize.ofKilobytes(64), Journal.FsyncPolicy.ALWAYS,
+        Duration.ZERO, 1_000) {
+      @Override
+      void commit(UserState userState, AuctionState auctionState) {
+        if (failing.get()) {
+          throw new UncheckedIOException(new IOException("No space left on device"));
+        }
+        super.commit(userState, auctionState);
+      }
+    });
+    userService.create("owner", "password", "first", "last", "organisation");
+    userService.create("bidder", "password", "first", "last", "organisation");
+    var auctionLot = auctionLotService.create("owner", "AAPL", 1, 10);
+
+    failing.set(true);
+    assertThrows(IllegalStateException.class,
+        () -> auctionLotService.bid("bidder", auctionLot.getId(), 6, 3));
+
+    assertThat(auctionEngine.isRunning(), equalTo(false));
+    assertThat(auctionLotService.getAuctionLot(auctionLot.getId()).getBids().size(), equalTo(0));
+    assertThrows(CancellationException.class,
+        () -> auctionLotService.create("owner", "MSFT", 1, 10));
+
+    failing.set(false);
+    restart(1_000);
+    assertThat(auctionLotService.create("owner", "MSFT", 1, 10).getId(),
+        equalTo(auctionLot.getId() + 1));
+  }
+
+  private AuctionLot createBidAndClose() {
+    userService.create("owner", "password", "first", "last", "organisation");
+    userService.create("bidder", "password", "first", "last", "organisation");
+    var auctionLot = auctionLotService.create("owner", "AAPL", 1, 10);
+    auctionLotService.bid("bidder", auctionLot.getId(), 6, 3);
+    auctionLotService.bid("bidder", auctionLot.getId(), 6, 2);
+    auctionLotService.close("owner", auctionLot.getId());
+    return auctionLotService.getAuctionLot(auctionLot.getId());
+  }
+
+  private void assertRecovered(AuctionLot closed, AuctionLot opened) {
+    var recoveredClosed = auctionLotService.getAuctionLot(closed.getId());
+    assertThat(recoveredClosed.getStatus(), equalTo(AuctionLot.Status.CLOSED));
+    assertThat(recoveredClosed.getClosingSummary().closingTime(),
+        equalTo(closed.getClosingSummary().closingTime()));
+    assertThat(recoveredClosed.getClosingSummary().totalRevenue(),
+        equalTo(closed.getClosingSummary().totalRevenue()));
+    assertThat(recoveredClosed.getBids().stream().map(Bid::getState).toList(),
+        equalTo(List.of(Bid.State.WIN, Bid.State.WIN)));
+
+    var recoveredOpened = auctionLotService.getAuctionLot(opened.getId());
+    assertThat(recoveredOpened.getStatus(), equalTo(AuctionLot.Status.OPENED));
+    assertThat(recoveredOpened.getBids().size(), equalTo(1));
+    assertThat(auctionLotService.getBidsForUser("bidder").count(), equalTo(3L));
+  }
+
+  private void restart(long snapshotInterval) throws InterruptedException {
+    auctionEngine.stop();
+    start(snapshotInterval);
+  }
+
+  private void start(long snapshotInterval) {
+    start(new Journal(true, directory, DataSize.ofKilobytes(64),
+        Journal.FsyncPolicy.ALWAYS, Duration.ZERO, snapshotInterval));
+  }
+
+  private void start(Journal journal) {
+    var userState = new UserState();
+    var auctionState = new AuctionState();
+    auctionEngine = new AuctionEngine(userState, auctionState, true, 64, 16, journal);
+    userService = new UserService(userState, auctionEngine);
+    auctionLotService = new AuctionLotService(auctionState, auctionEngine);
+  }
+
+  /**
+   * Corrupts the last byte of the last entry, as a crash in the middle of writing it would.
+   */
+  private void tearLastEntry() throws IOException {
+    var segment = files("journal-").get(0);
+    try (var channel = FileChannel.open(segment, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+      var end = 0;
+      while (buffer.getInt(end) != 0) {
+        end += 16 + buffer.getInt(end);
+      }
+      buffer.put(end - 1, (byte) ~buffer.get(end - 1));
+      buffer.force();
+    }
+  }
+
+  private List<Path> files(String prefix) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(path -> path.getFileName().toString().startsWith(prefix)).toList();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.weareadaptive.auction;
+
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.Bid;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the auction lots and bids the benchmarks run against, from a fixed seed so runs can be
+ * compared with each other. Ids are assigned here as no database is involved.
+ */
+public final class BenchmarkData {
+  public static final String[] SYMBOLS = {"AAPL", "MSFT", "FB", "GOOG", "AMZN"};
+
+  private final Random random;
+  private int nextAuctionLotId = 1;
+  private int nextBidId = 1;
+
+  public BenchmarkData(long seed) {
+    random = new Random(seed);
+  }
+
+  public List<String> createUsernames(int count) {
+    return IntStream.range(0, count).mapToObj(i -> "user" + i).toList();
+  }
+
+  public AuctionLot createAuctionLot(List<String> usernames, int quantity) {
+    var auctionLot = new AuctionLot(
+        usernames.get(random.nextInt(usernames.size())),
+        SYMBOLS[random.nextInt(SYMBOLS.length)],
+        quantity,
+        1);
+    auctionLot.setId(nextAuctionLotId++);
+    return auctionLot;
+  }
+
+  public List<Bid> createBids(AuctionLot auctionLot, List<String> usernames, int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> createBid(auctionLot, usernames))
+        .toList();
+  }
+
+  public Bid createBid(AuctionLot auctionLot, List<String> usernames) {
+    var bid = new Bid(
+        auctionLot.getId(),
+        usernames.get(random.nextInt(usernames.size())),
+        1 + random.nextInt(20),
+        1 + random.nextInt(1_000) / 10.0);
+    bid.setId(nextBidId++);
+    return bid;
+  }
+}
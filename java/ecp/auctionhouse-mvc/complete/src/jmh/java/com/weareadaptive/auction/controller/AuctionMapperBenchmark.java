@@ -0,0 +1,71 @@
+package com.weareadaptive.auction.controller;
+
+import com.weareadaptive.auction.BenchmarkData;
+import com.weareadaptive.auction.controller.dto.AuctionLotResponse;
+import com.weareadaptive.auction.controller.dto.BidResponse;
+import com.weareadaptive.auction.controller.dto.ClosingSummaryResponse;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.ClosingSummary;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Maps auction lots, their bids and a closing summary to the response DTOs.
+ */
+@State(Scope.Benchmark)
+public class AuctionMapperBenchmark {
+  @Param({"100", "1000"})
+  private int lots;
+  @Param({"10", "100"})
+  private int bidsPerLot;
+  private List<AuctionLot> auctionLots;
+  private List<Bid> bids;
+  private ClosingSummary closingSummary;
+
+  @Setup
+  public void createAuctionLots() {
+    var benchmarkData = new BenchmarkData(42);
+    var usernames = benchmarkData.createUsernames(100);
+    auctionLots = new ArrayList<>(lots);
+    bids = new ArrayList<>(lots * bidsPerLot);
+    for (var i = 0; i < lots; i++) {
+      var auctionLot = benchmarkData.createAuctionLot(usernames, bidsPerLot * 5);
+      auctionLots.add(auctionLot);
+      bids.addAll(benchmarkData.createBids(auctionLot, usernames, bidsPerLot));
+    }
+    var winBids = bids.subList(0, bidsPerLot);
+    winBids.forEach(bid -> {
+      bid.setState(Bid.State.WIN);
+      bid.setWinQuantity(bid.getQuantity());
+    });
+    closingSummary = new ClosingSummary(
+        winBids,
+        winBids.stream().mapToInt(Bid::getWinQuantity).sum(),
+        BigDecimal.valueOf(1_000),
+        winBids.size(),
+        Instant.parse("2023-01-01T00:00:00Z"));
+  }
+
+  @Benchmark
+  public List<AuctionLotResponse> mapAuctionLots() {
+    return auctionLots.stream().map(AuctionMapper::map).toList();
+  }
+
+  @Benchmark
+  public List<BidResponse> mapBids() {
+    return bids.stream().map(AuctionMapper::map).toList();
+  }
+
+  @Benchmark
+  public ClosingSummaryResponse mapClosingSummary() {
+    return AuctionMapper.map(closingSummary);
+  }
+}
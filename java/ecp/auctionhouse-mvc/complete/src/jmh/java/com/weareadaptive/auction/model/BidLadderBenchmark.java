@@ -0,0 +1,43 @@
+package com.weareadaptive.auction.model;
+
+import com.weareadaptive.auction.BenchmarkData;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * In-memory part of closing an auction lot: filling its quantity from the bid ladder, and the
+ * clearing estimate of an open lot. Neither changes the ladder, so it is built once per trial.
+ */
+@State(Scope.Thread)
+public class BidLadderBenchmark {
+  @Param({"100", "10000"})
+  private int bidsPerLot;
+  @Param({"100", "10000"})
+  private int users;
+  private AuctionLot auctionLot;
+  private BidLadder bidLadder;
+
+  @Setup(Level.Trial)
+  public void createLadder() {
+    var benchmarkData = new BenchmarkData(42);
+    var usernames = benchmarkData.createUsernames(users);
+    auctionLot = benchmarkData.createAuctionLot(usernames, bidsPerLot * 5);
+    bidLadder = new BidLadder();
+    benchmarkData.createBids(auctionLot, usernames, bidsPerLot).forEach(bidLadder::add);
+  }
+
+  @Benchmark
+  public List<BidLadder.Fill> fill() {
+    return bidLadder.fill(auctionLot.getQuantity());
+  }
+
+  @Benchmark
+  public ClearingEstimate estimate() {
+    return bidLadder.estimate(auctionLot.getQuantity());
+  }
+}
@@ -0,0 +1,131 @@
+package com.weareadaptive.auction.service;
+
+import com.weareadaptive.auction.BenchmarkData;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.BusinessException;
+import com.weareadaptive.auction.repository.AuctionLotRepository;
+import com.weareadaptive.auction.repository.BidReposity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Places bids through the service, from random users on random open lots. The repositories are
+ * replaced by in-memory stubs so only the service's own cost is measured, the database side of a
+ * bid is covered by the {@code benchmark} task. Lots are recreated for every iteration so their
+ * ladders do not grow across the whole run.
+ */
+@State(Scope.Thread)
+public class AuctionLotServiceBenchmark {
+  @Param({"100", "1000"})
+  private int lots;
+  @Param({"100", "10000"})
+  private int users;
+  private AuctionLotService auctionLotService;
+  private List<String> usernames;
+  private List<Integer> auctionLotIds;
+  private Random random;
+
+  @Setup(Level.Iteration)
+  public void createAuctionLots() {
+    var benchmarkData = new BenchmarkData(42);
+    usernames = benchmarkData.createUsernames(users);
+    var auctionLots = new HashMap<Integer, AuctionLot>();
+    for (var i = 0; i < lots; i++) {
+      var auctionLot = benchmarkData.createAuctionLot(usernames, 1_000);
+      auctionLots.put(auctionLot.getId(), auctionLot);
+    }
+    auctionLotIds = List.copyOf(auctionLots.keySet());
+
+    var auctionLotRepository = auctionLotRepository(auctionLots);
+    var bidReposity = bidReposity();
+    var bidLadders = new BidLadders(bidReposity, auctionLotRepository);
+    auctionLotIds.forEach(bidLadders::open);
+    var meterRegistry = new SimpleMeterRegistry();
+    var transactionTemplate = new TransactionTemplate(transactionManager());
+    var organisationCounters = new OrganisationCounters(null);
+    auctionLotService = new AuctionLotService(
+        auctionLotRepository,
+        bidReposity,
+        bidLadders,
+        new AuctionLotCache(auctionLotRepository, lots, Duration.ofMinutes(1), 1, meterRegistry),
+        new BidWriter(bidReposity, auctionLotRepository, bidLadders, organisationCounters,
+            transactionTemplate, false, 1, Duration.ZERO, 1, meterRegistry),
+        new AuctionEvents(1, Runnable::run),
+        organisationCounters,
+        null,
+        null);
+    random = new Random(7);
+  }
+
+  @Benchmark
+  public void bid() {
+    var username = usernames.get(random.nextInt(usernames.size()));
+    var auctionLotId = auctionLotIds.get(random.nextInt(auctionLotIds.size()));
+    try {
+      auctionLotService.bid(username, auctionLotId, 1 + random.nextInt(20), 10);
+    } catch (BusinessException exception) {
+      // the owner bidding on its own lot, rare enough not to skew the measure
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static AuctionLotRepository auctionLotRepository(Map<Integer, AuctionLot> auctionLots) {
+    return stub(AuctionLotRepository.class, (method, args) -> switch (method) {
+      case "findById" -> Optional.ofNullable(auctionLots.get((Integer) args[0]));
+      case "findAllByIdForShare" -> ((Collection<Integer>) args[0]).stream()
+          .map(auctionLots::get)
+          .toList();
+      default -> throw new UnsupportedOperationException(method);
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BidReposity bidReposity() {
+    var nextId = new int[] {1};
+    return stub(BidReposity.class, (method, args) -> switch (method) {
+      case "saveAll" -> {
+        var bids = (List<Bid>) args[0];
+        bids.forEach(bid -> bid.setId(nextId[0]++));
+        yield bids;
+      }
+      default -> throw new UnsupportedOperationException(method);
+    });
+  }
+
+  private static PlatformTransactionManager transactionManager() {
+    return stub(PlatformTransactionManager.class, (method, args) -> switch (method) {
+      case "getTransaction" -> new SimpleTransactionStatus();
+      case "commit", "rollback" -> null;
+      default -> throw new UnsupportedOperationException(method);
+    });
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T stub(Class<T> type, StubMethod stubMethod) {
+    return (T) Proxy.newProxyInstance(
+        type.getClassLoader(),
+        new Class<?>[] {type},
+        (proxy, method, args) -> stubMethod.invoke(method.getName(), args));
+  }
+
+  private interface StubMethod {
+    Object invoke(String method, Object[] args);
+  }
+}
@@ -0,0 +1,87 @@
+package com.weareadaptive.auction.configuration;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Hands out at most as many connections as the pool holds, queuing the other callers in arrival
+ * order. With a virtual thread per request, thousands of requests can ask for a connection at
+ * once: they wait here, cheaply parked, instead of piling up in the pool.
+ */
+public class PermitLimitedDataSource extends DelegatingDataSource {
+  private final Semaphore permits;
+  private final Duration timeout;
+
+  public PermitLimitedDataSource(DataSource dataSource, int maxConnections, Duration timeout) {
+    super(dataSource);
+    permits = new Semaphore(maxConnections, true);
+    this.timeout = timeout;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    acquire();
+    try {
+      return releasingOnClose(super.getConnection());
+    } catch (SQLException | RuntimeException exception) {
+      permits.release();
+      throw exception;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    acquire();
+    try {
+      return releasingOnClose(super.getConnection(username, password));
+    } catch (SQLException | RuntimeException exception) {
+      permits.release();
+      throw exception;
+    }
+  }
+
+  public int availablePermits() {
+    return permits.availablePermits();
+  }
+
+  private void acquire() throws SQLException {
+    try {
+      if (!permits.tryAcquire(timeout.toMillis(), MILLISECONDS)) {
+        throw new SQLTransientConnectionException(
+            "Timed out after " + timeout.toMillis() + "ms waiting for a database connection");
+      }
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new SQLTransientConnectionException(
+          "Interrupted while waiting for a database connection", exception);
+    }
+  }
+
+  private Connection releasingOnClose(Connection connection) {
+    var released = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(
+        Connection.class.getClassLoader(),
+        new Class<?>[] {Connection.class},
+        (proxy, method, args) -> {
+          try {
+            return method.invoke(connection, args);
+          } catch (InvocationTargetException exception) {
+            throw exception.getCause();
+          } finally {
+            if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+              permits.release();
+            }
+          }
+        });
+  }
+}
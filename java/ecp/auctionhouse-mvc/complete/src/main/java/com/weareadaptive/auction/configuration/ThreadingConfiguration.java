@@ -0,0 +1,57 @@
+package com.weareadaptive.auction.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+/**
+ * Virtual thread mode, enabled with {@code auction.threads.mode=virtual}. Tomcat requests, and
+ * so the transactional service calls they make, run on a virtual thread each, as do the
+ * asynchronous streamed listings. Database access is bounded by
+ * {@link PermitLimitedDataSource} sized on the Hikari pool. The default {@code platform} mode
+ * keeps Tomcat's thread pool.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "auction.threads.mode", havingValue = "virtual")
+public class ThreadingConfiguration {
+
+  @Bean(destroyMethod = "shutdown")
+  public ExecutorService virtualThreadExecutor() {
+    return VirtualThreads.newVirtualThreadPerTaskExecutor();
+  }
+
+  @Bean
+  public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(
+      ExecutorService virtualThreadExecutor) {
+    return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+  }
+
+  @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+  public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+    return new TaskExecutorAdapter(virtualThreadExecutor);
+  }
+
+  @Bean
+  public static BeanPostProcessor permitLimitedDataSourcePostProcessor() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikariDataSource) {
+          return new PermitLimitedDataSource(
+              hikariDataSource,
+              hikariDataSource.getMaximumPoolSize(),
+              Duration.ofMillis(hikariDataSource.getConnectionTimeout()));
+        }
+        return bean;
+      }
+    };
+  }
+}
@@ -0,0 +1,45 @@
+package com.weareadaptive.auction.configuration;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Access to virtual threads while the project still compiles for Java 17. They are looked up at
+ * runtime, so the virtual thread mode needs the application to run on Java 21 or above.
+ */
+public final class VirtualThreads {
+  private static final MethodHandle NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = lookup();
+
+  private VirtualThreads() {
+  }
+
+  public static boolean isSupported() {
+    return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+  }
+
+  public static ExecutorService newVirtualThreadPerTaskExecutor() {
+    if (!isSupported()) {
+      throw new IllegalStateException(
+          "Virtual threads require Java 21, running on " + Runtime.version());
+    }
+    try {
+      return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invokeExact();
+    } catch (Throwable throwable) {
+      throw new IllegalStateException("Cannot create a virtual thread executor", throwable);
+    }
+  }
+
+  private static MethodHandle lookup() {
+    try {
+      return MethodHandles.publicLookup().findStatic(
+          Executors.class,
+          "newVirtualThreadPerTaskExecutor",
+          MethodType.methodType(ExecutorService.class));
+    } catch (NoSuchMethodException | IllegalAccessException exception) {
+      return null;
+    }
+  }
+}
@@ -1,36 +1,62 @@
 package com.weareadaptive.auction.controller;
 
 import static com.weareadaptive.auction.controller.AuctionMapper.map;
+import static com.weareadaptive.auction.controller.Pages.nextAfterId;
+import static com.weareadaptive.auction.service.AuctionLotService.AUCTION_LOT_ENTITY;
 import static org.springframework.http.HttpStatus.CREATED;
 import static org.springframework.http.HttpStatus.NO_CONTENT;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.http.MediaType.TEXT_EVENT_STREAM_VALUE;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.weareadaptive.auction.controller.dto.AuctionLotResponse;
 import com.weareadaptive.auction.controller.dto.BidRequest;
 import com.weareadaptive.auction.controller.dto.BidResponse;
+import com.weareadaptive.auction.controller.dto.ClearingEstimateResponse;
+import com.weareadaptive.auction.controller.dto.CloseAuctionLotsRequest;
+import com.weareadaptive.auction.controller.dto.CloseResultResponse;
 import com.weareadaptive.auction.controller.dto.ClosingSummaryResponse;
 import com.weareadaptive.auction.controller.dto.CreateAuctionLotRequest;
+import com.weareadaptive.auction.controller.dto.PageResponse;
 import com.weareadaptive.auction.exception.NotFoundException;
+import com.weareadaptive.auction.model.AuctionEvent;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.service.AuctionEventListener;
 import com.weareadaptive.auction.service.AuctionLotService;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.security.Principal;
-import java.util.stream.Stream;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/auction-lots")
 @PreAuthorize("hasRole('ROLE_USER')")
 public class AuctionLotController {
   private final AuctionLotService auctionLotService;
+  private final ObjectMapper objectMapper;
+  private final Duration eventsTimeout;
 
-  public AuctionLotController(AuctionLotService auctionLotService) {
+  public AuctionLotController(AuctionLotService auctionLotService,
+                              ObjectMapper objectMapper,
+                              @Value("${auction.events.timeout}") Duration eventsTimeout) {
     this.auctionLotService = auctionLotService;
+    this.objectMapper = objectMapper;
+    this.eventsTimeout = eventsTimeout;
   }
 
   @GetMapping("/{id}")
@@ -50,10 +76,26 @@ public class AuctionLotController {
   }
 
   @GetMapping("/{id}/bids")
-  public Stream<BidResponse> getAuctionLotBids(@PathVariable int id) {
-    return auctionLotService.getAuctionLotBids(id)
-        .stream()
-        .map(AuctionMapper::map);
+  public ResponseEntity<StreamingResponseBody> getAuctionLotBids(@PathVariable int id) {
+    if (auctionLotService.get(id).isEmpty()) {
+      throw new NotFoundException(AUCTION_LOT_ENTITY, id);
+    }
+
+    return ResponseEntity.ok()
+        .contentType(APPLICATION_JSON)
+        .body(JsonArrayBody.<BidResponse>of(objectMapper, consumer ->
+            auctionLotService.forEachAuctionLotBid(id, bid -> consumer.accept(map(bid)))));
+  }
+
+  @GetMapping(value = "/{id}/bids", params = "limit")
+  public PageResponse<BidResponse> getAuctionLotBids(
+      @PathVariable int id,
+      @RequestParam(defaultValue = "0") int afterId,
+      @RequestParam int limit) {
+    var bids = auctionLotService.getAuctionLotBids(id, afterId, limit);
+    return new PageResponse<>(
+        bids.stream().map(AuctionMapper::map).toList(),
+        nextAfterId(bids, limit, Bid::getId));
   }
 
   @PostMapping("/{id}/close")
@@ -62,16 +104,77 @@ public class AuctionLotController {
     return map(closingSummary);
   }
 
+  /**
+   * Closes many lots of the user at once, typically at the end of a session, with a result per
+   * lot rather than failing the whole request for one lot.
+   */
+  @PostMapping("/close")
+  public List<CloseResultResponse> closeAuctionLots(
+      @RequestBody @Valid CloseAuctionLotsRequest request,
+      Principal principal) {
+    return auctionLotService.closeAll(principal.getName(), request.ids())
+        .stream()
+        .map(AuctionMapper::map)
+        .toList();
+  }
+
   @GetMapping("/{id}/closingSummary")
   public ClosingSummaryResponse getClosingSummary(@PathVariable int id, Principal principal) {
     return map(auctionLotService.getClosingSummary(principal.getName(), id));
   }
 
+  @GetMapping(value = "/{id}/closingSummary", params = "limit")
+  public ClosingSummaryResponse getClosingSummary(
+      @PathVariable int id,
+      @RequestParam(defaultValue = "0") int afterId,
+      @RequestParam int limit,
+      Principal principal) {
+    var closingSummary =
+        auctionLotService.getClosingSummary(principal.getName(), id, afterId, limit);
+    return map(closingSummary, nextAfterId(closingSummary.winBids(), limit, Bid::getId));
+  }
+
+  @GetMapping(value = "/{id}/events", produces = TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter getEvents(@PathVariable int id) {
+    var emitter = new SseEmitter(eventsTimeout.toMillis());
+    var unsubscribe = auctionLotService.subscribe(id, new AuctionEventListener() {
+      @Override
+      public void onEvent(AuctionEvent event) throws IOException {
+        emitter.send(SseEmitter.event().name(event.name()).data(event, APPLICATION_JSON));
+      }
+
+      @Override
+      public void onClose() {
+        emitter.complete();
+      }
+    });
+    emitter.onCompletion(unsubscribe);
+    emitter.onTimeout(unsubscribe);
+    emitter.onError(error -> unsubscribe.run());
+    return emitter;
+  }
+
+  @GetMapping("/{id}/clearing")
+  public ClearingEstimateResponse getClearingEstimate(@PathVariable int id) {
+    return map(auctionLotService.getClearingEstimate(id));
+  }
+
   @GetMapping
-  public Stream<AuctionLotResponse> getAll() {
-    return auctionLotService.getAll()
-        .stream()
-        .map(AuctionMapper::map);
+  public ResponseEntity<StreamingResponseBody> getAll() {
+    return ResponseEntity.ok()
+        .contentType(APPLICATION_JSON)
+        .body(JsonArrayBody.<AuctionLotResponse>of(objectMapper, consumer ->
+            auctionLotService.forEachAuctionLot(auctionLot -> consumer.accept(map(auctionLot)))));
+  }
+
+  @GetMapping(params = "limit")
+  public PageResponse<AuctionLotResponse> getAll(
+      @RequestParam(defaultValue = "0") int afterId,
+      @RequestParam int limit) {
+    var auctionLots = auctionLotService.getAll(afterId, limit);
+    return new PageResponse<>(
+        auctionLots.stream().map(AuctionMapper::map).toList(),
+        nextAfterId(auctionLots, limit, AuctionLot::getId));
   }
 
   @PostMapping
@@ -2,11 +2,19 @@ package com.weareadaptive.auction.controller;
 
 import com.weareadaptive.auction.controller.dto.AuctionLotResponse;
 import com.weareadaptive.auction.controller.dto.BidResponse;
+import com.weareadaptive.auction.controller.dto.ClearingEstimateResponse;
+import com.weareadaptive.auction.controller.dto.CloseResultResponse;
 import com.weareadaptive.auction.controller.dto.ClosingSummaryResponse;
+import com.weareadaptive.auction.controller.dto.UserBidResponse;
 import com.weareadaptive.auction.controller.dto.WinningBidResponse;
 import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.AuctionLotView;
 import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.ClearingEstimate;
+import com.weareadaptive.auction.model.CloseResult;
 import com.weareadaptive.auction.model.ClosingSummary;
+import com.weareadaptive.auction.model.Price;
+import com.weareadaptive.auction.model.UserBid;
 import com.weareadaptive.auction.model.WinningBid;
 
 public class AuctionMapper {
@@ -14,13 +22,40 @@ public class AuctionMapper {
   }
 
   public static ClosingSummaryResponse map(ClosingSummary closingSummary) {
+    return map(closingSummary, null);
+  }
+
+  public static ClosingSummaryResponse map(ClosingSummary closingSummary, Integer nextAfterId) {
     return new ClosingSummaryResponse(
         closingSummary.winBids().stream().map(AuctionMapper::map).toList(),
         closingSummary.totalSoldQuantity(),
         closingSummary.totalRevenue(),
+        closingSummary.winnerCount(),
+        closingSummary.closedAt().toEpochMilli(),
+        nextAfterId);
+  }
+
+  public static CloseResultResponse map(CloseResult closeResult) {
+    var closingSummary = closeResult.closingSummary();
+    if (closingSummary == null) {
+      return new CloseResultResponse(
+          closeResult.auctionLotId(), closeResult.status(), null, null, null, null);
+    }
+    return new CloseResultResponse(
+        closeResult.auctionLotId(),
+        closeResult.status(),
+        closingSummary.totalSoldQuantity(),
+        closingSummary.totalRevenue(),
+        closingSummary.winnerCount(),
         closingSummary.closedAt().toEpochMilli());
   }
 
+  public static ClearingEstimateResponse map(ClearingEstimate clearingEstimate) {
+    return new ClearingEstimateResponse(
+        clearingEstimate.clearingPrice(),
+        clearingEstimate.coveredQuantity());
+  }
+
   public static WinningBidResponse map(WinningBid winningBid) {
     return new WinningBidResponse(
         winningBid.quantity(),
@@ -37,6 +72,18 @@ public class AuctionMapper {
         bid.getWinQuantity());
   }
 
+  public static UserBidResponse map(UserBid userBid) {
+    return new UserBidResponse(
+        userBid.id(),
+        userBid.auctionLotId(),
+        userBid.symbol(),
+        userBid.auctionLotStatus(),
+        userBid.quantity(),
+        Price.toDouble(userBid.priceTicks()),
+        userBid.state(),
+        userBid.winQuantity());
+  }
+
   public static AuctionLotResponse map(AuctionLot auctionLot) {
     return new AuctionLotResponse(
         auctionLot.getId(),
@@ -47,4 +94,15 @@ public class AuctionMapper {
         auctionLot.getStatus(),
         auctionLot.getClosedAt());
   }
+
+  public static AuctionLotResponse map(AuctionLotView auctionLot) {
+    return new AuctionLotResponse(
+        auctionLot.id(),
+        auctionLot.owner(),
+        auctionLot.symbol(),
+        auctionLot.minPrice(),
+        auctionLot.quantity(),
+        auctionLot.status(),
+        auctionLot.closedAt());
+  }
 }
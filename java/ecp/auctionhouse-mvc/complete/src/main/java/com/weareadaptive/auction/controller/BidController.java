@@ -1,12 +1,19 @@
 package com.weareadaptive.auction.controller;
 
+import static com.weareadaptive.auction.controller.Pages.nextAfterId;
+
 import com.weareadaptive.auction.controller.dto.BidResponse;
+import com.weareadaptive.auction.controller.dto.PageResponse;
+import com.weareadaptive.auction.controller.dto.UserBidResponse;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.UserBid;
 import com.weareadaptive.auction.service.AuctionLotService;
 import java.security.Principal;
 import java.util.stream.Stream;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -25,4 +32,16 @@ public class BidController {
         .stream()
         .map(AuctionMapper::map);
   }
+
+  @GetMapping(params = "limit")
+  public PageResponse<UserBidResponse> getAll(
+      Principal user,
+      @RequestParam(required = false) Bid.State state,
+      @RequestParam(defaultValue = "0") int afterId,
+      @RequestParam int limit) {
+    var bids = auctionLotService.getBidsForUser(user.getName(), state, afterId, limit);
+    return new PageResponse<>(
+        bids.stream().map(AuctionMapper::map).toList(),
+        nextAfterId(bids, limit, UserBid::id));
+  }
 }
@@ -0,0 +1,33 @@
+package com.weareadaptive.auction.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Writes a JSON array item by item straight to the response, so the items never need to be
+ * collected in memory.
+ */
+public class JsonArrayBody {
+  private JsonArrayBody() {
+  }
+
+  public static <T> StreamingResponseBody of(ObjectMapper objectMapper,
+                                             Consumer<Consumer<T>> producer) {
+    return outputStream -> {
+      try (var generator = objectMapper.getFactory().createGenerator(outputStream)) {
+        generator.writeStartArray();
+        producer.accept(item -> {
+          try {
+            generator.writeObject(item);
+          } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+          }
+        });
+        generator.writeEndArray();
+      }
+    };
+  }
+}
@@ -0,0 +1,22 @@
+package com.weareadaptive.auction.controller;
+
+import static com.weareadaptive.auction.service.AuctionLotService.MAX_PAGE_SIZE;
+import static java.lang.Math.min;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+final class Pages {
+  private Pages() {
+  }
+
+  /**
+   * Id to resume from after the given page, null when the page was the last one.
+   */
+  static <T> Integer nextAfterId(List<T> page, int limit, ToIntFunction<T> id) {
+    if (page.isEmpty() || page.size() < min(limit, MAX_PAGE_SIZE)) {
+      return null;
+    }
+    return id.applyAsInt(page.get(page.size() - 1));
+  }
+}
@@ -4,11 +4,13 @@ import static com.weareadaptive.auction.controller.UserMapper.map;
 import static org.springframework.http.HttpStatus.CREATED;
 
 import com.weareadaptive.auction.controller.dto.CreateUserRequest;
+import com.weareadaptive.auction.controller.dto.OrganisationSummaryResponse;
 import com.weareadaptive.auction.controller.dto.UpdateUserRequest;
 import com.weareadaptive.auction.controller.dto.UserResponse;
 import com.weareadaptive.auction.exception.NotFoundException;
 import com.weareadaptive.auction.service.UserService;
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.stream.Stream;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -67,6 +69,21 @@ public class UserController {
         .map(UserMapper::map);
   }
 
+  @GetMapping("/organisations")
+  public List<OrganisationSummaryResponse> getOrganisations() {
+    return userService.getOrganisations()
+        .stream()
+        .map(UserMapper::map)
+        .toList();
+  }
+
+  @GetMapping("/organisations/{organisation}")
+  public OrganisationSummaryResponse getOrganisation(@PathVariable String organisation) {
+    return userService.getOrganisation(organisation)
+        .map(UserMapper::map)
+        .orElseThrow(NotFoundException::new);
+  }
+
   @PutMapping("/{id}/block")
   @ResponseStatus(HttpStatus.NO_CONTENT)
   public void block(@PathVariable int id) {
@@ -1,6 +1,8 @@
 package com.weareadaptive.auction.controller;
 
+import com.weareadaptive.auction.controller.dto.OrganisationSummaryResponse;
 import com.weareadaptive.auction.controller.dto.UserResponse;
+import com.weareadaptive.auction.model.OrganisationSummary;
 import com.weareadaptive.auction.model.User;
 
 public class UserMapper {
@@ -15,4 +17,13 @@ public class UserMapper {
         user.getLastName(),
         user.getOrganisation());
   }
+
+  public static OrganisationSummaryResponse map(OrganisationSummary organisation) {
+    return new OrganisationSummaryResponse(
+        organisation.organisation(),
+        organisation.memberCount(),
+        organisation.openLots(),
+        organisation.totalBids(),
+        organisation.totalRevenue());
+  }
 }
@@ -0,0 +1,6 @@
+package com.weareadaptive.auction.controller.dto;
+
+public record ClearingEstimateResponse(
+    Double clearingPrice,
+    int coveredQuantity) {
+}
@@ -0,0 +1,13 @@
+package com.weareadaptive.auction.controller.dto;
+
+import com.weareadaptive.auction.model.CloseResult;
+import java.math.BigDecimal;
+
+public record CloseResultResponse(
+    int id,
+    CloseResult.Status status,
+    Integer totalSoldQuantity,
+    BigDecimal totalRevenue,
+    Integer winnerCount,
+    Long closedAt) {
+}
@@ -7,5 +7,7 @@ public record ClosingSummaryResponse(
     List<BidResponse> winBids,
     int totalSoldQuantity,
     BigDecimal totalRevenue,
-    long closedAt) {
+    int winnerCount,
+    long closedAt,
+    Integer nextAfterId) {
 }
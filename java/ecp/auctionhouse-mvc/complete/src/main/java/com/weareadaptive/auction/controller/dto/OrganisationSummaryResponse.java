@@ -0,0 +1,11 @@
+package com.weareadaptive.auction.controller.dto;
+
+import java.math.BigDecimal;
+
+public record OrganisationSummaryResponse(
+    String organisation,
+    int memberCount,
+    int openLots,
+    long totalBids,
+    BigDecimal totalRevenue) {
+}
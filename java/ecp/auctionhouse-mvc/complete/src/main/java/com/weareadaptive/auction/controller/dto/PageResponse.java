@@ -0,0 +1,8 @@
+package com.weareadaptive.auction.controller.dto;
+
+import java.util.List;
+
+public record PageResponse<T>(
+    List<T> items,
+    Integer nextAfterId) {
+}
@@ -0,0 +1,16 @@
+package com.weareadaptive.auction.controller.dto;
+
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.Bid;
+
+public record UserBidResponse(
+    int id,
+    int auctionLotId,
+    String symbol,
+    AuctionLot.Status auctionLotStatus,
+    int quantity,
+    double price,
+    Bid.State state,
+    int winQuantity
+) {
+}
@@ -0,0 +1,34 @@
+package com.weareadaptive.auction.model;
+
+import java.time.Instant;
+
+/**
+ * Live activity of an auction lot, pushed to the clients following it.
+ */
+public sealed interface AuctionEvent {
+  int auctionLotId();
+
+  String name();
+
+  record BidPlaced(int auctionLotId, String username, int quantity, double price)
+      implements AuctionEvent {
+    @Override
+    public String name() {
+      return "bid-placed";
+    }
+  }
+
+  record BestBidChanged(int auctionLotId, double price, int quantity) implements AuctionEvent {
+    @Override
+    public String name() {
+      return "best-bid-changed";
+    }
+  }
+
+  record LotClosed(int auctionLotId, Instant closedAt) implements AuctionEvent {
+    @Override
+    public String name() {
+      return "lot-closed";
+    }
+  }
+}
@@ -2,6 +2,8 @@ package com.weareadaptive.auction.model;
 
 import static org.apache.logging.log4j.util.Strings.isBlank;
 
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -17,11 +19,18 @@ public class AuctionLot {
   private int id;
   private String owner;
   private String symbol;
-  private double minPrice;
+  @Column(precision = 19, scale = Price.SCALE)
+  @Convert(converter = PriceConverter.class)
+  private long minPrice;
   private int quantity;
   private Instant closedAt;
   @Enumerated(EnumType.STRING)
   private Status status;
+  private int soldQuantity;
+  @Column(precision = 19, scale = Price.SCALE)
+  @Convert(converter = PriceConverter.class)
+  private long revenue;
+  private int winnerCount;
 
   public AuctionLot(String owner, String symbol, int quantity, double minPrice) {
     this();
@@ -40,7 +49,7 @@ public class AuctionLot {
     this.owner = owner;
     this.symbol = symbol.toUpperCase().trim();
     this.quantity = quantity;
-    this.minPrice = minPrice;
+    this.minPrice = Price.toTicks(minPrice);
   }
 
   public AuctionLot() {
@@ -56,7 +65,7 @@ public class AuctionLot {
   }
 
   public void setMinPrice(double minPrice) {
-    this.minPrice = minPrice;
+    this.minPrice = Price.toTicks(minPrice);
   }
 
   public void setQuantity(int quantity) {
@@ -98,6 +107,10 @@ public class AuctionLot {
   }
 
   public double getMinPrice() {
+    return Price.toDouble(minPrice);
+  }
+
+  public long getMinPriceTicks() {
     return minPrice;
   }
 
@@ -122,6 +135,30 @@ public class AuctionLot {
     this.closedAt = closedAt;
   }
 
+  public int getSoldQuantity() {
+    return soldQuantity;
+  }
+
+  public void setSoldQuantity(int soldQuantity) {
+    this.soldQuantity = soldQuantity;
+  }
+
+  public long getRevenueTicks() {
+    return revenue;
+  }
+
+  public void setRevenueTicks(long revenue) {
+    this.revenue = revenue;
+  }
+
+  public int getWinnerCount() {
+    return winnerCount;
+  }
+
+  public void setWinnerCount(int winnerCount) {
+    this.winnerCount = winnerCount;
+  }
+
   public enum Status {
     OPENED,
     CLOSED
@@ -0,0 +1,33 @@
+package com.weareadaptive.auction.model;
+
+import java.time.Instant;
+
+/**
+ * Immutable copy of an auction lot row, as held by the auction lot cache. The closing totals are
+ * only set once the lot is closed.
+ */
+public record AuctionLotView(
+    int id,
+    String owner,
+    String symbol,
+    double minPrice,
+    int quantity,
+    AuctionLot.Status status,
+    Instant closedAt,
+    int soldQuantity,
+    long revenueTicks,
+    int winnerCount) {
+  public static AuctionLotView of(AuctionLot auctionLot) {
+    return new AuctionLotView(
+        auctionLot.getId(),
+        auctionLot.getOwner(),
+        auctionLot.getSymbol(),
+        auctionLot.getMinPrice(),
+        auctionLot.getQuantity(),
+        auctionLot.getStatus(),
+        auctionLot.getClosedAt(),
+        auctionLot.getSoldQuantity(),
+        auctionLot.getRevenueTicks(),
+        auctionLot.getWinnerCount());
+  }
+}
@@ -1,22 +1,28 @@
 package com.weareadaptive.auction.model;
 
 
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 
 @Entity
 public class Bid {
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bid_id_seq")
+  @SequenceGenerator(name = "bid_id_seq", sequenceName = "bid_id_seq", allocationSize = 50)
   @Id
   private int id;
   private int auctionLotId;
   private String username;
   private int quantity;
-  private double price;
+  @Column(precision = 19, scale = Price.SCALE)
+  @Convert(converter = PriceConverter.class)
+  private long price;
   @Enumerated(EnumType.STRING)
   private State state;
   private int winQuantity;
@@ -27,7 +33,8 @@ public class Bid {
       throw new BusinessException("user cannot be null");
     }
 
-    if (price <= 0) {
+    var priceTicks = Price.toTicks(price);
+    if (priceTicks <= 0) {
       throw new BusinessException("price must be above 0");
     }
 
@@ -35,7 +42,7 @@ public class Bid {
       throw new BusinessException("quantity must be above 0");
     }
 
-    this.price = price;
+    this.price = priceTicks;
     this.username = username;
     this.quantity = quantity;
     this.auctionLotId = auctionLotId;
@@ -50,6 +57,10 @@ public class Bid {
   }
 
   public double getPrice() {
+    return Price.toDouble(price);
+  }
+
+  public long getPriceTicks() {
     return price;
   }
 
@@ -66,7 +77,7 @@ public class Bid {
   }
 
   public void setPrice(double price) {
-    this.price = price;
+    this.price = Price.toTicks(price);
   }
 
   public void setState(State state) {
@@ -104,7 +115,7 @@ public class Bid {
   public String toString() {
     return "Bid{"
       + "user=" + username
-      + ", price=" + price
+      + ", price=" + getPrice()
       + ", quantity=" + quantity
       + '}';
   }
@@ -0,0 +1,84 @@
+package com.weareadaptive.auction.model;
+
+import static java.lang.Math.min;
+import static java.util.Comparator.comparingInt;
+import static java.util.Comparator.comparingLong;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Live bids of an open auction lot, best first: highest price, then highest quantity, then
+ * oldest bid. Uses the same ordering as the close-out so closing only walks the winners.
+ */
+public class BidLadder {
+  private static final Comparator<Rung> BEST_FIRST =
+      comparingLong(Rung::priceTicks).reversed()
+          .thenComparing(comparingInt(Rung::quantity).reversed())
+          .thenComparingInt(Rung::bidId);
+
+  private final TreeSet<Rung> rungs;
+
+  public BidLadder() {
+    rungs = new TreeSet<>(BEST_FIRST);
+  }
+
+  public synchronized void add(Bid bid) {
+    rungs.add(new Rung(bid.getId(), bid.getPriceTicks(), bid.getQuantity()));
+  }
+
+  public synchronized Optional<Best> best() {
+    if (rungs.isEmpty()) {
+      return Optional.empty();
+    }
+    var best = rungs.first();
+    return Optional.of(new Best(Price.toDouble(best.priceTicks()), best.quantity()));
+  }
+
+  public synchronized int size() {
+    return rungs.size();
+  }
+
+  public synchronized ClearingEstimate estimate(int quantity) {
+    var availableQuantity = quantity;
+    Rung clearingRung = null;
+
+    for (var rung : rungs) {
+      if (availableQuantity <= 0) {
+        break;
+      }
+      availableQuantity -= min(availableQuantity, rung.quantity());
+      clearingRung = rung;
+    }
+    return new ClearingEstimate(
+        clearingRung == null ? null : Price.toDouble(clearingRung.priceTicks()),
+        quantity - availableQuantity);
+  }
+
+  public synchronized List<Fill> fill(int quantity) {
+    var availableQuantity = quantity;
+    var fills = new ArrayList<Fill>();
+
+    for (var rung : rungs) {
+      if (availableQuantity <= 0) {
+        break;
+      }
+      var winQuantity = min(availableQuantity, rung.quantity());
+      fills.add(new Fill(rung.bidId(), winQuantity));
+      availableQuantity -= winQuantity;
+    }
+    return fills;
+  }
+
+  public record Fill(int bidId, int winQuantity) {
+  }
+
+  public record Best(double price, int quantity) {
+  }
+
+  private record Rung(int bidId, long priceTicks, int quantity) {
+  }
+}
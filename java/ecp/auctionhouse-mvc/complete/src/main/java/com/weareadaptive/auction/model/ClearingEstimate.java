@@ -0,0 +1,4 @@
+package com.weareadaptive.auction.model;
+
+public record ClearingEstimate(Double clearingPrice, int coveredQuantity) {
+}
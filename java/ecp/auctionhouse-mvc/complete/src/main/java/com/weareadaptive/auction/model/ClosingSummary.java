@@ -4,9 +4,22 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 
+/**
+ * Totals of a closed auction lot, read from the lot itself, with all or a page of its winning
+ * bids.
+ */
 public record ClosingSummary(
     List<Bid> winBids,
     int totalSoldQuantity,
     BigDecimal totalRevenue,
+    int winnerCount,
     Instant closedAt) {
+  public static ClosingSummary of(AuctionLotView auctionLot, List<Bid> winBids) {
+    return new ClosingSummary(
+        winBids,
+        auctionLot.soldQuantity(),
+        Price.toBigDecimal(auctionLot.revenueTicks()),
+        auctionLot.winnerCount(),
+        auctionLot.closedAt());
+  }
 }
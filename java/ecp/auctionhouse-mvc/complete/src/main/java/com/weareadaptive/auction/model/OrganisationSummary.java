@@ -0,0 +1,15 @@
+package com.weareadaptive.auction.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Activity of the members of an organisation: their open auction lots, the bids they placed and
+ * the revenue of the lots they closed.
+ */
+public record OrganisationSummary(
+    String organisation,
+    int memberCount,
+    int openLots,
+    long totalBids,
+    BigDecimal totalRevenue) {
+}
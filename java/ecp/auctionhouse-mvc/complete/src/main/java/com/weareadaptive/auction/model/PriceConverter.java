@@ -0,0 +1,21 @@
+package com.weareadaptive.auction.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import java.math.BigDecimal;
+
+/**
+ * Stores prices in ticks as NUMERIC(19, 4) columns, readable and exact in the database.
+ */
+@Converter
+public class PriceConverter implements AttributeConverter<Long, BigDecimal> {
+  @Override
+  public BigDecimal convertToDatabaseColumn(Long ticks) {
+    return ticks == null ? null : Price.toBigDecimal(ticks);
+  }
+
+  @Override
+  public Long convertToEntityAttribute(BigDecimal price) {
+    return price == null ? null : Price.fromBigDecimal(price);
+  }
+}
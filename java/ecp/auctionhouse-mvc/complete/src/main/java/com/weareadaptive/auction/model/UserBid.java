@@ -0,0 +1,16 @@
+package com.weareadaptive.auction.model;
+
+/**
+ * A bid of the bid history of a user, along with the symbol and status of its auction lot. The
+ * price is in ticks, see {@link Price}.
+ */
+public record UserBid(
+    int id,
+    int auctionLotId,
+    String symbol,
+    AuctionLot.Status auctionLotStatus,
+    int quantity,
+    long priceTicks,
+    Bid.State state,
+    int winQuantity) {
+}
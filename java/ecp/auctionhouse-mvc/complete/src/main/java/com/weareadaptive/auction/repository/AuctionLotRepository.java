@@ -1,9 +1,57 @@
 package com.weareadaptive.auction.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 import com.weareadaptive.auction.model.AuctionLot;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface AuctionLotRepository extends JpaRepository<AuctionLot, Integer> {
+
+  @Query(value = "SELECT a FROM AuctionLot a WHERE a.id > ?1 ORDER BY a.id")
+  List<AuctionLot> getAuctionLotsAfter(int afterId, Pageable pageable);
+
+  @QueryHints({
+      @QueryHint(name = HINT_FETCH_SIZE, value = Cursors.FETCH_SIZE),
+      @QueryHint(name = HINT_READ_ONLY, value = "true")})
+  @Query(value = "SELECT a FROM AuctionLot a ORDER BY a.id")
+  Stream<AuctionLot> streamAll();
+
+  @Query(value = "SELECT a.id FROM AuctionLot a WHERE a.status = 'OPENED'")
+  List<Integer> getOpenAuctionLotIds();
+
+  /**
+   * Locks the lot FOR UPDATE until the end of the transaction, so bids on it wait for the close.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(value = "SELECT a FROM AuctionLot a WHERE a.id = ?1")
+  Optional<AuctionLot> findByIdForUpdate(int id);
+
+  /**
+   * Same as {@link #findByIdForUpdate} for many lots, locked by id so concurrent closes do not
+   * deadlock.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(value = "SELECT a FROM AuctionLot a WHERE a.id IN ?1 ORDER BY a.id")
+  List<AuctionLot> findAllByIdForUpdate(Collection<Integer> ids);
+
+  /**
+   * Locks the lots FOR SHARE until the end of the transaction, so they cannot be closed before the
+   * bids on them are inserted. Locked by id, in the order closes lock them.
+   */
+  @Lock(LockModeType.PESSIMISTIC_READ)
+  @Query(value = "SELECT a FROM AuctionLot a WHERE a.id IN ?1 ORDER BY a.id")
+  List<AuctionLot> findAllByIdForShare(Collection<Integer> ids);
 }
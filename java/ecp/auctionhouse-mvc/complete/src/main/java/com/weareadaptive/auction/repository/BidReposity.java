@@ -1,20 +1,103 @@
 package com.weareadaptive.auction.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.UserBid;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface BidReposity extends JpaRepository<Bid, Integer> {
+  String USER_BID_SELECT = "SELECT new com.weareadaptive.auction.model.UserBid("
+      + "b.id, b.auctionLotId, a.symbol, a.status, b.quantity, b.price, b.state, b.winQuantity) "
+      + "FROM Bid b JOIN AuctionLot a ON a.id = b.auctionLotId ";
 
   @Query(value = "SELECT b FROM Bid b WHERE b.auctionLotId = ?1")
   List<Bid> getBidsForAuction(int auctionLotId);
 
+  @Query(value = "SELECT b FROM Bid b WHERE b.auctionLotId = ?1 AND b.id > ?2 ORDER BY b.id")
+  List<Bid> getBidsForAuctionAfter(int auctionLotId, int afterId, Pageable pageable);
+
+  @QueryHints({
+      @QueryHint(name = HINT_FETCH_SIZE, value = Cursors.FETCH_SIZE),
+      @QueryHint(name = HINT_READ_ONLY, value = "true")})
+  @Query(value = "SELECT b FROM Bid b WHERE b.auctionLotId = ?1 ORDER BY b.id")
+  Stream<Bid> streamBidsForAuction(int auctionLotId);
+
   @Query(value = "SELECT b FROM Bid b WHERE b.auctionLotId = ?1 AND b.state = 'WIN'")
   List<Bid> getWinBidsForAuction(int auctionLotId);
 
+  @Query(value = "SELECT b FROM Bid b "
+      + "WHERE b.auctionLotId = ?1 AND b.state = 'WIN' AND b.id > ?2 ORDER BY b.id")
+  List<Bid> getWinBidsForAuctionAfter(int auctionLotId, int afterId, Pageable pageable);
+
   @Query(value = "SELECT b FROM Bid b WHERE b.username = ?1")
   List<Bid> getBidsForUser(String username);
+
+  @Query(value = USER_BID_SELECT
+      + "WHERE b.username = ?1 AND b.id > ?2 ORDER BY b.id")
+  List<UserBid> getUserBidsAfter(String username, int afterId, Pageable pageable);
+
+  @Query(value = USER_BID_SELECT
+      + "WHERE b.username = ?1 AND b.state = ?2 AND b.id > ?3 ORDER BY b.id")
+  List<UserBid> getUserBidsAfter(String username, Bid.State state, int afterId,
+                                 Pageable pageable);
+
+  @Query(value = "SELECT b FROM Bid b WHERE b.state = 'PENDING'")
+  List<Bid> getPendingBids();
+
+  @Query(value = "SELECT b.auctionLotId AS auctionLotId, COUNT(b) AS pendingBids FROM Bid b "
+      + "WHERE b.auctionLotId IN ?1 AND b.state = 'PENDING' GROUP BY b.auctionLotId")
+  List<PendingBidCount> countPendingBids(Collection<Integer> auctionLotIds);
+
+  @Modifying
+  @Query(value = "UPDATE Bid b SET b.state = 'LOST' "
+      + "WHERE b.auctionLotId IN ?1 AND b.state = 'PENDING'")
+  int loseRemainingBids(Collection<Integer> auctionLotIds);
+
+  /**
+   * Clears an auction lot in a single statement: bids are ranked by price then quantity, the
+   * running total decides which ones are filled, and only the winning rows are returned.
+   */
+  @Query(nativeQuery = true, value = """
+      WITH ranked AS (
+          SELECT id,
+                 SUM(quantity) OVER (ORDER BY price DESC, quantity DESC, id
+                     ROWS UNBOUNDED PRECEDING) - quantity AS filled_before
+          FROM bid
+          WHERE auction_lot_id = :auctionLotId
+      ), cleared AS (
+          UPDATE bid b
+          SET state        = CASE WHEN r.filled_before < :quantity THEN 'WIN' ELSE 'LOST' END,
+              win_quantity = CASE WHEN r.filled_before < :quantity
+                                  THEN LEAST(b.quantity, :quantity - r.filled_before)
+                                  ELSE 0 END
+          FROM ranked r
+          WHERE b.id = r.id
+          RETURNING b.*
+      )
+      SELECT * FROM cleared
+      WHERE state = 'WIN'
+      ORDER BY price DESC, quantity DESC, id
+      """)
+  List<Bid> clearBidsForAuction(
+      @Param("auctionLotId") int auctionLotId,
+      @Param("quantity") int quantity);
+
+  interface PendingBidCount {
+    int getAuctionLotId();
+
+    long getPendingBids();
+  }
 }
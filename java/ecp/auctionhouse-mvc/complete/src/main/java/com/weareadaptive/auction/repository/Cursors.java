@@ -0,0 +1,14 @@
+package com.weareadaptive.auction.repository;
+
+/**
+ * Settings shared by the repository queries read through a JDBC cursor.
+ */
+public final class Cursors {
+  /**
+   * Rows fetched per round trip, the Postgres driver only honours it inside a transaction.
+   */
+  public static final String FETCH_SIZE = "500";
+
+  private Cursors() {
+  }
+}
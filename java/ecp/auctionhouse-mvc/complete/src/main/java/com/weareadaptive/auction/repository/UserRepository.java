@@ -1,6 +1,8 @@
 package com.weareadaptive.auction.repository;
 
 import com.weareadaptive.auction.model.User;
+import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -20,4 +22,39 @@ public interface UserRepository extends JpaRepository<User, Integer> {
   @Modifying
   @Query("UPDATE AuctionUser u SET u.isBlocked=FALSE WHERE u.id = ?1")
   int unblock(int userId);
+
+  /**
+   * Open lots, bids and closed lot revenue of every user but the admins, each table being read
+   * once.
+   */
+  @Query(nativeQuery = true, value = """
+      SELECT u.username                     AS username,
+             u.organisation                 AS organisation,
+             COALESCE(l.open_lots, 0)       AS "openLots",
+             COALESCE(b.bids, 0)            AS bids,
+             COALESCE(l.revenue, 0)         AS revenue
+      FROM auction_user u
+      LEFT JOIN (SELECT owner,
+                        COUNT(*) FILTER (WHERE status = 'OPENED') AS open_lots,
+                        SUM(revenue)                              AS revenue
+                 FROM auction_lot
+                 GROUP BY owner) l ON l.owner = u.username
+      LEFT JOIN (SELECT username, COUNT(*) AS bids
+                 FROM bid
+                 GROUP BY username) b ON b.username = u.username
+      WHERE NOT u.is_admin
+      """)
+  List<MemberTotals> getMemberTotals();
+
+  interface MemberTotals {
+    String getUsername();
+
+    String getOrganisation();
+
+    long getOpenLots();
+
+    long getBids();
+
+    BigDecimal getRevenue();
+  }
 }
@@ -0,0 +1,152 @@
+package com.weareadaptive.auction.security;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.weareadaptive.auction.TimeContext;
+import com.weareadaptive.auction.service.UserChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Bounded cache of the users authenticated by a bearer token, so steady traffic does not hit the
+ * database for every call. Tokens are only kept as a SHA-256 hash, entries expire after their
+ * time to live and the least recently used entry is evicted once the cache is full. Hits, misses
+ * and evictions are published as {@code auction.authentication.cache.gets} and
+ * {@code auction.authentication.cache.evictions}.
+ *
+ * <p>A change to a user may commit while that user is being looked up. {@link #generation()} is
+ * read before the lookup and given to {@link #put}, which does not keep a user invalidated since.
+ */
+public class AuthenticationCache {
+  private final int maxSize;
+  private final Duration timeToLive;
+  private final LinkedHashMap<String, Entry> entries;
+  // Generation of the last invalidation of each user
+  private final Map<Integer, Long> invalidatedAt;
+  private long generation;
+  private final LongAdder hits;
+  private final LongAdder misses;
+  private final LongAdder evictions;
+
+  public AuthenticationCache(int maxSize, Duration timeToLive, MeterRegistry meterRegistry) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("maxSize must be above 0");
+    }
+    this.maxSize = maxSize;
+    this.timeToLive = timeToLive;
+    hits = new LongAdder();
+    misses = new LongAdder();
+    evictions = new LongAdder();
+    entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+        if (size() > AuthenticationCache.this.maxSize) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+    invalidatedAt = new HashMap<>();
+
+    FunctionCounter.builder("auction.authentication.cache.gets", hits, LongAdder::sum)
+        .tag("result", "hit")
+        .register(meterRegistry);
+    FunctionCounter.builder("auction.authentication.cache.gets", misses, LongAdder::sum)
+        .tag("result", "miss")
+        .register(meterRegistry);
+    FunctionCounter.builder("auction.authentication.cache.evictions", evictions, LongAdder::sum)
+        .register(meterRegistry);
+    Gauge.builder("auction.authentication.cache.size", this, AuthenticationCache::size)
+        .register(meterRegistry);
+  }
+
+  public synchronized Optional<UserDetails> get(String token) {
+    var key = hash(token);
+    var entry = entries.get(key);
+
+    if (entry == null) {
+      misses.increment();
+      return Optional.empty();
+    }
+    if (entry.expiresAt().isBefore(TimeContext.timeProvider().now())) {
+      entries.remove(key);
+      evictions.increment();
+      misses.increment();
+      return Optional.empty();
+    }
+    hits.increment();
+    return Optional.of(copyOf(entry.userDetails()));
+  }
+
+  public synchronized long generation() {
+    return generation;
+  }
+
+  /**
+   * Keeps a user looked up at the given {@link #generation()}, unless that user was invalidated
+   * since.
+   */
+  public synchronized void put(String token, int userId, UserDetails userDetails, long generation) {
+    if (invalidatedAt.getOrDefault(userId, 0L) > generation) {
+      return;
+    }
+    var expiresAt = TimeContext.timeProvider().now().plus(timeToLive);
+    entries.put(hash(token), new Entry(userId, copyOf(userDetails), expiresAt));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserChanged(UserChangedEvent event) {
+    invalidate(event.userId());
+  }
+
+  public synchronized void invalidate(int userId) {
+    invalidatedAt.put(userId, ++generation);
+    entries.values().removeIf(entry -> entry.userId() == userId);
+  }
+
+  public synchronized Stats stats() {
+    return new Stats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+  }
+
+  private synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Spring Security erases the credentials of the authenticated principal, so the cache never
+   * shares its instances.
+   */
+  private static UserDetails copyOf(UserDetails userDetails) {
+    return User.withUserDetails(userDetails).build();
+  }
+
+  private static String hash(String token) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(UTF_8));
+      return Base64.getEncoder().encodeToString(digest);
+    } catch (NoSuchAlgorithmException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  public record Stats(long hits, long misses, long evictions, int size) {
+  }
+
+  private record Entry(int userId, UserDetails userDetails, Instant expiresAt) {
+  }
+}
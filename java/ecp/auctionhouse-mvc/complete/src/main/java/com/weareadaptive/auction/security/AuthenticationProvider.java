@@ -16,6 +16,8 @@ public class AuthenticationProvider extends AbstractUserDetailsAuthenticationPro
 
   @Autowired
   private UserService userService;
+  @Autowired
+  private AuthenticationCache authenticationCache;
 
   @Override
   public boolean supports(Class<?> authentication) {
@@ -44,23 +46,31 @@ public class AuthenticationProvider extends AbstractUserDetailsAuthenticationPro
   }
 
   private UserDetails getUser(@NotNull String token) {
+    var cachedUser = authenticationCache.get(token);
+    if (cachedUser.isPresent()) {
+      return cachedUser.get();
+    }
+
     var splitIndex = token.indexOf(":");
     if (splitIndex < 1) {
       throw new BadCredentialsException("Bad token");
     }
     var username = token.substring(0, splitIndex);
     var password = token.substring(splitIndex + 1);
+    var generation = authenticationCache.generation();
     var user = userService.validateUsernamePassword(username, password);
 
     if (user.isEmpty()) {
       throw new UsernameNotFoundException("Bad token");
     }
-    return User.builder()
+    var userDetails = User.builder()
           .username(user.get().getUsername())
           .password(password)
           .roles(user.get().isAdmin() ? "ADMIN" : "USER")
           .disabled(user.get().isBlocked())
           .build();
+    authenticationCache.put(token, user.get().getId(), userDetails, generation);
+    return userDetails;
   }
 
 }
@@ -1,5 +1,8 @@
 package com.weareadaptive.auction.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -35,6 +38,14 @@ public class SecurityConfiguration {
     return new AuthenticationProvider();
   }
 
+  @Bean
+  public AuthenticationCache authenticationCache(
+      @Value("${auction.security.authentication-cache.max-size}") int maxSize,
+      @Value("${auction.security.authentication-cache.time-to-live}") Duration timeToLive,
+      MeterRegistry meterRegistry) {
+    return new AuthenticationCache(maxSize, timeToLive, meterRegistry);
+  }
+
   @Bean
   public WebSecurityCustomizer webSecurityCustomizer() {
     return (web) -> web.debug(true).ignoring().requestMatchers("/token/**");
@@ -47,7 +58,9 @@ public class SecurityConfiguration {
         .and()
         .exceptionHandling()
         .and()
-        .authorizeHttpRequests((requests) -> requests.anyRequest().authenticated())
+        .authorizeHttpRequests((requests) -> requests
+            .requestMatchers("/actuator/**").hasRole("ADMIN")
+            .anyRequest().authenticated())
         .csrf().disable()
         .addFilterBefore(authenticationFilter(), AnonymousAuthenticationFilter.class)
         .formLogin().disable()
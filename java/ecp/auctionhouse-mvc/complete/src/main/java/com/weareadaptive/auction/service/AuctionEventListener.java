@@ -0,0 +1,16 @@
+package com.weareadaptive.auction.service;
+
+import com.weareadaptive.auction.model.AuctionEvent;
+
+public interface AuctionEventListener {
+  /**
+   * Delivers an event, called by one thread at a time. Throwing unsubscribes the listener.
+   */
+  void onEvent(AuctionEvent event) throws Exception;
+
+  /**
+   * Called once no more events will be delivered: the lot closed, the listener was too slow to
+   * keep up or it unsubscribed.
+   */
+  void onClose();
+}
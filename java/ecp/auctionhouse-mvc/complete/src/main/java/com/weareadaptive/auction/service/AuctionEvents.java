@@ -0,0 +1,230 @@
+package com.weareadaptive.auction.service;
+
+import com.weareadaptive.auction.model.AuctionEvent;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Fans the live events of each auction lot out to its subscribers. Every subscriber has its own
+ * bounded buffer, drained by a background thread so publishers never wait on a client. Best bid
+ * updates are conflated: a subscriber only receives the latest one. A subscriber whose buffer
+ * fills up is disconnected, and is expected to reconnect and read the current state again.
+ *
+ * <p>Buffers are drained by a pool of at most {@code threads} threads, a subscriber waiting for a
+ * thread takes one slot of a queue of {@code queue-capacity}. A subscriber that finds the queue
+ * full is disconnected the same way.
+ */
+@Component
+public class AuctionEvents {
+  private final int bufferSize;
+  private final Executor executor;
+  private final Map<Integer, Set<Subscriber>> subscribers;
+
+  @Autowired
+  public AuctionEvents(@Value("${auction.events.buffer-size}") int bufferSize,
+                       @Value("${auction.events.threads}") int threads,
+                       @Value("${auction.events.queue-capacity}") int queueCapacity) {
+    this(bufferSize, executor(threads, queueCapacity));
+  }
+
+  AuctionEvents(int bufferSize, Executor executor) {
+    if (bufferSize < 1) {
+      throw new IllegalArgumentException("bufferSize must be above 0");
+    }
+    this.bufferSize = bufferSize;
+    this.executor = executor;
+    subscribers = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Registers a listener for the events of an auction lot, returns the action unsubscribing it.
+   */
+  public Runnable subscribe(int auctionLotId, AuctionEventListener listener) {
+    var subscriber = new Subscriber(auctionLotId, listener);
+    subscribers.computeIfAbsent(auctionLotId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+    return subscriber::close;
+  }
+
+  public boolean hasSubscribers(int auctionLotId) {
+    var lotSubscribers = subscribers.get(auctionLotId);
+    return lotSubscribers != null && !lotSubscribers.isEmpty();
+  }
+
+  /**
+   * Sends an event to the subscribers of its lot, once the surrounding transaction is committed.
+   * Subscribers are released after a lot closed event.
+   */
+  public void publish(AuctionEvent event) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      dispatch(event);
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        dispatch(event);
+      }
+    });
+  }
+
+  @PreDestroy
+  public void stop() {
+    subscribers.values().forEach(lotSubscribers -> lotSubscribers.forEach(Subscriber::close));
+    if (executor instanceof ExecutorService executorService) {
+      executorService.shutdown();
+    }
+  }
+
+  private static ExecutorService executor(int threads, int queueCapacity) {
+    var executor = new ThreadPoolExecutor(
+        threads,
+        threads,
+        60,
+        TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        runnable -> {
+          var thread = new Thread(runnable, "auction-events");
+          thread.setDaemon(true);
+          return thread;
+        });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private void dispatch(AuctionEvent event) {
+    var lotSubscribers = event instanceof AuctionEvent.LotClosed
+        ? subscribers.remove(event.auctionLotId())
+        : subscribers.get(event.auctionLotId());
+    if (lotSubscribers != null) {
+      lotSubscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+  }
+
+  private void remove(Subscriber subscriber) {
+    subscribers.computeIfPresent(subscriber.auctionLotId, (id, lotSubscribers) -> {
+      lotSubscribers.remove(subscriber);
+      return lotSubscribers.isEmpty() ? null : lotSubscribers;
+    });
+  }
+
+  private final class Subscriber {
+    private final int auctionLotId;
+    private final AuctionEventListener listener;
+    private final ArrayDeque<AuctionEvent> buffer;
+    private AuctionEvent.BestBidChanged pendingBestBid;
+    private AuctionEvent.BestBidChanged sentBestBid;
+    private boolean draining;
+    private boolean lastEventQueued;
+    private boolean closed;
+
+    private Subscriber(int auctionLotId, AuctionEventListener listener) {
+      this.auctionLotId = auctionLotId;
+      this.listener = listener;
+      buffer = new ArrayDeque<>();
+    }
+
+    private void offer(AuctionEvent event) {
+      synchronized (this) {
+        if (closed || lastEventQueued) {
+          return;
+        }
+        if (event instanceof AuctionEvent.BestBidChanged bestBid) {
+          pendingBestBid = bestBid;
+        } else if (buffer.size() < bufferSize) {
+          buffer.add(event);
+          lastEventQueued = event instanceof AuctionEvent.LotClosed;
+        } else {
+          buffer.clear();
+          pendingBestBid = null;
+          lastEventQueued = true;
+        }
+
+        if (draining) {
+          return;
+        }
+        draining = true;
+      }
+      try {
+        executor.execute(this::drain);
+      } catch (RejectedExecutionException exception) {
+        close();
+      }
+    }
+
+    private void close() {
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        closed = true;
+        buffer.clear();
+        pendingBestBid = null;
+      }
+      remove(this);
+      listener.onClose();
+    }
+
+    private void drain() {
+      while (true) {
+        AuctionEvent next;
+        synchronized (this) {
+          next = next();
+          if (next == null) {
+            draining = false;
+            if (!lastEventQueued) {
+              return;
+            }
+          }
+        }
+
+        if (next == null) {
+          close();
+          return;
+        }
+        try {
+          listener.onEvent(next);
+        } catch (Exception exception) {
+          close();
+          return;
+        }
+      }
+    }
+
+    /**
+     * Buffered events come first, except the closing event which is kept for last.
+     */
+    private AuctionEvent next() {
+      if (closed) {
+        return null;
+      }
+      var head = buffer.peek();
+      if (head != null && !(head instanceof AuctionEvent.LotClosed)) {
+        return buffer.poll();
+      }
+      if (pendingBestBid != null) {
+        var bestBid = pendingBestBid;
+        pendingBestBid = null;
+        if (!bestBid.equals(sentBestBid)) {
+          sentBestBid = bestBid;
+          return bestBid;
+        }
+      }
+      return buffer.poll();
+    }
+  }
+}
@@ -0,0 +1,164 @@
+package com.weareadaptive.auction.service;
+
+import com.weareadaptive.auction.TimeContext;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.AuctionLotView;
+import com.weareadaptive.auction.model.ClosingSummary;
+import com.weareadaptive.auction.repository.AuctionLotRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Near-cache of the auction lots, read through on first use and written through by the service
+ * when a lot is created or closed. Both the lots and the closing summaries are bounded, the least
+ * recently used entry is evicted once {@code max-size} is reached. Open lots are read again after
+ * their {@code time-to-live}, closed lots and their closing summary never change so they are kept
+ * until evicted. Hits and misses are published as {@code auction.lot.cache.gets} and
+ * {@code auction.closing-summary.cache.gets}.
+ */
+@Component
+public class AuctionLotCache {
+  private final AuctionLotRepository auctionLotRepository;
+  private final Duration timeToLive;
+  private final Entries<Entry> auctionLots;
+  private final Entries<ClosingSummary> closingSummaries;
+  private final LongAdder auctionLotHits;
+  private final LongAdder auctionLotMisses;
+  private final LongAdder closingSummaryHits;
+  private final LongAdder closingSummaryMisses;
+
+  public AuctionLotCache(
+      AuctionLotRepository auctionLotRepository,
+      @Value("${auction.lot-cache.max-size}") int maxSize,
+      @Value("${auction.lot-cache.time-to-live}") Duration timeToLive,
+      @Value("${auction.lot-cache.closing-summary-max-size}") int closingSummaryMaxSize,
+      MeterRegistry meterRegistry) {
+    if (maxSize < 1 || closingSummaryMaxSize < 1) {
+      throw new IllegalArgumentException("max-size must be above 0");
+    }
+    this.auctionLotRepository = auctionLotRepository;
+    this.timeToLive = timeToLive;
+    auctionLots = new Entries<>(maxSize);
+    closingSummaries = new Entries<>(closingSummaryMaxSize);
+    auctionLotHits = new LongAdder();
+    auctionLotMisses = new LongAdder();
+    closingSummaryHits = new LongAdder();
+    closingSummaryMisses = new LongAdder();
+
+    registerMetrics(meterRegistry, "auction.lot.cache", auctionLots,
+        auctionLotHits, auctionLotMisses);
+    registerMetrics(meterRegistry, "auction.closing-summary.cache", closingSummaries,
+        closingSummaryHits, closingSummaryMisses);
+  }
+
+  public Optional<AuctionLotView> get(int auctionLotId) {
+    var now = TimeContext.timeProvider().now();
+    var entry = auctionLots.get(auctionLotId);
+    if (entry != null && !entry.expiresAt().isBefore(now)) {
+      auctionLotHits.increment();
+      return Optional.of(entry.auctionLot());
+    }
+
+    auctionLotMisses.increment();
+    if (entry != null) {
+      auctionLots.remove(auctionLotId, entry);
+    }
+    var loaded = auctionLotRepository.findById(auctionLotId).map(AuctionLotView::of);
+    loaded.ifPresent(v -> auctionLots.putIfAbsent(auctionLotId, entryOf(v, now)));
+    return loaded;
+  }
+
+  /**
+   * Records the new state of a lot, called once the change is committed.
+   */
+  public void update(AuctionLot auctionLot) {
+    var auctionLotView = AuctionLotView.of(auctionLot);
+    auctionLots.put(auctionLot.getId(), entryOf(auctionLotView, TimeContext.timeProvider().now()));
+  }
+
+  public Optional<ClosingSummary> getClosingSummary(int auctionLotId) {
+    var closingSummary = closingSummaries.get(auctionLotId);
+    if (closingSummary == null) {
+      closingSummaryMisses.increment();
+      return Optional.empty();
+    }
+    closingSummaryHits.increment();
+    return Optional.of(closingSummary);
+  }
+
+  /**
+   * Keeps the closing summary of a closed lot, called once the close is committed.
+   */
+  public void putClosingSummary(int auctionLotId, ClosingSummary closingSummary) {
+    closingSummaries.put(auctionLotId, closingSummary);
+  }
+
+  private Entry entryOf(AuctionLotView auctionLot, Instant now) {
+    return new Entry(auctionLot, auctionLot.status() == AuctionLot.Status.CLOSED
+        ? Instant.MAX
+        : now.plus(timeToLive));
+  }
+
+  private static void registerMetrics(MeterRegistry meterRegistry,
+                                      String name,
+                                      Entries<?> entries,
+                                      LongAdder hits,
+                                      LongAdder misses) {
+    FunctionCounter.builder(name + ".gets", hits, LongAdder::sum)
+        .tag("result", "hit")
+        .register(meterRegistry);
+    FunctionCounter.builder(name + ".gets", misses, LongAdder::sum)
+        .tag("result", "miss")
+        .register(meterRegistry);
+    Gauge.builder(name + ".size", entries, Entries::size)
+        .register(meterRegistry);
+  }
+
+  private record Entry(AuctionLotView auctionLot, Instant expiresAt) {
+  }
+
+  /**
+   * Least recently used entries by lot id, evicted above {@code maxSize}.
+   */
+  private static final class Entries<V> {
+    private final LinkedHashMap<Integer, V> entries;
+
+    private Entries(int maxSize) {
+      entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, V> eldest) {
+          return size() > maxSize;
+        }
+      };
+    }
+
+    private synchronized V get(int auctionLotId) {
+      return entries.get(auctionLotId);
+    }
+
+    private synchronized void put(int auctionLotId, V value) {
+      entries.put(auctionLotId, value);
+    }
+
+    private synchronized void putIfAbsent(int auctionLotId, V value) {
+      entries.putIfAbsent(auctionLotId, value);
+    }
+
+    private synchronized void remove(int auctionLotId, V value) {
+      entries.remove(auctionLotId, value);
+    }
+
+    private synchronized int size() {
+      return entries.size();
+    }
+  }
+}
@@ -0,0 +1,290 @@
+package com.weareadaptive.auction.service;
+
+import static java.lang.Math.addExact;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
+import com.weareadaptive.auction.model.AuctionEvent;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.AuctionLotView;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.BidLadder;
+import com.weareadaptive.auction.model.CloseResult;
+import com.weareadaptive.auction.model.ClosingSummary;
+import com.weareadaptive.auction.model.Price;
+import com.weareadaptive.auction.repository.AuctionLotRepository;
+import com.weareadaptive.auction.repository.BidReposity;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Closes auction lots: fills their bids, stores the totals on the lots and publishes the close.
+ * The lots given together are closed in one transaction. The winning bids of all the lots with a
+ * live {@link BidLadder} are loaded in one query and updated in JDBC batches, then the remaining
+ * bids of those lots are marked lost in one statement.
+ *
+ * <p>{@link #closeInParallel} spreads many lots over the workers of a fork/join pool of
+ * {@code parallelism} threads. The lots are split in halves down to chunks of at most
+ * {@code batch-size} lots, and each chunk is closed in its own transaction. A chunk that fails
+ * rolls back and fails only its own lots. The lots are locked FOR UPDATE, so bids on them wait for
+ * the close and two closes of the same lot run one after the other.
+ *
+ * <p>The cache, the ladders, the counters and the subscribers only see the close once its
+ * transaction is committed.
+ */
+@Component
+public class AuctionLotCloser {
+  private static final Logger LOGGER = LoggerFactory.getLogger(AuctionLotCloser.class);
+  // Keeps the bid ids of one query well under the bind parameter limit of the driver
+  private static final int MAX_IDS_PER_QUERY = 10_000;
+  private final AuctionLotRepository auctionLotRepository;
+  private final BidReposity bidReposity;
+  private final BidLadders bidLadders;
+  private final AuctionLotCache auctionLotCache;
+  private final AuctionEvents auctionEvents;
+  private final OrganisationCounters organisationCounters;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final ForkJoinPool pool;
+
+  public AuctionLotCloser(
+      AuctionLotRepository auctionLotRepository,
+      BidReposity bidReposity,
+      BidLadders bidLadders,
+      AuctionLotCache auctionLotCache,
+      AuctionEvents auctionEvents,
+      OrganisationCounters organisationCounters,
+      TransactionTemplate transactionTemplate,
+      @Value("${auction.close.parallelism}") int parallelism,
+      @Value("${auction.close.batch-size}") int batchSize) {
+    if (batchSize < 1) {
+      throw new IllegalArgumentException("batch-size must be above 0");
+    }
+    this.auctionLotRepository = auctionLotRepository;
+    this.bidReposity = bidReposity;
+    this.bidLadders = bidLadders;
+    this.auctionLotCache = auctionLotCache;
+    this.auctionEvents = auctionEvents;
+    this.organisationCounters = organisationCounters;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+    pool = new ForkJoinPool(
+        parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+  }
+
+  @PreDestroy
+  public void stop() {
+    pool.shutdown();
+  }
+
+  /**
+   * Closes open lots in the current transaction, or a new one, and returns their closing
+   * summaries in the same order.
+   */
+  public List<ClosingSummary> close(List<AuctionLot> auctionLots, Instant closedAt) {
+    return transactionTemplate.execute(status -> {
+      var winBids = clear(auctionLots);
+      for (var auctionLot : auctionLots) {
+        auctionLot.setClosedAt(closedAt);
+        auctionLot.setStatus(AuctionLot.Status.CLOSED);
+        setClosingTotals(auctionLot, winBids.get(auctionLot.getId()));
+      }
+      auctionLotRepository.saveAll(auctionLots);
+
+      var closingSummaries = new ArrayList<ClosingSummary>(auctionLots.size());
+      for (var auctionLot : auctionLots) {
+        closingSummaries.add(
+            ClosingSummary.of(AuctionLotView.of(auctionLot), winBids.get(auctionLot.getId())));
+        // Counted by the counters themselves once committed
+        organisationCounters.lotClosed(auctionLot.getOwner(), auctionLot.getRevenueTicks());
+      }
+      afterCommit(() -> {
+        for (var i = 0; i < auctionLots.size(); i++) {
+          var auctionLot = auctionLots.get(i);
+          var auctionLotId = auctionLot.getId();
+          auctionLotCache.update(auctionLot);
+          auctionLotCache.putClosingSummary(auctionLotId, closingSummaries.get(i));
+          bidLadders.remove(auctionLotId);
+          auctionEvents.publish(new AuctionEvent.LotClosed(auctionLotId, closedAt));
+        }
+      });
+      return closingSummaries;
+    });
+  }
+
+  /**
+   * Closes the lots with the given ids on the fork/join pool, see {@link AuctionLotCloser}. The
+   * lots are read again by each chunk, one closed in the meantime is reported already closed.
+   */
+  public List<CloseResult> closeInParallel(List<Integer> auctionLotIds, Instant closedAt) {
+    return pool.invoke(new CloseTask(auctionLotIds, closedAt));
+  }
+
+  private List<CloseResult> closeChunk(List<Integer> auctionLotIds, Instant closedAt) {
+    try {
+      return transactionTemplate.execute(status -> {
+        var auctionLots = auctionLotRepository.findAllByIdForUpdate(auctionLotIds)
+            .stream()
+            .collect(toMap(AuctionLot::getId, identity()));
+        var openLots = auctionLots.values()
+            .stream()
+            .filter(auctionLot -> auctionLot.getStatus() == AuctionLot.Status.OPENED)
+            .toList();
+        var closingSummaries = new HashMap<Integer, ClosingSummary>();
+        var closed = close(openLots, closedAt);
+        for (var i = 0; i < openLots.size(); i++) {
+          closingSummaries.put(openLots.get(i).getId(), closed.get(i));
+        }
+
+        var results = new ArrayList<CloseResult>(auctionLotIds.size());
+        for (var auctionLotId : auctionLotIds) {
+          var closingSummary = closingSummaries.get(auctionLotId);
+          if (closingSummary != null) {
+            results.add(new CloseResult(auctionLotId, CloseResult.Status.CLOSED, closingSummary));
+          } else if (auctionLots.containsKey(auctionLotId)) {
+            results.add(CloseResult.of(auctionLotId, CloseResult.Status.ALREADY_CLOSED));
+          } else {
+            results.add(CloseResult.of(auctionLotId, CloseResult.Status.NOT_FOUND));
+          }
+        }
+        return results;
+      });
+    } catch (RuntimeException exception) {
+      LOGGER.warn("Failed to close {} auction lots from id {}", auctionLotIds.size(),
+          auctionLotIds.get(0), exception);
+      return auctionLotIds.stream()
+          .map(auctionLotId -> CloseResult.of(auctionLotId, CloseResult.Status.FAILED))
+          .toList();
+    }
+  }
+
+  /**
+   * Winning bids of each lot, in fill order. Lots without a live ladder, or whose ladder does not
+   * hold all their pending bids yet, are cleared by the database one at a time.
+   */
+  private Map<Integer, List<Bid>> clear(List<AuctionLot> auctionLots) {
+    var bidLadderByLot = new HashMap<Integer, BidLadder>();
+    for (var auctionLot : auctionLots) {
+      var bidLadder = bidLadders.get(auctionLot.getId());
+      if (bidLadder != null) {
+        bidLadderByLot.put(auctionLot.getId(), bidLadder);
+      }
+    }
+    // A bid committed just before the lock may not be in its ladder yet
+    var pendingBids = new HashMap<Integer, Long>();
+    if (!bidLadderByLot.isEmpty()) {
+      bidReposity.countPendingBids(bidLadderByLot.keySet()).forEach(
+          count -> pendingBids.put(count.getAuctionLotId(), count.getPendingBids()));
+    }
+
+    var winBids = new HashMap<Integer, List<Bid>>();
+    var fills = new LinkedHashMap<Integer, List<BidLadder.Fill>>();
+    for (var auctionLot : auctionLots) {
+      var bidLadder = bidLadderByLot.get(auctionLot.getId());
+      if (bidLadder == null
+          || bidLadder.size() != pendingBids.getOrDefault(auctionLot.getId(), 0L)) {
+        winBids.put(auctionLot.getId(),
+            bidReposity.clearBidsForAuction(auctionLot.getId(), auctionLot.getQuantity()));
+      } else {
+        fills.put(auctionLot.getId(), bidLadder.fill(auctionLot.getQuantity()));
+      }
+    }
+    if (fills.isEmpty()) {
+      return winBids;
+    }
+
+    var bidIds = fills.values()
+        .stream()
+        .flatMap(List::stream)
+        .map(BidLadder.Fill::bidId)
+        .toList();
+    var bids = new HashMap<Integer, Bid>(bidIds.size());
+    for (var from = 0; from < bidIds.size(); from += MAX_IDS_PER_QUERY) {
+      var slice = bidIds.subList(from, Math.min(from + MAX_IDS_PER_QUERY, bidIds.size()));
+      bidReposity.findAllById(slice).forEach(bid -> bids.put(bid.getId(), bid));
+    }
+
+    var updatedBids = new ArrayList<Bid>(bidIds.size());
+    fills.forEach((auctionLotId, lotFills) -> {
+      var lotWinBids = new ArrayList<Bid>(lotFills.size());
+      for (var fill : lotFills) {
+        var bid = bids.get(fill.bidId());
+        bid.setState(Bid.State.WIN);
+        bid.setWinQuantity(fill.winQuantity());
+        lotWinBids.add(bid);
+      }
+      winBids.put(auctionLotId, lotWinBids);
+      updatedBids.addAll(lotWinBids);
+    });
+    bidReposity.saveAllAndFlush(updatedBids);
+    bidReposity.loseRemainingBids(fills.keySet());
+    return winBids;
+  }
+
+  private static void setClosingTotals(AuctionLot auctionLot, List<Bid> winBids) {
+    var revenueTicks = 0L;
+    var soldQuantity = 0;
+    for (var bid : winBids) {
+      var notional = Price.notional(bid.getPriceTicks(), bid.getWinQuantity());
+      revenueTicks = addExact(revenueTicks, notional);
+      soldQuantity += bid.getWinQuantity();
+    }
+    auctionLot.setSoldQuantity(soldQuantity);
+    auctionLot.setRevenueTicks(revenueTicks);
+    auctionLot.setWinnerCount(winBids.size());
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  private final class CloseTask extends RecursiveTask<List<CloseResult>> {
+    private final List<Integer> auctionLotIds;
+    private final Instant closedAt;
+
+    private CloseTask(List<Integer> auctionLotIds, Instant closedAt) {
+      this.auctionLotIds = auctionLotIds;
+      this.closedAt = closedAt;
+    }
+
+    @Override
+    protected List<CloseResult> compute() {
+      if (auctionLotIds.size() <= batchSize) {
+        return closeChunk(auctionLotIds, closedAt);
+      }
+
+      var middle = auctionLotIds.size() / 2;
+      var left = new CloseTask(auctionLotIds.subList(0, middle), closedAt);
+      left.fork();
+      var right = new CloseTask(auctionLotIds.subList(middle, auctionLotIds.size()), closedAt)
+          .compute();
+      var results = new ArrayList<>(left.join());
+      results.addAll(right);
+      return results;
+    }
+  }
+}
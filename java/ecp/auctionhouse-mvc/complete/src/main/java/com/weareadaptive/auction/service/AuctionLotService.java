@@ -1,23 +1,30 @@
 package com.weareadaptive.auction.service;
 
 import static java.lang.Math.min;
-import static java.math.BigDecimal.valueOf;
-import static java.util.Collections.reverseOrder;
-import static java.util.Comparator.comparing;
-import static java.util.Comparator.comparingInt;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 
 import com.weareadaptive.auction.TimeContext;
 import com.weareadaptive.auction.exception.NotFoundException;
+import com.weareadaptive.auction.model.AuctionEvent;
 import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.AuctionLotView;
 import com.weareadaptive.auction.model.Bid;
 import com.weareadaptive.auction.model.BusinessException;
+import com.weareadaptive.auction.model.ClearingEstimate;
+import com.weareadaptive.auction.model.CloseResult;
 import com.weareadaptive.auction.model.ClosingSummary;
+import com.weareadaptive.auction.model.UserBid;
 import com.weareadaptive.auction.repository.AuctionLotRepository;
 import com.weareadaptive.auction.repository.BidReposity;
-import java.math.BigDecimal;
-import java.util.ArrayList;
+import jakarta.persistence.EntityManager;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,17 +32,39 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class AuctionLotService {
   public static final String AUCTION_LOT_ENTITY = "AuctionLot";
+  public static final int MAX_PAGE_SIZE = 1000;
   private final AuctionLotRepository auctionLotRepository;
   private final BidReposity bidReposity;
+  private final BidLadders bidLadders;
+  private final AuctionLotCache auctionLotCache;
+  private final BidWriter bidWriter;
+  private final AuctionEvents auctionEvents;
+  private final OrganisationCounters organisationCounters;
+  private final AuctionLotCloser auctionLotCloser;
+  private final EntityManager entityManager;
 
   public AuctionLotService(AuctionLotRepository auctionLotRepository,
-                           BidReposity bidReposity) {
+                           BidReposity bidReposity,
+                           BidLadders bidLadders,
+                           AuctionLotCache auctionLotCache,
+                           BidWriter bidWriter,
+                           AuctionEvents auctionEvents,
+                           OrganisationCounters organisationCounters,
+                           AuctionLotCloser auctionLotCloser,
+                           EntityManager entityManager) {
     this.auctionLotRepository = auctionLotRepository;
     this.bidReposity = bidReposity;
+    this.bidLadders = bidLadders;
+    this.auctionLotCache = auctionLotCache;
+    this.bidWriter = bidWriter;
+    this.auctionEvents = auctionEvents;
+    this.organisationCounters = organisationCounters;
+    this.auctionLotCloser = auctionLotCloser;
+    this.entityManager = entityManager;
   }
 
-  public Optional<AuctionLot> get(int id) {
-    return auctionLotRepository.findById(id);
+  public Optional<AuctionLotView> get(int id) {
+    return auctionLotCache.get(id);
   }
 
   public AuctionLot create(String owner, String symbol, double minPrice, int quantity) {
@@ -46,31 +75,79 @@ public class AuctionLotService {
         minPrice
     );
     auctionLotRepository.save(auctionLot);
+    auctionLotCache.update(auctionLot);
+    bidLadders.open(auctionLot.getId());
+    organisationCounters.lotOpened(owner);
     return auctionLot;
   }
 
   public void bid(String username, int auctionLotId, int quantity, double price) {
-    var auctionLot = auctionLotRepository.findById(auctionLotId);
+    var auctionLot = auctionLotCache.get(auctionLotId)
+        .orElseThrow(() -> new NotFoundException(AUCTION_LOT_ENTITY, auctionLotId));
 
-    if (auctionLot.isEmpty()) {
-      throw new NotFoundException(AUCTION_LOT_ENTITY, auctionLotId);
+    if (auctionLot.owner().equals(username)) {
+      throw new BusinessException("user cannot bid on his auction");
     }
 
-    if (auctionLot.get().getOwner().equals(username)) {
-      throw new BusinessException("user cannot bid on his auction");
+    if (auctionLot.status() == AuctionLot.Status.CLOSED) {
+      throw new BusinessException("Cannot bid on a closed auction");
+    }
+
+    bidWriter.write(new Bid(auctionLotId, username, quantity, price));
+
+    if (auctionEvents.hasSubscribers(auctionLotId)) {
+      auctionEvents.publish(new AuctionEvent.BidPlaced(auctionLotId, username, quantity, price));
+      bidLadders.best(auctionLotId).ifPresent(best -> auctionEvents.publish(
+          new AuctionEvent.BestBidChanged(auctionLotId, best.price(), best.quantity())));
+    }
+  }
+
+  /**
+   * Follows the live events of an auction lot, see {@link AuctionEvents}. A listener subscribing
+   * to a closed lot only receives the lot closed event.
+   */
+  public Runnable subscribe(int auctionLotId, AuctionEventListener listener) {
+    if (auctionLotCache.get(auctionLotId).isEmpty()) {
+      throw new NotFoundException(AUCTION_LOT_ENTITY, auctionLotId);
     }
 
-    var bid = new Bid(auctionLotId, username, quantity, price);
-    bidReposity.save(bid);
+    var unsubscribe = auctionEvents.subscribe(auctionLotId, listener);
+    bidLadders.best(auctionLotId).ifPresent(best -> auctionEvents.publish(
+        new AuctionEvent.BestBidChanged(auctionLotId, best.price(), best.quantity())));
+
+    // Checked once subscribed so a lot closing in between is not missed
+    var auctionLot = auctionLotCache.get(auctionLotId).orElseThrow();
+    if (auctionLot.status() == AuctionLot.Status.CLOSED) {
+      auctionEvents.publish(new AuctionEvent.LotClosed(auctionLotId, auctionLot.closedAt()));
+    }
+    return unsubscribe;
   }
 
   public List<AuctionLot> getAll() {
     return auctionLotRepository.findAll();
   }
 
+  public List<AuctionLot> getAll(int afterId, int limit) {
+    return auctionLotRepository.getAuctionLotsAfter(afterId, pageOf(limit));
+  }
+
+  /**
+   * Reads every auction lot through a JDBC cursor, each lot is detached once consumed so the
+   * memory used does not depend on the size of the table.
+   */
+  @Transactional(readOnly = true)
+  public void forEachAuctionLot(Consumer<AuctionLot> consumer) {
+    try (var auctionLots = auctionLotRepository.streamAll()) {
+      auctionLots.forEach(auctionLot -> {
+        consumer.accept(auctionLot);
+        entityManager.detach(auctionLot);
+      });
+    }
+  }
+
   @Transactional
   public ClosingSummary close(String username, int auctionLotId) {
-    var auctionLot = auctionLotRepository.findById(auctionLotId)
+    var auctionLot = auctionLotRepository.findByIdForUpdate(auctionLotId)
         .orElseThrow(() -> new NotFoundException(AUCTION_LOT_ENTITY, auctionLotId));
 
     if (!auctionLot.getOwner().equals(username)) {
@@ -81,83 +158,134 @@ public class AuctionLotService {
       throw new BusinessException("Cannot close because already closed.");
     }
 
-    var auctionBids = bidReposity.getBidsForAuction(auctionLotId);
-    //TODO: Can be much better. It is pretty intense for get everything from the DB
-    var orderedBids = auctionBids
+    return auctionLotCloser.close(List.of(auctionLot), TimeContext.timeProvider().now()).get(0);
+  }
+
+  /**
+   * Closes many lots of a user at once, in parallel, see {@link AuctionLotCloser}. Each lot gets
+   * its own result, in the order of the ids, lots of other users are not closed.
+   */
+  public List<CloseResult> closeAll(String username, List<Integer> auctionLotIds) {
+    var ids = List.copyOf(new LinkedHashSet<>(auctionLotIds));
+    var owners = new HashMap<Integer, String>();
+    for (var from = 0; from < ids.size(); from += MAX_PAGE_SIZE) {
+      auctionLotRepository.findAllById(ids.subList(from, min(from + MAX_PAGE_SIZE, ids.size())))
+          .forEach(auctionLot -> owners.put(auctionLot.getId(), auctionLot.getOwner()));
+    }
+
+    var owned = ids.stream()
+        .filter(id -> username.equals(owners.get(id)))
+        .toList();
+    var closed = auctionLotCloser.closeInParallel(owned, TimeContext.timeProvider().now())
         .stream()
-        .sorted(reverseOrder(comparing(Bid::getPrice))
-            .thenComparing(reverseOrder(comparingInt(Bid::getQuantity))))
+        .collect(toMap(CloseResult::auctionLotId, identity()));
+
+    return ids.stream()
+        .map(id -> closed.getOrDefault(id, CloseResult.of(id, owners.containsKey(id)
+            ? CloseResult.Status.FORBIDDEN
+            : CloseResult.Status.NOT_FOUND)))
         .toList();
-    var availableQuantity = auctionLot.getQuantity();
-    var now = TimeContext.timeProvider().now();
-    var revenue = BigDecimal.ZERO;
-    auctionLot.setClosedAt(now);
-    auctionLot.setStatus(AuctionLot.Status.CLOSED);
-    var winBids = new ArrayList<Bid>();
-
-    for (Bid bid : orderedBids) {
-      if (availableQuantity > 0) {
-        bid.setState(Bid.State.WIN);
-        var bidQuantity = min(availableQuantity, bid.getQuantity());
-        bid.setWinQuantity(bidQuantity);
-        availableQuantity -= bidQuantity;
-        revenue = revenue.add(valueOf(bidQuantity).multiply(valueOf(bid.getPrice())));
-        winBids.add(bid);
-      } else {
-        bid.setState(Bid.State.LOST);
-      }
+  }
+
+  public ClearingEstimate getClearingEstimate(int auctionLotId) {
+    var auctionLot = auctionLotCache.get(auctionLotId)
+        .orElseThrow(() -> new NotFoundException(AUCTION_LOT_ENTITY, auctionLotId));
+
+    if (auctionLot.status() == AuctionLot.Status.CLOSED) {
+      throw new BusinessException("Auction is already closed");
     }
-    auctionLotRepository.save(auctionLot);
-    bidReposity.saveAll(auctionBids);
-    return createClosingSummary(auctionLot, winBids);
 
+    return bidLadders.estimate(auctionLotId, auctionLot.quantity());
   }
 
+  /**
+   * Closing summary of a closed lot with all its winning bids.
+   */
   public ClosingSummary getClosingSummary(String username, int auctionLotId) {
-    var auctionLot = auctionLotRepository.findById(auctionLotId)
+    var auctionLot = getClosedAuctionLot(username, auctionLotId);
+
+    return auctionLotCache.getClosingSummary(auctionLotId).orElseGet(() -> {
+      var winBids = bidReposity.getWinBidsForAuction(auctionLotId);
+      var closingSummary = ClosingSummary.of(auctionLot, winBids);
+      auctionLotCache.putClosingSummary(auctionLotId, closingSummary);
+      return closingSummary;
+    });
+  }
+
+  /**
+   * Closing summary of a closed lot with a page of its winning bids, by ascending bid id. The
+   * totals are stored on the lot, so only the page is read from the bids.
+   */
+  public ClosingSummary getClosingSummary(String username, int auctionLotId, int afterId,
+                                          int limit) {
+    var auctionLot = getClosedAuctionLot(username, auctionLotId);
+    var winBids = bidReposity.getWinBidsForAuctionAfter(auctionLotId, afterId, pageOf(limit));
+    return ClosingSummary.of(auctionLot, winBids);
+  }
+
+  private AuctionLotView getClosedAuctionLot(String username, int auctionLotId) {
+    var auctionLot = auctionLotCache.get(auctionLotId)
         .orElseThrow(NotFoundException::new);
 
-    if (!auctionLot.getOwner().equals(username)) {
+    if (!auctionLot.owner().equals(username)) {
       throw new AccessDeniedException("Only owner can access the closing summary");
     }
 
-    if (auctionLot.getStatus() != AuctionLot.Status.CLOSED) {
+    if (auctionLot.status() != AuctionLot.Status.CLOSED) {
       throw new NotFoundException();
     }
-
-    var winBids = bidReposity.getWinBidsForAuction(auctionLotId);
-    return createClosingSummary(auctionLot, winBids);
-  }
-
-  private ClosingSummary createClosingSummary(AuctionLot auctionLot, List<Bid> winBids) {
-    var revenue = winBids.stream()
-        .map(b -> valueOf(b.getWinQuantity()).multiply(valueOf(b.getPrice())))
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-    var soldQuantity = winBids
-        .stream()
-        .map(Bid::getWinQuantity)
-        .reduce(0, Integer::sum);
-    return new ClosingSummary(
-        winBids,
-        soldQuantity,
-        revenue,
-        auctionLot.getClosedAt()
-    );
+    return auctionLot;
   }
 
   public List<Bid> getBidsForUser(String username) {
     return bidReposity.getBidsForUser(username);
   }
 
+  /**
+   * Pages the bid history of a user by ascending bid id, optionally restricted to one state.
+   */
+  public List<UserBid> getBidsForUser(String username, Bid.State state, int afterId, int limit) {
+    return state == null
+        ? bidReposity.getUserBidsAfter(username, afterId, pageOf(limit))
+        : bidReposity.getUserBidsAfter(username, state, afterId, pageOf(limit));
+  }
+
   public List<Bid> getAuctionLotBids(int auctionLotId) {
-    if (!auctionLotRepository.existsById(auctionLotId)) {
+    if (auctionLotCache.get(auctionLotId).isEmpty()) {
       throw new NotFoundException(AUCTION_LOT_ENTITY, auctionLotId);
     }
 
     return bidReposity.getBidsForAuction(auctionLotId);
   }
 
+  public List<Bid> getAuctionLotBids(int auctionLotId, int afterId, int limit) {
+    if (auctionLotCache.get(auctionLotId).isEmpty()) {
+      throw new NotFoundException(AUCTION_LOT_ENTITY, auctionLotId);
+    }
+
+    return bidReposity.getBidsForAuctionAfter(auctionLotId, afterId, pageOf(limit));
+  }
+
+  /**
+   * Same as {@link #forEachAuctionLot} for the bids of an auction lot.
+   */
+  @Transactional(readOnly = true)
+  public void forEachAuctionLotBid(int auctionLotId, Consumer<Bid> consumer) {
+    try (var bids = bidReposity.streamBidsForAuction(auctionLotId)) {
+      bids.forEach(bid -> {
+        consumer.accept(bid);
+        entityManager.detach(bid);
+      });
+    }
+  }
+
+  private static Pageable pageOf(int limit) {
+    if (limit < 1) {
+      throw new BusinessException("limit must be above 0");
+    }
+    return PageRequest.ofSize(min(limit, MAX_PAGE_SIZE));
+  }
+
   public Optional<AuctionLot> getAuctionLotById(int auctionLotId) {
     return auctionLotRepository.findById(auctionLotId);
   }
@@ -0,0 +1,114 @@
+package com.weareadaptive.auction.service;
+
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.BidLadder;
+import com.weareadaptive.auction.model.ClearingEstimate;
+import com.weareadaptive.auction.repository.AuctionLotRepository;
+import com.weareadaptive.auction.repository.BidReposity;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Holds a {@link BidLadder} per open auction lot. A ladder is opened with its lot, fed by every
+ * accepted bid and dropped once the lot is closed; bids on a lot without a ladder are ignored, so
+ * a late bid cannot bring back the ladder of a closed lot. The ladders are rebuilt from the open
+ * lots and the pending bids of the {@code bid} table when the application starts.
+ *
+ * <p>A rebuild reads into new ladders and swaps them in whole. Ladders are opened, fed and dropped
+ * under the read side of a lock and the swap happens under the write side, so nothing done during
+ * a rebuild is lost.
+ */
+@Component
+public class BidLadders {
+  private final BidReposity bidReposity;
+  private final AuctionLotRepository auctionLotRepository;
+  private final ReadWriteLock lock;
+  private volatile Map<Integer, BidLadder> ladders;
+
+  public BidLadders(BidReposity bidReposity, AuctionLotRepository auctionLotRepository) {
+    this.bidReposity = bidReposity;
+    this.auctionLotRepository = auctionLotRepository;
+    lock = new ReentrantReadWriteLock();
+    ladders = new ConcurrentHashMap<>();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    lock.writeLock().lock();
+    try {
+      var rebuilt = new ConcurrentHashMap<Integer, BidLadder>();
+      auctionLotRepository.getOpenAuctionLotIds()
+          .forEach(auctionLotId -> rebuilt.put(auctionLotId, new BidLadder()));
+      for (var bid : bidReposity.getPendingBids()) {
+        var ladder = rebuilt.get(bid.getAuctionLotId());
+        if (ladder != null) {
+          ladder.add(bid);
+        }
+      }
+      ladders = rebuilt;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void open(int auctionLotId) {
+    lock.readLock().lock();
+    try {
+      ladders.putIfAbsent(auctionLotId, new BidLadder());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Adds a committed bid to the ladder of its lot, ignored when the lot has no ladder.
+   */
+  public void add(Bid bid) {
+    lock.readLock().lock();
+    try {
+      var ladder = ladders.get(bid.getAuctionLotId());
+      if (ladder != null) {
+        ladder.add(bid);
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public ClearingEstimate estimate(int auctionLotId, int quantity) {
+    var ladder = ladders.get(auctionLotId);
+    return ladder == null ? new ClearingEstimate(null, 0) : ladder.estimate(quantity);
+  }
+
+  public Optional<BidLadder.Best> best(int auctionLotId) {
+    var ladder = ladders.get(auctionLotId);
+    return ladder == null ? Optional.empty() : ladder.best();
+  }
+
+  /**
+   * Ladder of a lot being closed, null when the lot has no live ladder.
+   */
+  public BidLadder get(int auctionLotId) {
+    return ladders.get(auctionLotId);
+  }
+
+  /**
+   * Drops the ladder of a lot once its close is committed.
+   */
+  public BidLadder remove(int auctionLotId) {
+    lock.readLock().lock();
+    try {
+      return ladders.remove(auctionLotId);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+}
@@ -0,0 +1,224 @@
+package com.weareadaptive.auction.service;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.BusinessException;
+import com.weareadaptive.auction.repository.AuctionLotRepository;
+import com.weareadaptive.auction.repository.BidReposity;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Persists accepted bids. By default each bid is saved by the calling thread; when the pipeline
+ * is enabled, bids are queued and a single writer thread inserts them in JDBC batches of up to
+ * {@code max-batch-size} bids, waiting at most {@code linger} for a batch to fill. Callers
+ * return once the batch holding their bid is committed, or fail once the writer is stopped. Batch
+ * sizes are published as {@code auction.bids.batch.size}.
+ *
+ * <p>Bids are validated against the cached lot before being written, but the lot may close
+ * meanwhile. The insert transaction locks the lots of its bids FOR SHARE and rejects the bids on
+ * lots no longer opened; a close locks its lot FOR UPDATE, so it waits for the bids inserted
+ * before it and the bids after it see the lot closed. Only the committed bids are added to the
+ * ladders and counted for their organisation.
+ */
+@Component
+public class BidWriter {
+  private final BidReposity bidReposity;
+  private final AuctionLotRepository auctionLotRepository;
+  private final BidLadders bidLadders;
+  private final OrganisationCounters organisationCounters;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean pipelineEnabled;
+  private final int maxBatchSize;
+  private final Duration linger;
+  private final DistributionSummary batchSizes;
+  private final BlockingQueue<PendingBid> queue;
+  private final Thread writerThread;
+  private volatile boolean running;
+
+  public BidWriter(
+      BidReposity bidReposity,
+      AuctionLotRepository auctionLotRepository,
+      BidLadders bidLadders,
+      OrganisationCounters organisationCounters,
+      TransactionTemplate transactionTemplate,
+      @Value("${auction.bids.pipeline.enabled}") boolean pipelineEnabled,
+      @Value("${auction.bids.pipeline.max-batch-size}") int maxBatchSize,
+      @Value("${auction.bids.pipeline.linger}") Duration linger,
+      @Value("${auction.bids.pipeline.queue-capacity}") int queueCapacity,
+      MeterRegistry meterRegistry) {
+    if (maxBatchSize < 1) {
+      throw new IllegalArgumentException("max-batch-size must be above 0");
+    }
+    this.bidReposity = bidReposity;
+    this.auctionLotRepository = auctionLotRepository;
+    this.bidLadders = bidLadders;
+    this.organisationCounters = organisationCounters;
+    this.transactionTemplate = transactionTemplate;
+    this.pipelineEnabled = pipelineEnabled;
+    this.maxBatchSize = maxBatchSize;
+    this.linger = linger;
+    batchSizes = DistributionSummary.builder("auction.bids.batch.size")
+        .register(meterRegistry);
+    queue = new LinkedBlockingQueue<>(queueCapacity);
+    writerThread = new Thread(this::run, "bid-writer");
+    writerThread.setDaemon(true);
+
+    if (pipelineEnabled) {
+      running = true;
+      writerThread.start();
+    }
+  }
+
+  public void write(Bid bid) {
+    var pendingBid = new PendingBid(bid, new CompletableFuture<>());
+    try {
+      if (pipelineEnabled) {
+        if (!running) {
+          throw new CancellationException("Bid writer stopped");
+        }
+        queue.put(pendingBid);
+        // Stopped meanwhile, the writer may never take the bid
+        if (!running) {
+          cancelQueued();
+        }
+      } else {
+        insert(List.of(pendingBid));
+      }
+      pendingBid.ack().join();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted while submitting the bid");
+    } catch (CompletionException exception) {
+      if (exception.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw exception;
+    }
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    if (!running) {
+      return;
+    }
+    running = false;
+    writerThread.interrupt();
+    writerThread.join();
+    cancelQueued();
+  }
+
+  private void cancelQueued() {
+    var abandoned = new ArrayList<PendingBid>();
+    queue.drainTo(abandoned);
+    cancel(abandoned);
+  }
+
+  private static void cancel(List<PendingBid> pendingBids) {
+    pendingBids.forEach(p -> p.ack().completeExceptionally(
+        new CancellationException("Bid writer stopped")));
+  }
+
+  private void run() {
+    var batch = new ArrayList<PendingBid>(maxBatchSize);
+
+    try {
+      while (running) {
+        try {
+          var first = queue.poll(100, MILLISECONDS);
+          if (first == null) {
+            continue;
+          }
+          batch.add(first);
+          fill(batch);
+        } catch (InterruptedException exception) {
+          queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+
+        if (!batch.isEmpty()) {
+          insert(batch);
+          batch.clear();
+        }
+      }
+    } finally {
+      // Also reached when the thread dies of an Error, later writes then fail instead of waiting
+      running = false;
+      cancel(batch);
+      cancelQueued();
+    }
+  }
+
+  private void fill(List<PendingBid> batch) throws InterruptedException {
+    var deadline = System.nanoTime() + linger.toNanos();
+
+    while (batch.size() < maxBatchSize) {
+      var remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        return;
+      }
+      var next = queue.poll(remaining, NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  /**
+   * Inserts the bids on lots still opened, the others are rejected.
+   */
+  private void insert(List<PendingBid> batch) {
+    var accepted = new ArrayList<PendingBid>(batch.size());
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        var auctionLotIds = new HashSet<Integer>();
+        batch.forEach(p -> auctionLotIds.add(p.bid().getAuctionLotId()));
+        var openedLotIds = new HashSet<Integer>();
+        auctionLotRepository.findAllByIdForShare(auctionLotIds).stream()
+            .filter(auctionLot -> auctionLot.getStatus() == AuctionLot.Status.OPENED)
+            .forEach(auctionLot -> openedLotIds.add(auctionLot.getId()));
+
+        accepted.clear();
+        for (var pendingBid : batch) {
+          if (openedLotIds.contains(pendingBid.bid().getAuctionLotId())) {
+            accepted.add(pendingBid);
+          } else {
+            pendingBid.ack().completeExceptionally(
+                new BusinessException("Cannot bid on a closed auction"));
+          }
+        }
+        bidReposity.saveAll(accepted.stream().map(PendingBid::bid).toList());
+      });
+    } catch (RuntimeException exception) {
+      batch.forEach(p -> p.ack().completeExceptionally(exception));
+      return;
+    }
+
+    batchSizes.record(batch.size());
+    for (var pendingBid : accepted) {
+      bidLadders.add(pendingBid.bid());
+      organisationCounters.bidPlaced(pendingBid.bid().getUsername());
+      pendingBid.ack().complete(null);
+    }
+  }
+
+  private record PendingBid(Bid bid, CompletableFuture<Void> ack) {
+  }
+}
@@ -0,0 +1,171 @@
+package com.weareadaptive.auction.service;
+
+import static java.util.Comparator.comparing;
+
+import com.weareadaptive.auction.model.OrganisationSummary;
+import com.weareadaptive.auction.model.Price;
+import com.weareadaptive.auction.model.User;
+import com.weareadaptive.auction.repository.UserRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per organisation counters of the members, open auction lots, bids and revenue, updated as users
+ * and lots change so reading them does not depend on the number of users or bids. Admins are not
+ * members of any organisation. Bids and revenue stay with the organisation the user belonged to
+ * at the time; members moving to another organisation take their open lots along.
+ */
+@Component
+public class OrganisationCounters {
+  private final UserRepository userRepository;
+  private final Map<String, Member> members;
+  private final Map<String, Counters> organisations;
+
+  public OrganisationCounters(UserRepository userRepository) {
+    this.userRepository = userRepository;
+    members = new ConcurrentHashMap<>();
+    organisations = new ConcurrentHashMap<>();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    members.clear();
+    organisations.clear();
+
+    for (var totals : userRepository.getMemberTotals()) {
+      var member = new Member(totals.getOrganisation(), (int) totals.getOpenLots());
+      members.put(totals.getUsername(), member);
+
+      var counters = countersOf(totals.getOrganisation());
+      counters.members.increment();
+      counters.openLots.add(totals.getOpenLots());
+      counters.bids.add(totals.getBids());
+      counters.revenueTicks.add(Price.fromBigDecimal(totals.getRevenue()));
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserChanged(UserChangedEvent event) {
+    userRepository.findById(event.userId())
+        .filter(user -> !user.isAdmin())
+        .ifPresent(this::update);
+  }
+
+  public void lotOpened(String owner) {
+    afterCommit(() -> changeOpenLots(owner, 1));
+  }
+
+  public void lotClosed(String owner, long revenueTicks) {
+    afterCommit(() -> {
+      changeOpenLots(owner, -1);
+      var member = members.get(owner);
+      if (member != null) {
+        countersOf(member.organisation).revenueTicks.add(revenueTicks);
+      }
+    });
+  }
+
+  public void bidPlaced(String username) {
+    var member = members.get(username);
+    if (member != null) {
+      countersOf(member.organisation).bids.increment();
+    }
+  }
+
+  public List<OrganisationSummary> getAll() {
+    return organisations.entrySet()
+        .stream()
+        .map(e -> e.getValue().summary(e.getKey()))
+        .sorted(comparing(OrganisationSummary::organisation))
+        .toList();
+  }
+
+  public Optional<OrganisationSummary> get(String organisation) {
+    return Optional.ofNullable(organisations.get(organisation))
+        .map(counters -> counters.summary(organisation));
+  }
+
+  private void update(User user) {
+    var member = members.computeIfAbsent(user.getUsername(), username -> {
+      countersOf(user.getOrganisation()).members.increment();
+      return new Member(user.getOrganisation(), 0);
+    });
+
+    synchronized (member) {
+      if (member.organisation.equals(user.getOrganisation())) {
+        return;
+      }
+      var from = countersOf(member.organisation);
+      var to = countersOf(user.getOrganisation());
+      from.members.decrement();
+      from.openLots.add(-member.openLots);
+      to.members.increment();
+      to.openLots.add(member.openLots);
+      member.organisation = user.getOrganisation();
+    }
+  }
+
+  private void changeOpenLots(String owner, int delta) {
+    var member = members.get(owner);
+    if (member == null) {
+      return;
+    }
+    synchronized (member) {
+      member.openLots += delta;
+      countersOf(member.organisation).openLots.add(delta);
+    }
+  }
+
+  private Counters countersOf(String organisation) {
+    return organisations.computeIfAbsent(organisation, name -> new Counters());
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        action.run();
+      }
+    });
+  }
+
+  private static final class Member {
+    private volatile String organisation;
+    private int openLots;
+
+    private Member(String organisation, int openLots) {
+      this.organisation = organisation;
+      this.openLots = openLots;
+    }
+  }
+
+  private static final class Counters {
+    private final LongAdder members = new LongAdder();
+    private final LongAdder openLots = new LongAdder();
+    private final LongAdder bids = new LongAdder();
+    private final LongAdder revenueTicks = new LongAdder();
+
+    private OrganisationSummary summary(String organisation) {
+      return new OrganisationSummary(
+          organisation,
+          members.intValue(),
+          openLots.intValue(),
+          bids.sum(),
+          Price.toBigDecimal(revenueTicks.sum()));
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package com.weareadaptive.auction.service;
+
+/**
+ * Published when a user is created, blocked, unblocked or updated.
+ */
+public record UserChangedEvent(int userId) {
+}
@@ -4,12 +4,15 @@ import static java.lang.String.format;
 
 import com.weareadaptive.auction.exception.NotFoundException;
 import com.weareadaptive.auction.model.BusinessException;
+import com.weareadaptive.auction.model.OrganisationSummary;
 import com.weareadaptive.auction.model.User;
 import com.weareadaptive.auction.repository.UserRepository;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,9 +20,15 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 public class UserService {
   private final UserRepository userRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final OrganisationCounters organisationCounters;
 
-  public UserService(UserRepository userRepository) {
+  public UserService(UserRepository userRepository,
+                     ApplicationEventPublisher eventPublisher,
+                     OrganisationCounters organisationCounters) {
     this.userRepository = userRepository;
+    this.eventPublisher = eventPublisher;
+    this.organisationCounters = organisationCounters;
   }
 
   @Transactional
@@ -34,6 +43,7 @@ public class UserService {
         false);
     try {
       userRepository.save(user);
+      eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
     } catch (DataIntegrityViolationException exception) {
       if (exception.getCause().getClass().equals(ConstraintViolationException.class)) {
         var constraint = (ConstraintViolationException) exception.getCause();
@@ -62,11 +72,13 @@ public class UserService {
   @Transactional
   public void block(int userId) {
     throwIfNotFoundIfNoResult(() -> userRepository.block(userId));
+    eventPublisher.publishEvent(new UserChangedEvent(userId));
   }
 
   @Transactional
   public void unblock(int userId) {
     throwIfNotFoundIfNoResult(() -> userRepository.unblock(userId));
+    eventPublisher.publishEvent(new UserChangedEvent(userId));
   }
 
   @Transactional
@@ -77,6 +89,7 @@ public class UserService {
     user.setOrganisation(organisation);
     user.setLastName(lastName);
     userRepository.save(user);
+    eventPublisher.publishEvent(new UserChangedEvent(id));
     return user;
   }
 
@@ -84,6 +97,14 @@ public class UserService {
     return userRepository.findAll().stream();
   }
 
+  public List<OrganisationSummary> getOrganisations() {
+    return organisationCounters.getAll();
+  }
+
+  public Optional<OrganisationSummary> getOrganisation(String organisation) {
+    return organisationCounters.get(organisation);
+  }
+
   private void throwIfNotFoundIfNoResult(Supplier<Integer> job) {
     var result = job.get();
 
@@ -0,0 +1,2 @@
+-- Bids are read per auction lot, in id order for the keyset pagination
+CREATE INDEX bid_auction_lot_id ON bid (auction_lot_id, id);
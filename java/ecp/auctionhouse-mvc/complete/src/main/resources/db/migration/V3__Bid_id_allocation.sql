@@ -0,0 +1,2 @@
+-- Hibernate allocates bid ids by blocks of 50 so inserts can be batched
+ALTER SEQUENCE bid_id_seq INCREMENT BY 50;
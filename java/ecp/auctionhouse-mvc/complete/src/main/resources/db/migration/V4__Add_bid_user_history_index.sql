@@ -0,0 +1,7 @@
+-- Bid history of a user, read by ranges of ids with or without a state filter.
+-- The lot id and state are carried by the indexes so a page is an index-only range scan,
+-- joined to auction_lot by primary key.
+DROP INDEX IF EXISTS bid_username;
+
+CREATE INDEX bid_user_history ON bid (username, id) INCLUDE (auction_lot_id, state);
+CREATE INDEX bid_user_state_history ON bid (username, state, id) INCLUDE (auction_lot_id);
@@ -0,0 +1,6 @@
+-- Prices are exact decimals with 4 digits after the point, held as ticks of 1/10,000 in memory.
+ALTER TABLE auction_lot
+    ALTER COLUMN min_price TYPE NUMERIC(19, 4) USING round(min_price::numeric, 4);
+
+ALTER TABLE bid
+    ALTER COLUMN price TYPE NUMERIC(19, 4) USING round(price::numeric, 4);
@@ -0,0 +1,21 @@
+-- Totals of the closing summary, set when the lot is closed so the summary is a single row read.
+ALTER TABLE auction_lot
+    ADD COLUMN sold_quantity INT            NOT NULL DEFAULT 0,
+    ADD COLUMN revenue       NUMERIC(19, 4) NOT NULL DEFAULT 0,
+    ADD COLUMN winner_count  INT            NOT NULL DEFAULT 0;
+
+UPDATE auction_lot
+SET sold_quantity = winners.sold_quantity,
+    revenue       = winners.revenue,
+    winner_count  = winners.winner_count
+FROM (SELECT auction_lot_id,
+             SUM(win_quantity)         AS sold_quantity,
+             SUM(win_quantity * price) AS revenue,
+             COUNT(*)                  AS winner_count
+      FROM bid
+      WHERE state = 'WIN'
+      GROUP BY auction_lot_id) winners
+WHERE auction_lot.id = winners.auction_lot_id;
+
+-- Winners are paged by bid id, they are few next to the bids of a lot.
+CREATE INDEX bid_auction_lot_winners ON bid (auction_lot_id, id) WHERE state = 'WIN';
@@ -0,0 +1,50 @@
+package com.weareadaptive.auction.configuration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PermitLimitedDataSourceTest {
+  private final DataSource pool = stub(DataSource.class, stub(Connection.class, null));
+  private final PermitLimitedDataSource dataSource =
+      new PermitLimitedDataSource(pool, 2, Duration.ofMillis(50));
+
+  @DisplayName("getConnection should wait for a permit once every connection is handed out")
+  @Test
+  public void shouldTimeOutWhenNoPermitIsAvailable() throws Exception {
+    var connection1 = dataSource.getConnection();
+    dataSource.getConnection();
+
+    assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+    connection1.close();
+    assertThat(dataSource.availablePermits(), equalTo(1));
+  }
+
+  @DisplayName("close should release the permit only once")
+  @Test
+  public void shouldReleasePermitOnce() throws Exception {
+    var connection = dataSource.getConnection();
+
+    connection.close();
+    connection.close();
+
+    assertThat(dataSource.availablePermits(), equalTo(2));
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T stub(Class<T> type, Object result) {
+    return (T) Proxy.newProxyInstance(
+        type.getClassLoader(),
+        new Class<?>[] {type},
+        (proxy, method, args) -> result);
+  }
+}
@@ -0,0 +1,26 @@
+package com.weareadaptive.auction.configuration;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+public class PlatformThreadsLoadBenchmark extends RequestLoadBenchmark {
+  @Container
+  public static PostgreSQLContainer<?> postgreSQL =
+      new PostgreSQLContainer<>("postgres:13.2")
+          .withUsername("testUsername")
+          .withPassword("testPassword");
+
+  @DynamicPropertySource
+  public static void postgreSqlProperties(@NotNull DynamicPropertyRegistry registry) {
+    postgreSqlProperties(registry, postgreSQL);
+    loadProperties(registry, "platform");
+  }
+
+  @Override
+  protected String mode() {
+    return "platform";
+  }
+}
@@ -0,0 +1,153 @@
+package com.weareadaptive.auction.configuration;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+import com.weareadaptive.auction.IntegrationTest;
+import com.weareadaptive.auction.TestData;
+import com.weareadaptive.auction.service.AuctionLotService;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+
+/**
+ * Closed-loop load test: each client sends a request as soon as its previous one completed, for
+ * a fixed duration after a warm-up. Requests page the bids of an auction lot, so each of them
+ * authenticates and reads Postgres. Subclasses pick the thread mode.
+ *
+ * <p>Clients share a non-blocking HTTP client, but 20k clients still need as many sockets:
+ * raise the open files limit ({@code ulimit -n}) before running {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public abstract class RequestLoadBenchmark extends IntegrationTest {
+  private static final Duration WARMUP = Duration.ofSeconds(5);
+  private static final Duration MEASURE = Duration.ofSeconds(15);
+  private static final int BIDS = 200;
+
+  @Autowired
+  private AuctionLotService auctionLotService;
+
+  public static void loadProperties(@NotNull DynamicPropertyRegistry registry, String mode) {
+    registry.add("auction.threads.mode", () -> mode);
+    registry.add("spring.jpa.show-sql", () -> "false");
+    registry.add("server.tomcat.max-connections", () -> "30000");
+    registry.add("server.tomcat.accept-count", () -> "20000");
+  }
+
+  protected abstract String mode();
+
+  @ParameterizedTest(name = "{0} clients")
+  @ValueSource(ints = {200, 2_000, 20_000})
+  public void load(int clients) throws InterruptedException {
+    var auctionLot = testData.createAuctionLot(testData.user1(), TestData.Stock.APPLE, 1000, 1);
+    for (var i = 0; i < BIDS; i++) {
+      auctionLotService.bid(testData.user2().getUsername(), auctionLot.getId(), 1, 1 + i);
+    }
+    var request = HttpRequest.newBuilder()
+        .uri(URI.create(uri + "/auction-lots/" + auctionLot.getId() + "/bids?limit=50"))
+        .header(AUTHORIZATION, testData.user1Token())
+        .timeout(Duration.ofSeconds(60))
+        .build();
+    var httpClient = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(60))
+        .build();
+
+    var start = System.nanoTime();
+    var measureFrom = start + WARMUP.toNanos();
+    var measureTo = measureFrom + MEASURE.toNanos();
+    var errors = new LongAdder();
+    var done = new CountDownLatch(clients);
+    var recorders = IntStream.range(0, clients)
+        .mapToObj(i -> new LatencyRecorder())
+        .toList();
+
+    recorders.forEach(recorder ->
+        send(httpClient, request, recorder, errors, measureFrom, measureTo, done));
+    if (!done.await(WARMUP.plus(MEASURE).toSeconds() + 120, TimeUnit.SECONDS)) {
+      throw new IllegalStateException("Clients did not complete");
+    }
+
+    var latencies = recorders.stream()
+        .flatMapToLong(LatencyRecorder::stream)
+        .sorted()
+        .toArray();
+    System.out.printf(
+        "%s threads, %,d clients: %,.0f req/s, p50 %.1f ms, p99 %.1f ms, p99.9 %.1f ms, "
+            + "max %.1f ms, %,d errors%n",
+        mode(),
+        clients,
+        latencies.length / (double) MEASURE.toSeconds(),
+        percentile(latencies, 0.5),
+        percentile(latencies, 0.99),
+        percentile(latencies, 0.999),
+        percentile(latencies, 1),
+        errors.sum());
+  }
+
+  private static void send(HttpClient httpClient,
+                           HttpRequest request,
+                           LatencyRecorder recorder,
+                           LongAdder errors,
+                           long measureFrom,
+                           long measureTo,
+                           CountDownLatch done) {
+    var sentAt = System.nanoTime();
+    if (sentAt >= measureTo) {
+      done.countDown();
+      return;
+    }
+
+    httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+        .whenComplete((response, exception) -> {
+          var receivedAt = System.nanoTime();
+          if (sentAt >= measureFrom && receivedAt < measureTo) {
+            if (exception != null || response.statusCode() != 200) {
+              errors.increment();
+            } else {
+              recorder.record(receivedAt - sentAt);
+            }
+          }
+          send(httpClient, request, recorder, errors, measureFrom, measureTo, done);
+        });
+  }
+
+  private static double percentile(long[] sortedLatencies, double percentile) {
+    if (sortedLatencies.length == 0) {
+      return Double.NaN;
+    }
+    var index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+    return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+  }
+
+  /**
+   * Latencies of one client, whose requests never overlap.
+   */
+  private static final class LatencyRecorder {
+    private long[] latencies = new long[256];
+    private int size;
+
+    synchronized void record(long latency) {
+      if (size == latencies.length) {
+        latencies = Arrays.copyOf(latencies, size * 2);
+      }
+      latencies[size++] = latency;
+    }
+
+    synchronized LongStream stream() {
+      return Arrays.stream(latencies, 0, size);
+    }
+  }
+}
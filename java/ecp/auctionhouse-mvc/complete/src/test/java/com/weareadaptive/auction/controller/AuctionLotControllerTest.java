@@ -4,9 +4,13 @@ import static com.weareadaptive.auction.TestData.ADMIN_AUTH_TOKEN;
 import static io.restassured.RestAssured.given;
 import static java.lang.String.format;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.comparesEqualTo;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
@@ -17,10 +21,14 @@ import com.weareadaptive.auction.TestData;
 import com.weareadaptive.auction.TestTimeContext;
 import com.weareadaptive.auction.TimeContext;
 import com.weareadaptive.auction.controller.dto.BidRequest;
+import com.weareadaptive.auction.controller.dto.CloseAuctionLotsRequest;
 import com.weareadaptive.auction.controller.dto.CreateAuctionLotRequest;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.Bid;
 import com.weareadaptive.auction.service.AuctionLotService;
 import io.restassured.http.ContentType;
 import java.math.BigDecimal;
+import java.util.List;
 import org.jetbrains.annotations.NotNull;
 import org.junit.Ignore;
 import org.junit.jupiter.api.DisplayName;
@@ -147,6 +155,87 @@ public class AuctionLotControllerTest extends IntegrationTest {
     assertThat(bid.getPrice(), equalTo(bidRequest.price()));
   }
 
+  @DisplayName("bid should keep a price of 4 decimals unchanged")
+  @Test
+  public void shouldKeepBidPriceOfFourDecimals() {
+    var newAuction = testData.createAuctionLot(
+        testData.user2(),
+        TestData.Stock.META,
+        10000, 1
+    );
+    var bidRequest = new BidRequest(
+        25,
+        1.2345
+    );
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .pathParams("id", newAuction.getId())
+      .contentType(ContentType.JSON)
+      .body(bidRequest)
+    .when()
+      .post("/auction-lots/{id}/bid")
+    .then()
+      .statusCode(NO_CONTENT.value());
+    //@formatter:on
+
+    var bids = auctionLotService.getAuctionLotBids(newAuction.getId());
+    assertThat(bids.get(0).getPrice(), equalTo(bidRequest.price()));
+  }
+
+  @DisplayName("bid should return bad request when the price has more than 4 decimals")
+  @Test
+  public void shouldReturnBadRequestWhenBidPriceHasMoreThanFourDecimals() {
+    var newAuction = testData.createAuctionLot(
+        testData.user2(),
+        TestData.Stock.META,
+        10000, 1
+    );
+    var bidRequest = new BidRequest(
+        25,
+        1.00001
+    );
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .pathParams("id", newAuction.getId())
+      .contentType(ContentType.JSON)
+      .body(bidRequest)
+    .when()
+      .post("/auction-lots/{id}/bid")
+    .then()
+      .statusCode(HttpStatus.BAD_REQUEST.value());
+    //@formatter:on
+
+    assertThat(auctionLotService.getAuctionLotBids(newAuction.getId()), hasSize(0));
+  }
+
+  @DisplayName("create should return bad request when the min price has more than 4 decimals")
+  @Test
+  public void shouldReturnBadRequestWhenMinPriceHasMoreThanFourDecimals() {
+    var createAuction = new CreateAuctionLotRequest(
+        "AAPL",
+        1.00001,
+        100
+    );
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .contentType(ContentType.JSON)
+      .body(createAuction)
+    .when()
+      .post("/auction-lots")
+    .then()
+      .statusCode(HttpStatus.BAD_REQUEST.value());
+    //@formatter:on
+  }
+
   @DisplayName("getAuctionBids should return all the bids of an auction")
   @Test
   public void shouldReturnAllAuctionBids() {
@@ -185,6 +274,51 @@ public class AuctionLotControllerTest extends IntegrationTest {
     //@formatter:on
   }
 
+  @DisplayName("getAuctionBids should page through the bids of an auction")
+  @Test
+  public void shouldPageAuctionBids() {
+    var auctionLot = testData.createAuctionLot(
+        testData.user1(),
+        TestData.Stock.APPLE,
+        10000,
+        2);
+    auctionLotService.bid(testData.user2().getUsername(), auctionLot.getId(), 10, 65);
+    auctionLotService.bid(testData.user3().getUsername(), auctionLot.getId(), 45, 87);
+    auctionLotService.bid(testData.user4().getUsername(), auctionLot.getId(), 12, 70);
+
+    //@formatter:off
+    var nextAfterId = given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .pathParams("id", auctionLot.getId())
+      .queryParam("limit", 2)
+    .when()
+      .get("/auction-lots/{id}/bids")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body("items.size()", equalTo(2))
+      .body("items[0].username", equalTo(testData.user2().getUsername()))
+      .body("items[1].username", equalTo(testData.user3().getUsername()))
+      .body("nextAfterId", notNullValue())
+      .extract()
+      .path("nextAfterId");
+
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .pathParams("id", auctionLot.getId())
+      .queryParam("afterId", nextAfterId)
+      .queryParam("limit", 2)
+    .when()
+      .get("/auction-lots/{id}/bids")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body("items.size()", equalTo(1))
+      .body("items[0].username", equalTo(testData.user4().getUsername()))
+      .body("nextAfterId", nullValue());
+    //@formatter:on
+  }
+
   @DisplayName("get Should return 404 when auction lot is not found")
   @Test
   public void shouldReturnNotFoundWhenGettingAuctionBidsFromAnUnexistingAuction() {
@@ -291,7 +425,7 @@ public class AuctionLotControllerTest extends IntegrationTest {
     var closingSummary =
         auctionLotService.getClosingSummary(testData.user1().getUsername(), newAuction.getId());
     assertThat(closingSummary.totalSoldQuantity(), equalTo(100));
-    assertThat(closingSummary.totalRevenue(), equalTo(BigDecimal.valueOf(50000.0)));
+    assertThat(closingSummary.totalRevenue(), comparesEqualTo(BigDecimal.valueOf(50000)));
     assertThat(closingSummary.winBids().size(), equalTo(1));
     assertThat(closingSummary.winBids().get(0).getWinQuantity(), equalTo(100));
     assertThat(closingSummary.winBids().get(0).getUsername(),
@@ -300,6 +434,310 @@ public class AuctionLotControllerTest extends IntegrationTest {
     assertThat(closingSummary.winBids().get(0).getPrice(), equalTo(500.0));
   }
 
+  @DisplayName("closeAuction should total the revenue exactly where doubles would round")
+  @Test
+  public void shouldTotalRevenueExactly() {
+    var newAuction = testData.createAuctionLot(
+        testData.user1(),
+        TestData.Stock.APPLE,
+        3,
+        1
+    );
+    // 1.1 + 1.1 + 1.1 is 3.3000000000000003 as a double
+    auctionLotService.bid(testData.user2().getUsername(), newAuction.getId(), 1, 1.1);
+    auctionLotService.bid(testData.user3().getUsername(), newAuction.getId(), 1, 1.1);
+    auctionLotService.bid(testData.user4().getUsername(), newAuction.getId(), 1, 1.1);
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .pathParams("id", newAuction.getId())
+      .contentType(ContentType.JSON)
+    .when()
+      .post("/auction-lots/{id}/close")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body("totalSoldQuantity", equalTo(3));
+    //@formatter:on
+
+    var closingSummary =
+        auctionLotService.getClosingSummary(testData.user1().getUsername(), newAuction.getId());
+    assertThat(closingSummary.totalRevenue(), comparesEqualTo(new BigDecimal("3.3")));
+  }
+
+  @DisplayName("getClosingSummary should serve closed auctions from the cache")
+  @Test
+  public void shouldServeClosingSummaryFromCache() {
+    var newAuction = testData.createAuctionLot(
+        testData.user1(),
+        TestData.Stock.APPLE,
+        100,
+        1
+    );
+    auctionLotService.bid(testData.user2().getUsername(), newAuction.getId(), 40, 20);
+    auctionLotService.close(testData.user1().getUsername(), newAuction.getId());
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .pathParams("id", newAuction.getId())
+    .when()
+      .get("/auction-lots/{id}/closingSummary")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body("totalSoldQuantity", equalTo(40))
+      .body("totalRevenue", equalTo(800f));
+
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, ADMIN_AUTH_TOKEN)
+      .queryParam("tag", "result:hit")
+    .when()
+      .get("/actuator/metrics/auction.closing-summary.cache.gets")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body("measurements[0].value", greaterThan(0f));
+
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+    .when()
+      .get("/actuator/metrics/auction.closing-summary.cache.gets")
+    .then()
+      .statusCode(FORBIDDEN.value());
+    //@formatter:on
+  }
+
+  @DisplayName("getClosingSummary should page the winning bids of a closed auction")
+  @Test
+  public void shouldPageClosingSummaryWinners() {
+    var newAuction = testData.createAuctionLot(
+        testData.user1(),
+        TestData.Stock.APPLE,
+        100,
+        1
+    );
+    auctionLotService.bid(testData.user2().getUsername(), newAuction.getId(), 40, 20);
+    auctionLotService.bid(testData.user3().getUsername(), newAuction.getId(), 30, 10);
+    auctionLotService.bid(testData.user4().getUsername(), newAuction.getId(), 50, 2);
+    auctionLotService.close(testData.user1().getUsername(), newAuction.getId());
+
+    //@formatter:off
+    var nextAfterId = given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .pathParams("id", newAuction.getId())
+      .queryParam("limit", 2)
+    .when()
+      .get("/auction-lots/{id}/closingSummary")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body("totalSoldQuantity", equalTo(100))
+      .body("totalRevenue", equalTo(1160f))
+      .body("winnerCount", equalTo(3))
+      .body("winBids.size()", equalTo(2))
+      .body("winBids[0].username", equalTo(testData.user2().getUsername()))
+      .body("winBids[1].username", equalTo(testData.user3().getUsername()))
+      .body("nextAfterId", notNullValue())
+    .extract()
+      .path("nextAfterId");
+
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .pathParams("id", newAuction.getId())
+      .queryParam("afterId", nextAfterId)
+      .queryParam("limit", 2)
+    .when()
+      .get("/auction-lots/{id}/closingSummary")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body("winBids.size()", equalTo(1))
+      .body("winBids[0].username", equalTo(testData.user4().getUsername()))
+      .body("winBids[0].winQuantity", equalTo(30))
+      .body("nextAfterId", nullValue());
+    //@formatter:on
+  }
+
+  @DisplayName("closeAuction should fill the best bids first and mark the others as lost")
+  @Test
+  public void shouldFillBestBidsWhenClosingAnAuction() {
+    var newAuction = testData.createAuctionLot(
+        testData.user1(),
+        TestData.Stock.MICROSOFT,
+        150,
+        1
+    );
+    auctionLotService.bid(testData.user2().getUsername(), newAuction.getId(), 100, 10);
+    auctionLotService.bid(testData.user3().getUsername(), newAuction.getId(), 80, 12);
+    auctionLotService.bid(testData.user4().getUsername(), newAuction.getId(), 50, 9);
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .pathParams("id", newAuction.getId())
+    .when()
+      .post("/auction-lots/{id}/close")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body("totalSoldQuantity", equalTo(150))
+      .body("totalRevenue", equalTo(1660f))
+      .body("winBids.size()", equalTo(2))
+      .body("winBids[0].username", equalTo(testData.user3().getUsername()))
+      .body("winBids[0].winQuantity", equalTo(80))
+      .body("winBids[1].username", equalTo(testData.user2().getUsername()))
+      .body("winBids[1].winQuantity", equalTo(70));
+    //@formatter:on
+
+    var lostBid = auctionLotService.getAuctionLotBids(newAuction.getId())
+        .stream()
+        .filter(b -> b.getUsername().equals(testData.user4().getUsername()))
+        .findFirst()
+        .orElseThrow();
+    assertThat(lostBid.getState(), equalTo(Bid.State.LOST));
+    assertThat(lostBid.getWinQuantity(), equalTo(0));
+  }
+
+  @DisplayName("closeAuctionLots should close the lots of the user and report each lot")
+  @Test
+  public void shouldCloseAuctionLotsInBulk() {
+    var first = testData.createAuctionLot(testData.user1(), TestData.Stock.APPLE, 100, 1);
+    var second = testData.createAuctionLot(testData.user1(), TestData.Stock.META, 50, 1);
+    var closed = testData.createAuctionLot(testData.user1(), TestData.Stock.MICROSOFT, 10, 1);
+    var otherOwner = testData.createAuctionLot(testData.user2(), TestData.Stock.APPLE, 10, 1);
+    auctionLotService.bid(testData.user2().getUsername(), first.getId(), 60, 10);
+    auctionLotService.bid(testData.user3().getUsername(), first.getId(), 70, 12);
+    auctionLotService.bid(testData.user3().getUsername(), second.getId(), 20, 5);
+    auctionLotService.close(testData.user1().getUsername(), closed.getId());
+    var ids = List.of(first.getId(), second.getId(), closed.getId(), otherOwner.getId(),
+        INVALID_AUCTION_LOT_ID);
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .contentType(ContentType.JSON)
+      .body(new CloseAuctionLotsRequest(ids))
+    .when()
+      .post("/auction-lots/close")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body("id", equalTo(ids))
+      .body("status", equalTo(List.of("CLOSED", "CLOSED", "ALREADY_CLOSED", "FORBIDDEN",
+          "NOT_FOUND")))
+      .body("[0].totalSoldQuantity", equalTo(100))
+      .body("[0].totalRevenue", equalTo(1140f))
+      .body("[0].winnerCount", equalTo(2))
+      .body("[1].totalSoldQuantity", equalTo(20))
+      .body("[2].totalSoldQuantity", nullValue());
+    //@formatter:on
+
+    var partialBid = auctionLotService.getAuctionLotBids(first.getId())
+        .stream()
+        .filter(bid -> bid.getUsername().equals(testData.user2().getUsername()))
+        .findFirst()
+        .orElseThrow();
+    assertThat(partialBid.getState(), equalTo(Bid.State.WIN));
+    assertThat(partialBid.getWinQuantity(), equalTo(30));
+    assertThat(auctionLotService.get(otherOwner.getId()).orElseThrow().status(),
+        equalTo(AuctionLot.Status.OPENED));
+  }
+
+  @DisplayName("getClearingEstimate should return the clearing price of an open auction")
+  @Test
+  public void shouldReturnClearingEstimate() {
+    var newAuction = testData.createAuctionLot(
+        testData.user1(),
+        TestData.Stock.META,
+        100,
+        1
+    );
+    auctionLotService.bid(testData.user2().getUsername(), newAuction.getId(), 60, 15);
+    auctionLotService.bid(testData.user3().getUsername(), newAuction.getId(), 70, 11);
+    auctionLotService.bid(testData.user4().getUsername(), newAuction.getId(), 30, 8);
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user2Token())
+      .pathParams("id", newAuction.getId())
+    .when()
+      .get("/auction-lots/{id}/clearing")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body("clearingPrice", equalTo(11f))
+      .body("coveredQuantity", equalTo(100));
+    //@formatter:on
+  }
+
+  @DisplayName("getClearingEstimate should return bad request when the auction is closed")
+  @Test
+  public void shouldReturnBadRequestForClearingEstimateOfClosedAuction() {
+    var newAuction = testData.createAuctionLot(
+        testData.user1(),
+        TestData.Stock.META,
+        100,
+        1
+    );
+    auctionLotService.close(testData.user1().getUsername(), newAuction.getId());
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .pathParams("id", newAuction.getId())
+    .when()
+      .get("/auction-lots/{id}/clearing")
+    .then()
+      .statusCode(HttpStatus.BAD_REQUEST.value());
+    //@formatter:on
+  }
+
+  @DisplayName("getEvents should stream the lot closed event and complete for a closed auction")
+  @Test
+  public void shouldStreamEventsOfClosedAuction() {
+    var newAuction = testData.createAuctionLot(
+        testData.user1(),
+        TestData.Stock.META,
+        100,
+        1
+    );
+    auctionLotService.bid(testData.user2().getUsername(), newAuction.getId(), 60, 15);
+    auctionLotService.close(testData.user1().getUsername(), newAuction.getId());
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user2Token())
+      .pathParams("id", newAuction.getId())
+    .when()
+      .get("/auction-lots/{id}/events")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .contentType(containsString("text/event-stream"))
+      .body(containsString("event:lot-closed"))
+      .body(containsString(format("\"auctionLotId\":%s", newAuction.getId())));
+    //@formatter:on
+  }
+
+  @DisplayName("getEvents should return not found when the auction does not exist")
+  @Test
+  public void shouldReturnNotFoundForEventsOfUnknownAuction() {
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user2Token())
+      .pathParams("id", INVALID_AUCTION_LOT_ID)
+    .when()
+      .get("/auction-lots/{id}/events")
+    .then()
+      .statusCode(NOT_FOUND.value());
+    //@formatter:on
+  }
+
   @DisplayName("getAll should return all auctions")
   @Test
   public void shouldReturnAllAuctions() {
@@ -337,6 +775,49 @@ public class AuctionLotControllerTest extends IntegrationTest {
     //@formatter:on
   }
 
+  @DisplayName("getAll should return the auctions after the cursor")
+  @Test
+  public void shouldPageAuctions() {
+    var auctionLot1 = testData.createAuctionLot(
+        testData.user1(),
+        TestData.Stock.APPLE,
+        10000,
+        1
+    );
+    var auctionLot2 = testData.createAuctionLot(
+        testData.user2(),
+        TestData.Stock.META,
+        543,
+        144
+    );
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .queryParam("afterId", auctionLot1.getId() - 1)
+      .queryParam("limit", 1)
+    .when()
+      .get("/auction-lots")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body("items.size()", equalTo(1))
+      .body("items[0].id", equalTo(auctionLot1.getId()))
+      .body("nextAfterId", equalTo(auctionLot1.getId()));
+
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+      .queryParam("afterId", auctionLot1.getId())
+      .queryParam("limit", 1)
+    .when()
+      .get("/auction-lots")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body("items[0].id", equalTo(auctionLot2.getId()));
+    //@formatter:on
+  }
+
   @DisplayName("get should return not found when auction is not found")
   @Test
   public void shouldReturnNotFoundWhenAuctionDoesntExist() {
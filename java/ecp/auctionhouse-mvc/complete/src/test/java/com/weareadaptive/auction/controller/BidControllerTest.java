@@ -2,6 +2,8 @@ package com.weareadaptive.auction.controller;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 
 import com.weareadaptive.auction.IntegrationTest;
@@ -88,4 +90,79 @@ public class BidControllerTest extends IntegrationTest {
         .body("[1].state", equalTo("PENDING"));
     //@formatter:on
   }
+
+  @DisplayName("get should page the bid history of a user filtered by state")
+  @Test
+  public void shouldPageBidHistory() {
+    var user = testData.createRandomUser();
+    var closedAuction = testData.createAuctionLot(
+        testData.user1(),
+        TestData.Stock.META,
+        10,
+        30
+    );
+    auctionLotService.bid(user.getUsername(), closedAuction.getId(), 5, 40);
+    auctionLotService.bid(user.getUsername(), closedAuction.getId(), 5, 45);
+    auctionLotService.bid(user.getUsername(), closedAuction.getId(), 5, 35);
+    auctionLotService.close(testData.user1().getUsername(), closedAuction.getId());
+
+    var openAuction = testData.createAuctionLot(
+        testData.user1(),
+        TestData.Stock.APPLE,
+        10,
+        40
+    );
+    auctionLotService.bid(user.getUsername(), openAuction.getId(), 3, 50);
+
+    var token = testData.getToken(user);
+
+    //@formatter:off
+    var nextAfterId = given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, token)
+      .queryParam("state", "WIN")
+      .queryParam("limit", 1)
+    .when()
+      .get("/bids")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+        .body("items.size()", equalTo(1))
+        .body("items[0].auctionLotId", equalTo(closedAuction.getId()))
+        .body("items[0].symbol", equalTo("FB"))
+        .body("items[0].auctionLotStatus", equalTo("CLOSED"))
+        .body("items[0].price", equalTo(40F))
+        .body("items[0].state", equalTo("WIN"))
+        .body("nextAfterId", notNullValue())
+      .extract()
+      .path("nextAfterId");
+
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, token)
+      .queryParam("state", "WIN")
+      .queryParam("afterId", nextAfterId)
+      .queryParam("limit", 1)
+    .when()
+      .get("/bids")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+        .body("items.size()", equalTo(1))
+        .body("items[0].price", equalTo(45F))
+        .body("nextAfterId", notNullValue());
+
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, token)
+      .queryParam("limit", 10)
+    .when()
+      .get("/bids")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+        .body("items.size()", equalTo(4))
+        .body("items[3].symbol", equalTo("AAPL"))
+        .body("items[3].auctionLotStatus", equalTo("OPENED"))
+        .body("items[3].state", equalTo("PENDING"))
+        .body("nextAfterId", nullValue());
+    //@formatter:on
+  }
 }
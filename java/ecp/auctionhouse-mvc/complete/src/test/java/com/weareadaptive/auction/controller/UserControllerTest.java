@@ -18,6 +18,7 @@ import com.weareadaptive.auction.IntegrationTest;
 import com.weareadaptive.auction.TestData;
 import com.weareadaptive.auction.controller.dto.CreateUserRequest;
 import com.weareadaptive.auction.controller.dto.UpdateUserRequest;
+import com.weareadaptive.auction.service.AuctionLotService;
 import com.weareadaptive.auction.service.UserService;
 import io.restassured.http.ContentType;
 import org.jetbrains.annotations.NotNull;
@@ -47,6 +48,8 @@ public class UserControllerTest extends IntegrationTest {
   ApplicationContext applicationContext;
   @Autowired
   private UserService userService;
+  @Autowired
+  private AuctionLotService auctionLotService;
 
   @DynamicPropertySource
   public static void postgreSqlProperties(@NotNull DynamicPropertyRegistry registry) {
@@ -314,4 +317,71 @@ public class UserControllerTest extends IntegrationTest {
       .body("organisation", equalTo(createRequest.organisation()));
     //@formatter:on
   }
+
+  @DisplayName("getOrganisation should return the activity of the members of an organisation")
+  @Test
+  public void shouldReturnOrganisationSummary() {
+    var organisation = "organisation-" + faker.number().digits(8);
+    var name = faker.name();
+    var member = userService.create(
+        name.username(),
+        TestData.PASSWORD,
+        name.firstName(),
+        name.lastName(),
+        organisation);
+    var memberLot = testData.createAuctionLot(member, TestData.Stock.APPLE, 10, 1);
+    var otherLot = testData.createAuctionLot(testData.user1(), TestData.Stock.META, 10, 1);
+    auctionLotService.bid(testData.user2().getUsername(), memberLot.getId(), 10, 5);
+    auctionLotService.bid(member.getUsername(), otherLot.getId(), 2, 3);
+    auctionLotService.close(member.getUsername(), memberLot.getId());
+    testData.createAuctionLot(member, TestData.Stock.MICROSOFT, 10, 1);
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, ADMIN_AUTH_TOKEN)
+      .pathParam("organisation", organisation)
+    .when()
+      .get("/users/organisations/{organisation}")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body("organisation", equalTo(organisation))
+      .body("memberCount", equalTo(1))
+      .body("openLots", equalTo(1))
+      .body("totalBids", equalTo(1))
+      .body("totalRevenue", equalTo(50f));
+
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, ADMIN_AUTH_TOKEN)
+    .when()
+      .get("/users/organisations")
+    .then()
+      .statusCode(HttpStatus.OK.value())
+      .body(format("find { it.organisation == '%s' }.memberCount", organisation), equalTo(1));
+
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.user1Token())
+    .when()
+      .get("/users/organisations")
+    .then()
+      .statusCode(FORBIDDEN.value());
+    //@formatter:on
+  }
+
+  @DisplayName("getOrganisation should return 404 when the organisation has no member")
+  @Test
+  public void shouldReturnNotFoundForUnknownOrganisation() {
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, ADMIN_AUTH_TOKEN)
+      .pathParam("organisation", "unknown-organisation")
+    .when()
+      .get("/users/organisations/{organisation}")
+    .then()
+      .statusCode(NOT_FOUND.value());
+    //@formatter:on
+  }
 }
@@ -0,0 +1,57 @@
+package com.weareadaptive.auction.model;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PriceTest {
+  @DisplayName("toTicks should convert prices of up to 4 decimals exactly")
+  @Test
+  public void shouldConvertPricesToTicks() {
+    assertThat(Price.toTicks(0.0001), equalTo(1L));
+    assertThat(Price.toTicks(1.1), equalTo(11_000L));
+    assertThat(Price.toTicks(123.4567), equalTo(1_234_567L));
+    assertThat(Price.toDouble(1_234_567L), equalTo(123.4567));
+    assertThat(Price.toBigDecimal(11_000L), equalTo(new BigDecimal("1.1000")));
+  }
+
+  @DisplayName("toTicks should reject more than 4 decimals, NaN, infinity and overflows")
+  @Test
+  public void shouldRejectPricesWithoutExactTicks() {
+    assertThrows(BusinessException.class, () -> Price.toTicks(1.00001));
+    assertThrows(BusinessException.class, () -> Price.toTicks(Double.NaN));
+    assertThrows(BusinessException.class, () -> Price.toTicks(Double.POSITIVE_INFINITY));
+    assertThrows(BusinessException.class, () -> Price.toTicks(1e20));
+  }
+
+  @DisplayName("notional should be exact where doubles round, and fail rather than overflow")
+  @Test
+  public void shouldComputeExactNotionals() {
+    var ticks = Price.toTicks(1.1);
+
+    assertThat(1.1 + 1.1 + 1.1, not(equalTo(3.3)));
+    assertThat(Price.toBigDecimal(Price.notional(ticks, 3)), equalTo(new BigDecimal("3.3000")));
+    assertThrows(ArithmeticException.class, () -> Price.notional(Long.MAX_VALUE / 2, 3));
+  }
+
+  @DisplayName("PriceConverter should read back the ticks it stored")
+  @Test
+  public void shouldRoundTripThroughPriceConverter() {
+    var priceConverter = new PriceConverter();
+    var ticks = Price.toTicks(123.4567);
+
+    var column = priceConverter.convertToDatabaseColumn(ticks);
+
+    assertThat(column, equalTo(new BigDecimal("123.4567")));
+    assertThat(priceConverter.convertToEntityAttribute(column), equalTo(ticks));
+    assertThat(priceConverter.convertToEntityAttribute(new BigDecimal("123.45670")),
+        equalTo(ticks));
+    assertThat(priceConverter.convertToDatabaseColumn(null), nullValue());
+  }
+}
@@ -1,8 +1,12 @@
 package com.weareadaptive.auction.security;
 
 import static com.weareadaptive.auction.TestData.ADMIN_AUTH_TOKEN;
+import static com.weareadaptive.auction.TestData.PASSWORD;
+import static com.weareadaptive.auction.security.AuthenticationFilter.BEARER;
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 
 import com.weareadaptive.auction.IntegrationTest;
@@ -12,6 +16,7 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
@@ -27,6 +32,8 @@ public class SecurityTest extends IntegrationTest {
   private TestData testData;
   @Autowired
   private UserService userService;
+  @Autowired
+  private AuthenticationCache authenticationCache;
 
   @DynamicPropertySource
   public static void postgreSqlProperties(@NotNull DynamicPropertyRegistry registry) {
@@ -75,6 +82,78 @@ public class SecurityTest extends IntegrationTest {
     //@formatter:on
   }
 
+  @Test
+  public void blockUserShouldNotWorkOnceAuthenticated() {
+    var user = testData.createRandomUser();
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.getToken(user))
+    .when()
+      .get("/test")
+    .then()
+      .statusCode(HttpStatus.OK.value());
+    //@formatter:on
+
+    userService.block(user.getId());
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, testData.getToken(user))
+    .when()
+      .get("/test")
+    .then()
+      .statusCode(HttpStatus.UNAUTHORIZED.value());
+    //@formatter:on
+  }
+
+  @Test
+  public void blockUserShouldNotWorkWhenBlockedDuringAuthentication() {
+    var user = testData.createRandomUser();
+    var token = testData.getToken(user);
+    var generation = authenticationCache.generation();
+    var userDetails = User.withUsername(user.getUsername())
+        .password(PASSWORD)
+        .roles("USER")
+        .build();
+
+    userService.block(user.getId());
+    authenticationCache.put(token.substring(BEARER.length()), user.getId(), userDetails,
+        generation);
+
+    //@formatter:off
+    given()
+      .baseUri(uri)
+      .header(AUTHORIZATION, token)
+    .when()
+      .get("/test")
+    .then()
+      .statusCode(HttpStatus.UNAUTHORIZED.value());
+    //@formatter:on
+  }
+
+  @Test
+  public void shouldServeAuthenticatedUserFromCache() {
+    var user = testData.createRandomUser();
+    var hits = authenticationCache.stats().hits();
+
+    for (var i = 0; i < 2; i++) {
+      //@formatter:off
+      given()
+        .baseUri(uri)
+        .header(AUTHORIZATION, testData.getToken(user))
+      .when()
+        .get("/test")
+      .then()
+        .statusCode(HttpStatus.OK.value());
+      //@formatter:on
+    }
+
+    assertThat(authenticationCache.stats().hits(), greaterThan(hits));
+  }
+
   @Test
   public void shouldBeAnAdmin() {
     //@formatter:off
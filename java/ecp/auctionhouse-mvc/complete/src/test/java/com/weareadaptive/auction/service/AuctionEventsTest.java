@@ -0,0 +1,108 @@
+package com.weareadaptive.auction.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.weareadaptive.auction.model.AuctionEvent;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class AuctionEventsTest {
+  private static final int AUCTION_LOT_ID = 1;
+
+  private final ArrayDeque<Runnable> pendingTasks = new ArrayDeque<>();
+  private final RecordingListener listener = new RecordingListener();
+
+  @DisplayName("publish should deliver the events in order and close once the lot is closed")
+  @Test
+  public void shouldDeliverEventsUntilTheLotIsClosed() {
+    var auctionEvents = new AuctionEvents(10, Runnable::run);
+    auctionEvents.subscribe(AUCTION_LOT_ID, listener);
+    var bidPlaced = new AuctionEvent.BidPlaced(AUCTION_LOT_ID, "user", 10, 5);
+    var bestBid = new AuctionEvent.BestBidChanged(AUCTION_LOT_ID, 5, 10);
+    var lotClosed = new AuctionEvent.LotClosed(AUCTION_LOT_ID, Instant.EPOCH);
+
+    auctionEvents.publish(bidPlaced);
+    auctionEvents.publish(bestBid);
+    auctionEvents.publish(lotClosed);
+    auctionEvents.publish(bidPlaced);
+
+    assertThat(listener.events, contains(bidPlaced, bestBid, lotClosed));
+    assertThat(listener.closed, equalTo(true));
+    assertThat(auctionEvents.hasSubscribers(AUCTION_LOT_ID), equalTo(false));
+  }
+
+  @DisplayName("publish should only deliver the latest best bid to a subscriber lagging behind")
+  @Test
+  public void shouldConflateBestBids() {
+    var auctionEvents = new AuctionEvents(10, pendingTasks::add);
+    auctionEvents.subscribe(AUCTION_LOT_ID, listener);
+
+    auctionEvents.publish(new AuctionEvent.BestBidChanged(AUCTION_LOT_ID, 5, 10));
+    auctionEvents.publish(new AuctionEvent.BestBidChanged(AUCTION_LOT_ID, 6, 10));
+    auctionEvents.publish(new AuctionEvent.BestBidChanged(AUCTION_LOT_ID, 7, 3));
+    runPendingTasks();
+
+    assertThat(listener.events, contains(new AuctionEvent.BestBidChanged(AUCTION_LOT_ID, 7, 3)));
+    assertThat(listener.closed, equalTo(false));
+  }
+
+  @DisplayName("publish should disconnect a subscriber whose buffer is full")
+  @Test
+  public void shouldDisconnectSlowSubscribers() {
+    var auctionEvents = new AuctionEvents(2, pendingTasks::add);
+    auctionEvents.subscribe(AUCTION_LOT_ID, listener);
+
+    for (var i = 0; i < 3; i++) {
+      auctionEvents.publish(new AuctionEvent.BidPlaced(AUCTION_LOT_ID, "user", 1, i + 1));
+    }
+    runPendingTasks();
+
+    assertThat(listener.events, empty());
+    assertThat(listener.closed, equalTo(true));
+    assertThat(auctionEvents.hasSubscribers(AUCTION_LOT_ID), equalTo(false));
+  }
+
+  @DisplayName("publish should disconnect a subscriber when no thread can drain its buffer")
+  @Test
+  public void shouldDisconnectSubscribersRejectedByTheExecutor() {
+    var auctionEvents = new AuctionEvents(10, runnable -> {
+      throw new RejectedExecutionException();
+    });
+    auctionEvents.subscribe(AUCTION_LOT_ID, listener);
+
+    auctionEvents.publish(new AuctionEvent.BidPlaced(AUCTION_LOT_ID, "user", 1, 1));
+
+    assertThat(listener.events, empty());
+    assertThat(listener.closed, equalTo(true));
+    assertThat(auctionEvents.hasSubscribers(AUCTION_LOT_ID), equalTo(false));
+  }
+
+  private void runPendingTasks() {
+    while (!pendingTasks.isEmpty()) {
+      pendingTasks.poll().run();
+    }
+  }
+
+  private static class RecordingListener implements AuctionEventListener {
+    private final List<AuctionEvent> events = new ArrayList<>();
+    private boolean closed;
+
+    @Override
+    public void onEvent(AuctionEvent event) {
+      events.add(event);
+    }
+
+    @Override
+    public void onClose() {
+      closed = true;
+    }
+  }
+}
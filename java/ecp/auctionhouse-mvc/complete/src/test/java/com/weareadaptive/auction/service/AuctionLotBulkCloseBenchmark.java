@@ -0,0 +1,118 @@
+package com.weareadaptive.auction.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.weareadaptive.auction.IntegrationTest;
+import com.weareadaptive.auction.TestData;
+import com.weareadaptive.auction.model.CloseResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+/**
+ * Compares closing lots one request at a time with the parallel bulk close, in lots closed per
+ * second. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class AuctionLotBulkCloseBenchmark extends IntegrationTest {
+  private static final int BIDS_PER_LOT = 100;
+  private static final int WARMUP_ROUNDS = 1;
+  private static final int MEASURED_ROUNDS = 3;
+
+  @Container
+  public static PostgreSQLContainer<?> postgreSQL =
+      new PostgreSQLContainer<>("postgres:13.2")
+          .withUsername("testUsername")
+          .withPassword("testPassword");
+  @Autowired
+  private AuctionLotService auctionLotService;
+  @Autowired
+  private BidLadders bidLadders;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @DynamicPropertySource
+  public static void postgreSqlProperties(@NotNull DynamicPropertyRegistry registry) {
+    postgreSqlProperties(registry, postgreSQL);
+    registry.add("spring.jpa.show-sql", () -> "false");
+  }
+
+  @ParameterizedTest(name = "close {0} lots")
+  @ValueSource(ints = {100, 1_000})
+  public void compareSerialAndBulkClose(int lotCount) {
+    var owner = testData.user1().getUsername();
+    var serial = measure(lotCount, ids -> ids.forEach(id -> auctionLotService.close(owner, id)));
+    var bulk = measure(lotCount, ids -> assertThat(
+        auctionLotService.closeAll(owner, ids).stream()
+            .filter(result -> result.status() == CloseResult.Status.CLOSED)
+            .count(),
+        equalTo((long) lotCount)));
+
+    System.out.printf("%,d lots of %,d bids: serial %,.0f lots/s, bulk %,.0f lots/s (x%.1f)%n",
+        lotCount, BIDS_PER_LOT, serial, bulk, bulk / serial);
+  }
+
+  private double measure(int lotCount, Consumer<List<Integer>> close) {
+    var best = Long.MAX_VALUE;
+    for (var round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+      var ids = createLotsWithBids(lotCount);
+
+      var start = System.nanoTime();
+      close.accept(ids);
+      var elapsed = System.nanoTime() - start;
+
+      if (round >= WARMUP_ROUNDS) {
+        best = Math.min(best, elapsed);
+      }
+    }
+    return lotCount * 1e9 / best;
+  }
+
+  /**
+   * Creates open lots with pending bids inserted directly, then rebuilds the bid ladders from
+   * them as on a restart.
+   */
+  private List<Integer> createLotsWithBids(int lotCount) {
+    var bidders = List.of(
+        testData.user2().getUsername(),
+        testData.user3().getUsername(),
+        testData.user4().getUsername());
+    var random = new Random(lotCount);
+    var ids = new ArrayList<Integer>(lotCount);
+    var bids = new ArrayList<Object[]>(lotCount * BIDS_PER_LOT);
+    for (var i = 0; i < lotCount; i++) {
+      var auctionLot = testData.createAuctionLot(
+          testData.user1(),
+          TestData.Stock.APPLE,
+          BIDS_PER_LOT * 5,
+          1);
+      ids.add(auctionLot.getId());
+      for (var j = 0; j < BIDS_PER_LOT; j++) {
+        bids.add(new Object[] {
+            bidders.get(random.nextInt(bidders.size())),
+            1 + random.nextInt(1_000) / 10.0,
+            1 + random.nextInt(20),
+            auctionLot.getId()});
+      }
+    }
+
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO bid (username, price, quantity, auction_lot_id, win_quantity, state) "
+            + "VALUES (?, ?, ?, ?, 0, 'PENDING')",
+        bids);
+    bidLadders.rebuild();
+    return ids;
+  }
+}
@@ -0,0 +1,141 @@
+package com.weareadaptive.auction.service;
+
+import static java.util.Collections.reverseOrder;
+import static java.util.Comparator.comparingInt;
+import static java.util.Comparator.comparingLong;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import com.weareadaptive.auction.IntegrationTest;
+import com.weareadaptive.auction.TestData;
+import com.weareadaptive.auction.model.AuctionLot;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.repository.AuctionLotRepository;
+import com.weareadaptive.auction.repository.BidReposity;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+/**
+ * Compares the in-memory close-out path with the set-based one. Run with
+ * {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+public class AuctionLotCloseBenchmark extends IntegrationTest {
+  private static final int WARMUP_ROUNDS = 2;
+  private static final int MEASURED_ROUNDS = 5;
+
+  @Container
+  public static PostgreSQLContainer<?> postgreSQL =
+      new PostgreSQLContainer<>("postgres:13.2")
+          .withUsername("testUsername")
+          .withPassword("testPassword");
+  @Autowired
+  private AuctionLotRepository auctionLotRepository;
+  @Autowired
+  private BidReposity bidReposity;
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @DynamicPropertySource
+  public static void postgreSqlProperties(@NotNull DynamicPropertyRegistry registry) {
+    postgreSqlProperties(registry, postgreSQL);
+    registry.add("spring.jpa.show-sql", () -> "false");
+  }
+
+  @ParameterizedTest(name = "close with {0} bids")
+  @ValueSource(ints = {1_000, 10_000, 100_000})
+  public void compareClosingPaths(int bidCount) {
+    var inMemory = measure(bidCount, this::clearBidsInMemory);
+    var setBased = measure(bidCount, auctionLot ->
+        bidReposity.clearBidsForAuction(auctionLot.getId(), auctionLot.getQuantity()));
+
+    System.out.printf("%,d bids: in-memory %,d us, set-based %,d us (x%.1f)%n",
+        bidCount, inMemory, setBased, (double) inMemory / setBased);
+  }
+
+  private long measure(int bidCount, Function<AuctionLot, List<Bid>> clearing) {
+    var best = Long.MAX_VALUE;
+    for (var round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+      var auctionLot = createLotWithBids(bidCount);
+
+      var start = System.nanoTime();
+      var winBids = transactionTemplate.execute(status -> clearing.apply(auctionLot));
+      var elapsed = System.nanoTime() - start;
+
+      assertThat(winBids.stream().mapToInt(Bid::getWinQuantity).sum(),
+          equalTo(auctionLot.getQuantity()));
+      if (round >= WARMUP_ROUNDS) {
+        best = Math.min(best, elapsed);
+      }
+    }
+    return best / 1_000;
+  }
+
+  /**
+   * Previous close-out path, which loads and sorts every bid in memory.
+   */
+  private List<Bid> clearBidsInMemory(AuctionLot auctionLot) {
+    var auctionBids = bidReposity.getBidsForAuction(auctionLot.getId());
+    var orderedBids = auctionBids
+        .stream()
+        .sorted(reverseOrder(comparingLong(Bid::getPriceTicks))
+            .thenComparing(reverseOrder(comparingInt(Bid::getQuantity))))
+        .toList();
+    var availableQuantity = auctionLot.getQuantity();
+    var winBids = new ArrayList<Bid>();
+
+    for (Bid bid : orderedBids) {
+      if (availableQuantity > 0) {
+        bid.setState(Bid.State.WIN);
+        var bidQuantity = Math.min(availableQuantity, bid.getQuantity());
+        bid.setWinQuantity(bidQuantity);
+        availableQuantity -= bidQuantity;
+        winBids.add(bid);
+      } else {
+        bid.setState(Bid.State.LOST);
+      }
+    }
+    bidReposity.saveAll(auctionBids);
+    return winBids;
+  }
+
+  private AuctionLot createLotWithBids(int bidCount) {
+    var auctionLot = testData.createAuctionLot(
+        testData.user1(),
+        TestData.Stock.APPLE,
+        bidCount * 5,
+        1);
+    var bidders = List.of(
+        testData.user2().getUsername(),
+        testData.user3().getUsername(),
+        testData.user4().getUsername());
+    var random = new Random(bidCount);
+
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO bid (username, price, quantity, auction_lot_id, win_quantity, state) "
+            + "VALUES (?, ?, ?, ?, 0, 'PENDING')",
+        random.ints(bidCount, 0, bidders.size())
+            .mapToObj(bidder -> new Object[] {
+                bidders.get(bidder),
+                1 + random.nextInt(1_000) / 10.0,
+                1 + random.nextInt(20),
+                auctionLot.getId()})
+            .toList());
+    return auctionLotRepository.findById(auctionLot.getId()).orElseThrow();
+  }
+}
@@ -0,0 +1,150 @@
+package com.weareadaptive.auction.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.weareadaptive.auction.IntegrationTest;
+import com.weareadaptive.auction.TestData;
+import com.weareadaptive.auction.exception.NotFoundException;
+import com.weareadaptive.auction.model.Bid;
+import com.weareadaptive.auction.model.BusinessException;
+import com.weareadaptive.auction.repository.AuctionLotRepository;
+import com.weareadaptive.auction.repository.BidReposity;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+
+public class BidWriterTest extends IntegrationTest {
+  @Container
+  public static PostgreSQLContainer<?> postgreSQL =
+      new PostgreSQLContainer<>("postgres:13.2")
+          .withUsername("testUsername")
+          .withPassword("testPassword");
+  @Autowired
+  private AuctionLotService auctionLotService;
+  @Autowired
+  private BidReposity bidReposity;
+  @Autowired
+  private BidWriter bidWriter;
+  @Autowired
+  private BidLadders bidLadders;
+  @Autowired
+  private MeterRegistry meterRegistry;
+  @Autowired
+  private AuctionLotRepository auctionLotRepository;
+  @Autowired
+  private OrganisationCounters organisationCounters;
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @DynamicPropertySource
+  public static void postgreSqlProperties(@NotNull DynamicPropertyRegistry registry) {
+    postgreSqlProperties(registry, postgreSQL);
+    registry.add("auction.bids.pipeline.enabled", () -> "true");
+    registry.add("auction.bids.pipeline.max-batch-size", () -> "20");
+  }
+
+  @DisplayName("bid should return once the bid is committed when the pipeline is enabled")
+  @Test
+  public void shouldBatchConcurrentBids() {
+    var auctionLot = testData.createAuctionLot(testData.user1(), TestData.Stock.META, 50, 1);
+    var bidder = testData.user2().getUsername();
+    var batchSizes = meterRegistry.get("auction.bids.batch.size").summary();
+    var batchesBefore = batchSizes.count();
+    var bidsBefore = batchSizes.totalAmount();
+
+    CompletableFuture.allOf(IntStream.range(0, 100)
+            .mapToObj(i -> CompletableFuture.runAsync(() ->
+                auctionLotService.bid(bidder, auctionLot.getId(), 1, 1 + i)))
+            .toArray(CompletableFuture[]::new))
+        .join();
+
+    assertThat(bidReposity.getBidsForAuction(auctionLot.getId()).size(), equalTo(100));
+    assertThat(auctionLotService.getClearingEstimate(auctionLot.getId()).clearingPrice(),
+        equalTo(51.0));
+    var batches = batchSizes.count() - batchesBefore;
+    assertThat(batchSizes.totalAmount() - bidsBefore, equalTo(100.0));
+    assertThat(batches, lessThan(100L));
+    assertThat(batchSizes.max(), greaterThan(1.0));
+  }
+
+  @DisplayName("bid should validate against the cached auction lot")
+  @Test
+  public void shouldRejectInvalidBidsBeforeQueuing() {
+    var owner = testData.user1().getUsername();
+    var auctionLot = testData.createAuctionLot(testData.user1(), TestData.Stock.META, 50, 1);
+
+    assertThrows(BusinessException.class,
+        () -> auctionLotService.bid(owner, auctionLot.getId(), 1, 10));
+    assertThrows(NotFoundException.class,
+        () -> auctionLotService.bid(owner, 999_999, 1, 10));
+
+    auctionLotService.close(owner, auctionLot.getId());
+
+    assertThrows(BusinessException.class,
+        () -> auctionLotService.bid(testData.user2().getUsername(), auctionLot.getId(), 1, 10));
+  }
+
+  @DisplayName("bid should be rejected when its lot closed after it was validated")
+  @Test
+  public void shouldRejectBidsOnLotsClosedBeforeInsert() {
+    var owner = testData.user1().getUsername();
+    var auctionLot = testData.createAuctionLot(testData.user1(), TestData.Stock.META, 50, 1);
+    auctionLotService.close(owner, auctionLot.getId());
+
+    assertThrows(BusinessException.class, () -> bidWriter.write(
+        new Bid(auctionLot.getId(), testData.user2().getUsername(), 1, 10)));
+
+    assertThat(bidReposity.getBidsForAuction(auctionLot.getId()).size(), equalTo(0));
+    assertThat(bidLadders.best(auctionLot.getId()).isEmpty(), equalTo(true));
+  }
+
+  @DisplayName("bid should fail instead of waiting once the writer is stopped")
+  @Test
+  public void shouldRejectBidsOnceStopped() throws InterruptedException {
+    var auctionLot = testData.createAuctionLot(testData.user1(), TestData.Stock.META, 50, 1);
+    var stoppedWriter = new BidWriter(bidReposity, auctionLotRepository, bidLadders,
+        organisationCounters, transactionTemplate, true, 20, Duration.ofMillis(1), 100,
+        meterRegistry);
+    stoppedWriter.stop();
+
+    assertThrows(CancellationException.class, () -> stoppedWriter.write(
+        new Bid(auctionLot.getId(), testData.user2().getUsername(), 1, 10)));
+
+    assertThat(bidReposity.getBidsForAuction(auctionLot.getId()).size(), equalTo(0));
+  }
+
+  @DisplayName("close should settle the bids missing from the ladder and drop the ladder")
+  @Test
+  public void shouldSettleBidsMissingFromTheLadder() {
+    var owner = testData.user1().getUsername();
+    var bidder = testData.user2().getUsername();
+    var auctionLot = testData.createAuctionLot(testData.user1(), TestData.Stock.META, 50, 1);
+    auctionLotService.bid(bidder, auctionLot.getId(), 10, 2);
+    // Committed but not added to the ladder yet
+    var late = bidReposity.save(new Bid(auctionLot.getId(), bidder, 10, 3));
+
+    var closingSummary = auctionLotService.close(owner, auctionLot.getId());
+
+    assertThat(closingSummary.winBids().size(), equalTo(2));
+    assertThat(bidReposity.findById(late.getId()).orElseThrow().getState(),
+        equalTo(Bid.State.WIN));
+
+    bidLadders.add(new Bid(auctionLot.getId(), bidder, 10, 4));
+    assertThat(bidLadders.best(auctionLot.getId()).isEmpty(), equalTo(true));
+  }
+}